@@ -66,6 +66,11 @@ public class WireVec implements Propagatable {
         connect(outputs);
     }
 
+    // a vector of existing wires, such as a slice of another vector
+    public WireVec(Wire[] wires) {
+        this.wires = wires;
+    }
+
     public Wire wire(int index) {
         int length = wires.length;
         int i = index;
@@ -110,6 +115,13 @@ public class WireVec implements Propagatable {
         }
     }
 
+    // bit i of value to wire i
+    public void assign(long value) {
+        for (int i = 0; i < wires.length; i++) {
+            wires[i].assign((value >>> i & 1) != 0 ? Value.V1 : Value.V0);
+        }
+    }
+
     public void assign(Port[] ports) {
         for (int i = 0; i < wires.length; i++) {
             wires[i].assign(ports[i]);
@@ -0,0 +1,368 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.core.datatype.net;
+
+import org.jchdl.model.gsl.core.io.Input;
+import org.jchdl.model.gsl.core.meta.AtomicNode;
+import org.jchdl.model.gsl.core.meta.Port;
+import org.jchdl.model.gsl.core.meta.Propagatable;
+import org.jchdl.model.gsl.core.meta.Stateful;
+import org.jchdl.model.gsl.core.strength.Resolution;
+import org.jchdl.model.gsl.core.strength.Strength0;
+import org.jchdl.model.gsl.core.strength.Strength1;
+import org.jchdl.model.gsl.core.strength.Strong0;
+import org.jchdl.model.gsl.core.strength.Strong1;
+import org.jchdl.model.gsl.core.switches.Channel;
+import org.jchdl.model.gsl.core.value.Value;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+// A net with any number of drivers, resolved with the table of its type, see strength.Resolution.
+// Every port assigned to the net gets a Driver of its own, holding the code of its value and strength.
+// The drivers are counted per code: when one changes, a code that appears is resolved with the value
+// of the net in one lookup, a code still held by other drivers changes nothing, and only a code that
+// disappears makes the net resolve the codes present again, at most one per driver.
+// Loads see the 4-state value; the strength is kept on the net.
+// Drivers driving z are counted as HiZ codes, so the number of drivers enabled on a bus is known
+// without looking at them, and so is contention: an x that no driver drives by itself.
+// A net connected to switches is solved with the nets of its switches.Channel, from the codes of their drivers.
+// As Stateful, the codes of the drivers are saved, and the code solved in the channel, if any.
+// A driver updates the counts and shows the value under the lock of the net, then the lock of its channel.
+public abstract class ResolvedNet extends Wire implements Stateful {
+    private static final Propagatable[] NONE = new Propagatable[0];
+
+    private byte[] table;
+    // resolved with the drivers, e.g. the pull of a tri0
+    private int initial;
+    private int code;
+    private ArrayList<Driver> drivers = new ArrayList<>(4);
+    private int[] counts = new int[Resolution.CODES];
+    private long[] present = new long[Resolution.CODES / 64];
+    // driver of assign(Value), created on first use
+    private Driver assigned;
+    // queued to show the loads the value given by new drivers
+    private boolean queued;
+    // drivers driving an x themselves
+    private int xDrivers;
+    private boolean contended;
+    // null unless contention is reported
+    private Contention contention;
+    private Propagatable[] self = {this};
+    // null unless connected to switches
+    private Channel channel;
+    private Propagatable[] solver;
+    // channels reading the net through switches without changing it, see Channel
+    private ArrayList<Channel> readers;
+
+    public class Driver extends Input {
+        private int s0;
+        private int s1;
+        private int code;
+
+        private Driver(int value, Strength0 s0, Strength1 s1) {
+            super(ResolvedNet.this);
+            this.s0 = s0.level();
+            this.s1 = s1.level();
+            set(value);
+            code = Resolution.drive(value, this.s0, this.s1);
+            if (isX(code)) {
+                xDrivers++;
+            }
+            if (counts[code]++ == 0) {
+                present[code >>> 6] |= 1L << code;
+                ResolvedNet.this.code = Resolution.resolve(table, ResolvedNet.this.code, code);
+            }
+        }
+
+        public int getCode() {
+            return code;
+        }
+
+        @Override
+        public void propagate() {
+            synchronized (ResolvedNet.this) {
+                for (Propagatable p : driven(this)) {
+                    p.propagate();
+                }
+            }
+        }
+
+        // the drivers of a net may change on several workers of a sliced wave
+        @Override
+        public void propagate(int steps) {
+            if (steps == 0) {
+                context.add(this);
+                return;
+            }
+            synchronized (ResolvedNet.this) {
+                for (Propagatable p : driven(this)) {
+                    p.propagate(steps);
+                }
+            }
+        }
+    }
+
+    protected ResolvedNet(byte[] table, int initial) {
+        this.table = table;
+        this.initial = initial;
+        this.code = initial;
+        getInput().set(Resolution.value(code));
+        getOutput().set(Resolution.value(code));
+    }
+
+    // the net, or the channels solving it, to propagate once a driver changed
+    private Propagatable[] driven(Driver driver) {
+        if (!drive(driver)) {
+            return NONE;
+        }
+        return changed();
+    }
+
+    private Propagatable[] changed() {
+        if (channel != null) {
+            channel.sourced(this);
+            return solver;
+        }
+        Propagatable[] ps = show(code) ? self : NONE;
+        if (readers != null) {
+            ArrayList<Propagatable> all = new ArrayList<>(Arrays.asList(ps));
+            for (Channel reader : readers) {
+                reader.sourced(this);
+                all.add(reader);
+            }
+            ps = all.toArray(NONE);
+        }
+        return ps;
+    }
+
+    // true if the code of the net changed
+    private boolean drive(Driver driver) {
+        int c = Resolution.drive(driver.get(), driver.s0, driver.s1);
+        int old = driver.code;
+        if (c == old) {
+            return false;
+        }
+        driver.code = c;
+        if (isX(old)) {
+            xDrivers--;
+        }
+        if (isX(c)) {
+            xDrivers++;
+        }
+        int was = code;
+        boolean appeared = counts[c]++ == 0;
+        if (appeared) {
+            present[c >>> 6] |= 1L << c;
+        }
+        if (--counts[old] == 0) {
+            present[old >>> 6] &= ~(1L << old);
+            code = resolve();
+        } else if (appeared) {
+            code = Resolution.resolve(table, code, c);
+        }
+        contend();
+        return code != was;
+    }
+
+    private static boolean isX(int code) {
+        return Resolution.value(code) == Value.VALUE_X;
+    }
+
+    private void contend() {
+        boolean now = xDrivers == 0 && isX(code);
+        if (now && !contended && contention != null) {
+            contention.contended(this);
+        }
+        contended = now;
+    }
+
+    private int resolve() {
+        int r = initial;
+        for (int w = 0; w < present.length; w++) {
+            for (long bits = present[w]; bits != 0; bits &= bits - 1) {
+                r = Resolution.resolve(table, r, w << 6 | Long.numberOfTrailingZeros(bits));
+            }
+        }
+        return r;
+    }
+
+    // the outputs of atomic nodes drive with the strengths of the node, others are strong
+    @Override
+    public void assign(Port port) {
+        if (port.getOwner() instanceof AtomicNode) {
+            AtomicNode node = (AtomicNode) port.getOwner();
+            assign(port, node.strength0(), node.strength1());
+        } else {
+            assign(port, Strong0.inst(), Strong1.inst());
+        }
+    }
+
+    public Driver assign(Port port, Strength0 s0, Strength1 s1) {
+        Driver driver = new Driver(port.get(), s0, s1);
+        drivers.add(driver);
+        port.connect(driver);
+        contend();
+        queue(changed());
+        return driver;
+    }
+
+    // the value given by new drivers reaches the loads at the next propagation
+    private void queue(Propagatable[] ps) {
+        for (Propagatable p : ps) {
+            if (p instanceof Channel) {
+                ((Channel) p).queue();
+            } else if (!queued) {
+                queued = true;
+                getOutput().getContext().add(this);
+            }
+        }
+    }
+
+    // a strong driver of its own, as a testbench would drive the net
+    @Override
+    public void assign(Value value) {
+        if (assigned == null) {
+            assigned = new Driver(value.v, Strong0.inst(), Strong1.inst());
+            drivers.add(assigned);
+            contend();
+        } else {
+            assigned.set(value.v);
+            drive(assigned);
+        }
+        queue(changed());
+    }
+
+    @Override
+    public void propagate() {
+        queued = false;
+        super.propagate();
+    }
+
+    @Override
+    public void propagate(int steps) {
+        queued = false;
+        super.propagate(steps);
+    }
+
+    @Override
+    public int stateSize() {
+        return drivers.size() + 1;
+    }
+
+    @Override
+    public void save(long[] state, int at) {
+        for (int i = 0; i < drivers.size(); i++) {
+            state[at + i] = drivers.get(i).code;
+        }
+        state[at + drivers.size()] = getCode();
+    }
+
+    // the counts follow the codes, contention is not reported again
+    @Override
+    public void load(long[] state, int at) {
+        Arrays.fill(counts, 0);
+        Arrays.fill(present, 0L);
+        xDrivers = 0;
+        for (int i = 0; i < drivers.size(); i++) {
+            int c = (int) state[at + i];
+            drivers.get(i).code = c;
+            if (isX(c)) {
+                xDrivers++;
+            }
+            if (counts[c]++ == 0) {
+                present[c >>> 6] |= 1L << c;
+            }
+        }
+        code = resolve();
+        contended = xDrivers == 0 && isX(code);
+        queued = false;
+        if (channel != null) {
+            channel.restore(this, (int) state[at + drivers.size()]);
+        }
+    }
+
+    public ArrayList<Driver> getDrivers() {
+        return drivers;
+    }
+
+    // drivers not driving z
+    public int getEnabled() {
+        return drivers.size() - counts[Resolution.HIGHZ];
+    }
+
+    public boolean isContended() {
+        return contended;
+    }
+
+    public Contention getContention() {
+        return contention;
+    }
+
+    public void setContention(Contention contention) {
+        this.contention = contention;
+    }
+
+    // the value and strength of the net, see strength.Resolution
+    public int getCode() {
+        return channel != null ? channel.code(this) : code;
+    }
+
+    // the value and strength of the drivers of the net alone
+    public int getDrivenCode() {
+        return code;
+    }
+
+    // like Verilog %v, e.g. St0, PuH, HiZ
+    public String strength() {
+        return Resolution.toString(getCode());
+    }
+
+    // true if the loads do not see the value of the code yet
+    public boolean show(int code) {
+        int v = Resolution.value(code);
+        getInput().set(v);
+        return getOutput().get() != v;
+    }
+
+    public Channel getChannel() {
+        return channel;
+    }
+
+    public void setChannel(Channel channel) {
+        this.channel = channel;
+        solver = channel != null ? new Propagatable[]{channel} : null;
+    }
+
+    public ArrayList<Channel> getReaders() {
+        if (readers == null) {
+            readers = new ArrayList<>(2);
+        }
+        return readers;
+    }
+}
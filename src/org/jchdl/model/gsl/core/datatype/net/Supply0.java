@@ -27,6 +27,11 @@
 // THE POSSIBILITY OF SUCH DAMAGE.
 package org.jchdl.model.gsl.core.datatype.net;
 
-// NOT implemented
-public class Supply0 {
-}
\ No newline at end of file
+import org.jchdl.model.gsl.core.strength.Resolution;
+
+// 0 of supply strength, only a supply 1 driver makes it x
+public class Supply0 extends ResolvedNet {
+    public Supply0() {
+        super(Resolution.WIRE, Resolution.SUPPLY0);
+    }
+}
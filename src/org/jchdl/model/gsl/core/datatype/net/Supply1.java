@@ -27,6 +27,11 @@
 // THE POSSIBILITY OF SUCH DAMAGE.
 package org.jchdl.model.gsl.core.datatype.net;
 
-// NOT implemented
-public class Supply1 {
+import org.jchdl.model.gsl.core.strength.Resolution;
+
+// 1 of supply strength, only a supply 0 driver makes it x
+public class Supply1 extends ResolvedNet {
+    public Supply1() {
+        super(Resolution.WIRE, Resolution.SUPPLY1);
+    }
 }
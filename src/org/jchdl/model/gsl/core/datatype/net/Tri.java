@@ -27,7 +27,60 @@
 // THE POSSIBILITY OF SUCH DAMAGE.
 package org.jchdl.model.gsl.core.datatype.net;
 
-// NOT implemented
-public class Tri {
+import org.jchdl.model.gsl.core.gate.pull.PullUp;
+import org.jchdl.model.gsl.core.meta.PropagateManager;
+import org.jchdl.model.gsl.core.strength.Resolution;
+import org.jchdl.model.gsl.core.strength.Weak0;
+import org.jchdl.model.gsl.core.strength.Weak1;
+import org.jchdl.model.gsl.core.value.Value;
 
-}
\ No newline at end of file
+import java.util.Random;
+
+// a net with several drivers: the stronger value wins, equally strong 0 and 1 give x
+public class Tri extends ResolvedNet {
+    public Tri() {
+        super(Resolution.WIRE, Resolution.HIGHZ);
+    }
+
+    public static void main(String[] args) {
+        Tri bus = new Tri();
+        Wire strong = new Wire();
+        Wire weak = new Wire();
+        bus.assign(strong.getOutput());
+        bus.assign(weak.getOutput(), Weak0.inst(), Weak1.inst());
+        PullUp.inst(bus);
+
+        Value[][] vectors = {
+                {Value.Vz, Value.Vz},
+                {Value.Vz, Value.V0},
+                {Value.V0, Value.V1},
+                {Value.V1, Value.V0},
+                {Value.Vx, Value.Vz},
+                {Value.Vz, Value.Vx},
+        };
+        for (Value[] v : vectors) {
+            strong.assign(v[0]);
+            weak.assign(v[1]);
+            PropagateManager.propagateParallel(strong, weak);
+            System.out.println("strong: " + v[0] + ", weak: " + v[1] + ", pullup -> " + bus + " " + bus.strength());
+        }
+
+        // one driver of a wide bus changes at a time
+        int nDrivers = 4096;
+        Tri wide = new Tri();
+        Wire[] drivers = new Wire[nDrivers];
+        for (int i = 0; i < nDrivers; i++) {
+            drivers[i] = new Wire(Value.Vz);
+            wide.assign(drivers[i].getOutput());
+        }
+        PropagateManager.propagateParallel(drivers[0], drivers);
+        Random random = new Random(1);
+        int changes = 200000;
+        for (int i = 0; i < changes; i++) {
+            Wire driver = drivers[random.nextInt(nDrivers)];
+            driver.assign(random.nextInt(8) == 0 ? Value.V1 : Value.Vz);
+            PropagateManager.propagateParallel(driver);
+        }
+        System.out.println(nDrivers + " drivers: " + wide + " " + wide.strength() + " after " + changes + " changes");
+    }
+}
@@ -27,7 +27,11 @@
 // THE POSSIBILITY OF SUCH DAMAGE.
 package org.jchdl.model.gsl.core.datatype.net;
 
-// NOT implemented
-public class Tri0 {
+import org.jchdl.model.gsl.core.strength.Resolution;
 
-}
\ No newline at end of file
+// a tri pulled down: 0 of pull strength when no driver is stronger
+public class Tri0 extends ResolvedNet {
+    public Tri0() {
+        super(Resolution.WIRE, Resolution.PULL0);
+    }
+}
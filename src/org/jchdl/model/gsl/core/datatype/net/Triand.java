@@ -27,7 +27,11 @@
 // THE POSSIBILITY OF SUCH DAMAGE.
 package org.jchdl.model.gsl.core.datatype.net;
 
-// NOT implemented
-public class Triand {
+import org.jchdl.model.gsl.core.strength.Resolution;
 
-}
\ No newline at end of file
+// a wand, as in Verilog
+public class Triand extends ResolvedNet {
+    public Triand() {
+        super(Resolution.WAND, Resolution.HIGHZ);
+    }
+}
@@ -27,7 +27,11 @@
 // THE POSSIBILITY OF SUCH DAMAGE.
 package org.jchdl.model.gsl.core.datatype.net;
 
-// NOT implemented
-public class Trior {
+import org.jchdl.model.gsl.core.strength.Resolution;
 
-}
\ No newline at end of file
+// a wor, as in Verilog
+public class Trior extends ResolvedNet {
+    public Trior() {
+        super(Resolution.WOR, Resolution.HIGHZ);
+    }
+}
@@ -27,7 +27,22 @@
 // THE POSSIBILITY OF SUCH DAMAGE.
 package org.jchdl.model.gsl.core.datatype.net;
 
-// NOT implemented
-public class Uwire {
+import org.jchdl.model.gsl.core.meta.Port;
+import org.jchdl.model.gsl.core.strength.Resolution;
+import org.jchdl.model.gsl.core.strength.Strength0;
+import org.jchdl.model.gsl.core.strength.Strength1;
 
-}
\ No newline at end of file
+// a net that may have only one driver, as in Verilog
+public class Uwire extends ResolvedNet {
+    public Uwire() {
+        super(Resolution.WIRE, Resolution.HIGHZ);
+    }
+
+    @Override
+    public Driver assign(Port port, Strength0 s0, Strength1 s1) {
+        if (!getDrivers().isEmpty()) {
+            throw new IllegalStateException("a uwire has a single driver");
+        }
+        return super.assign(port, s0, s1);
+    }
+}
@@ -27,7 +27,41 @@
 // THE POSSIBILITY OF SUCH DAMAGE.
 package org.jchdl.model.gsl.core.datatype.net;
 
-// NOT implemented
-public class Wand {
+import org.jchdl.model.gsl.core.meta.PropagateManager;
+import org.jchdl.model.gsl.core.strength.Pull0;
+import org.jchdl.model.gsl.core.strength.Pull1;
+import org.jchdl.model.gsl.core.strength.Resolution;
+import org.jchdl.model.gsl.core.value.Value;
 
-}
\ No newline at end of file
+// wired and: of the strongest drivers, any 0 makes the net 0
+public class Wand extends ResolvedNet {
+    public Wand() {
+        super(Resolution.WAND, Resolution.HIGHZ);
+    }
+
+    public static void main(String[] args) {
+        Wand wand = new Wand();
+        Wire a = new Wire();
+        Wire b = new Wire();
+        Wire c = new Wire();
+        wand.assign(a.getOutput());
+        wand.assign(b.getOutput());
+        wand.assign(c.getOutput(), Pull0.inst(), Pull1.inst());
+
+        Value[][] vectors = {
+                {Value.V1, Value.V1, Value.V1},
+                {Value.V1, Value.V0, Value.V1},
+                {Value.V1, Value.Vz, Value.V0},
+                {Value.Vz, Value.Vz, Value.V0},
+                {Value.Vx, Value.V1, Value.V1},
+                {Value.Vx, Value.V0, Value.V1},
+        };
+        for (Value[] v : vectors) {
+            a.assign(v[0]);
+            b.assign(v[1]);
+            c.assign(v[2]);
+            PropagateManager.propagateParallel(a, b, c);
+            System.out.println("a: " + v[0] + ", b: " + v[1] + ", c (pull): " + v[2] + " -> " + wand + " " + wand.strength());
+        }
+    }
+}
@@ -28,22 +28,29 @@
 package org.jchdl.model.gsl.core.datatype.net;
 
 import org.jchdl.model.gsl.core.datatype.helper.WireVec;
+import org.jchdl.model.gsl.core.delay.Delay;
 import org.jchdl.model.gsl.core.gate.pull.PullDown;
 import org.jchdl.model.gsl.core.gate.pull.PullUp;
 import org.jchdl.model.gsl.core.io.Input;
 import org.jchdl.model.gsl.core.io.Output;
 import org.jchdl.model.gsl.core.meta.Assignable;
 import org.jchdl.model.gsl.core.meta.Ground;
+import org.jchdl.model.gsl.core.meta.Monitor;
 import org.jchdl.model.gsl.core.meta.Net;
 import org.jchdl.model.gsl.core.meta.Port;
+import org.jchdl.model.gsl.core.meta.SimulationContext;
 import org.jchdl.model.gsl.core.value.Value;
 
-// the value of in and out can be different, such as Wand/Wor wire.
-// but we do not care about this for now.
+// a net with a single driver: the value of in is the value of out.
+// nets with several drivers, such as Tri and Wand, are ResolvedNets.
 public class Wire extends Net implements Assignable {
     private String name;
     private WireVec vec;
     private int seq;
+    // null for zero delay, otherwise changes reach the loads after the net delay
+    private Delay delay;
+    // null unless the changes of the wire are recorded, e.g. by dump.VcdWriter
+    private Monitor monitor;
 
     private Input in = new Input(this);
     private Output out = new Output(this);
@@ -67,14 +74,16 @@ public class Wire extends Net implements Assignable {
         this.vec = vec;
     }
 
+    // a copy of the value when the wire is kept in a SignalStore
     public Value getValue() {
-        return this.out.value;
+        Value value = this.out.value;
+        return value != null ? value : new Value(this.out.get());
     }
 
     // Input direction: a wire assigns a value means the value is continuously assigned to this wire
     @Override
     public void assign(Value value) {
-        this.in.value.v = value.v;
+        this.in.set(value.v);
     }
 
     // Input direction: a wire assigns a port means the port's value is continuously assigned to this wire
@@ -117,6 +126,22 @@ public class Wire extends Net implements Assignable {
         return 0;
     }
 
+    public Delay getDelay() {
+        return delay;
+    }
+
+    public void setDelay(Delay delay) {
+        this.delay = delay;
+    }
+
+    public Monitor getMonitor() {
+        return monitor;
+    }
+
+    public void setMonitor(Monitor monitor) {
+        this.monitor = monitor;
+    }
+
     public int getSeq() {
         return seq;
     }
@@ -140,16 +165,37 @@ public class Wire extends Net implements Assignable {
 
     @Override
     public void propagate() {
-        this.out.value.v = this.in.value.v;
+        if (delay != null && !transition()) {
+            return;
+        }
+        update();
         this.out.propagate();
     }
 
     @Override
     public void propagate(int steps) {
-        this.out.value.v = this.in.value.v;
+        if (delay != null && !transition()) {
+            return;
+        }
+        update();
         this.out.propagate(--steps);
     }
 
+    private void update() {
+        int v = in.get();
+        if (monitor != null && out.get() != v) {
+            monitor.changed(this, v);
+        }
+        out.set(v);
+    }
+
+    // false if the value reaches out later, through the timing wheel
+    private boolean transition() {
+        SimulationContext context = out.getContext();
+        int v = in.get();
+        return context.transition(out, v, delay.delay(context.getCorner(), v));
+    }
+
     public static Wire pulledUp() {
         Wire wire = new Wire();
         PullUp.inst(wire);
@@ -27,6 +27,11 @@
 // THE POSSIBILITY OF SUCH DAMAGE.
 package org.jchdl.model.gsl.core.datatype.net;
 
-// NOT implemented
-public class Wor {
-}
\ No newline at end of file
+import org.jchdl.model.gsl.core.strength.Resolution;
+
+// wired or: of the strongest drivers, any 1 makes the net 1
+public class Wor extends ResolvedNet {
+    public Wor() {
+        super(Resolution.WOR, Resolution.HIGHZ);
+    }
+}
@@ -0,0 +1,167 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.core.delay;
+
+import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.gate.ni.atomic.And;
+import org.jchdl.model.gsl.core.gate.no.Not;
+import org.jchdl.model.gsl.core.meta.SimulationContext;
+import org.jchdl.model.gsl.core.value.Value;
+
+// Rise, fall and turn-off delays of a gate output or a net, each a min:typ:max triple,
+// as in verilog #(rise, fall, turn-off). A delay is inertial: a pulse shorter than it is not passed.
+public class Delay {
+    public static final Delay ZERO = new Delay(0);
+
+    // [rise, fall, turn-off][min, typ, max]
+    private final long[][] delays;
+
+    public Delay(long delay) {
+        this(delay, delay);
+    }
+
+    // turn-off takes the smaller of rise and fall
+    public Delay(long rise, long fall) {
+        this(rise, fall, Math.min(rise, fall));
+    }
+
+    public Delay(long rise, long fall, long turnOff) {
+        this(new long[]{rise, rise, rise}, new long[]{fall, fall, fall}, new long[]{turnOff, turnOff, turnOff});
+    }
+
+    // min:typ:max triples
+    public Delay(long[] rise, long[] fall, long[] turnOff) {
+        delays = new long[][]{triple(rise), triple(fall), triple(turnOff)};
+    }
+
+    private static long[] triple(long[] delay) {
+        if (delay.length != 3) {
+            throw new IllegalArgumentException("min:typ:max needs 3 values");
+        }
+        for (long d : delay) {
+            if (d < 0) {
+                throw new IllegalArgumentException("negative delay: " + d);
+            }
+        }
+        return delay.clone();
+    }
+
+    // verilog style: "5", "2, 3", "1:2:3, 2:3:4" or "1:2:3, 2:3:4, 1:1:2"
+    public static Delay parse(String delay) {
+        String[] items = delay.trim().split("\\s*,\\s*");
+        if (items.length > 3) {
+            throw new IllegalArgumentException("at most rise, fall and turn-off: " + delay);
+        }
+        long[][] triples = new long[3][];
+        for (int i = 0; i < items.length; i++) {
+            String[] values = items[i].split("\\s*:\\s*");
+            if (values.length == 1) {
+                long d = Long.parseLong(values[0]);
+                triples[i] = new long[]{d, d, d};
+            } else if (values.length == 3) {
+                triples[i] = new long[]{Long.parseLong(values[0]), Long.parseLong(values[1]), Long.parseLong(values[2])};
+            } else {
+                throw new IllegalArgumentException("not a min:typ:max triple: " + items[i]);
+            }
+        }
+        if (triples[1] == null) {
+            triples[1] = triples[0];
+        }
+        if (triples[2] == null) {
+            triples[2] = new long[3];
+            for (int c = 0; c < 3; c++) {
+                triples[2][c] = Math.min(triples[0][c], triples[1][c]);
+            }
+        }
+        return new Delay(triples[0], triples[1], triples[2]);
+    }
+
+    public long rise(Corner corner) {
+        return delays[0][corner.index()];
+    }
+
+    public long fall(Corner corner) {
+        return delays[1][corner.index()];
+    }
+
+    public long turnOff(Corner corner) {
+        return delays[2][corner.index()];
+    }
+
+    // delay of a transition to value: x takes the smallest delay, z the turn-off delay
+    public long delay(Corner corner, int to) {
+        int c = corner.index();
+        switch (to) {
+            case Value.VALUE_1:
+                return delays[0][c];
+            case Value.VALUE_0:
+                return delays[1][c];
+            case Value.VALUE_Z:
+                return delays[2][c];
+            default:
+                return Math.min(delays[0][c], Math.min(delays[1][c], delays[2][c]));
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("#(");
+        for (int i = 0; i < 3; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(delays[i][0]).append(':').append(delays[i][1]).append(':').append(delays[i][2]);
+        }
+        return sb.append(')').toString();
+    }
+
+    // static hazard of a & ~a: the inverter opens a window of 2 where both inputs of the and are 1.
+    // an and gate slower than the window swallows the pulse.
+    public static void main(String[] args) {
+        for (long andDelay : new long[]{1, 3}) {
+            SimulationContext context = new SimulationContext();
+            SimulationContext.setCurrent(context);
+            Wire a = new Wire();
+            Wire na = new Wire();
+            Wire out = new Wire();
+            Not.inst(na, a).setDelay(new Delay(2));
+            And.inst(out, a, na).setDelay(new Delay(andDelay));
+
+            a.assign(Value.V0);
+            context.propagateParallel(a);
+            context.runUntil(10);
+            a.assign(Value.V1);
+            context.propagateParallel(a);
+            StringBuilder wave = new StringBuilder();
+            for (long t = 10; t <= 20; t++) {
+                context.runUntil(t);
+                wave.append(out);
+            }
+            System.out.println("and " + new Delay(andDelay) + ", out at t = 10..20: " + wave);
+            SimulationContext.setCurrent(null);
+        }
+    }
+}
@@ -25,3 +25,13 @@
 // CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
 // ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
 // THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.core.delay;
+
+// the maximum value of min:typ:max delays
+public class Max extends Corner {
+
+    @Override
+    public int index() {
+        return 2;
+    }
+}
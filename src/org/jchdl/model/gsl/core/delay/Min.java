@@ -25,3 +25,13 @@
 // CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
 // ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
 // THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.core.delay;
+
+// the minimum value of min:typ:max delays
+public class Min extends Corner {
+
+    @Override
+    public int index() {
+        return 0;
+    }
+}
@@ -0,0 +1,305 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.core.delay;
+
+import org.jchdl.model.gsl.core.io.Output;
+import org.jchdl.model.gsl.core.meta.Port;
+
+import java.util.Arrays;
+import java.util.Random;
+
+// Calendar of timed port transitions, a hierarchical timing wheel.
+// Level k has 256 slots of 256^k time units each; an event lives on the lowest level whose
+// window also holds the current time, and moves down a level as time enters its slot.
+// Events too far ahead wait in an overflow list. Insert and pop are O(1) amortized.
+// Events are ints indexing parallel arrays, freed ids are reused.
+public class TimingWheel {
+    private static final int LEVELS = 4;
+    private static final int SLOT_BITS = 8;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int NIL = -1;
+
+    private long now = 0;
+    private int size = 0;
+
+    // events
+    private long[] times = new long[1024];
+    private Port[] ports = new Port[1024];
+    private int[] values = new int[1024];
+    private int[] next = new int[1024];
+    private int free = NIL;
+    private int allocated = 0;
+
+    // heads of the slot lists and occupied slots, per level
+    private int[][] heads = new int[LEVELS][SLOTS];
+    private long[][] occupied = new long[LEVELS][SLOTS / 64];
+    private int overflow = NIL;
+    // events of the current time, ready to be polled
+    private int ready = NIL;
+
+    // earliest event time, valid unless nextDirty
+    private long nextTime = Long.MAX_VALUE;
+    private boolean nextDirty = false;
+
+    public TimingWheel() {
+        for (int[] level : heads) {
+            Arrays.fill(level, NIL);
+        }
+    }
+
+    public long now() {
+        return now;
+    }
+
+    // events scheduled and not polled yet, including cancelled ones
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // time >= now()
+    public int schedule(long time, Port port, int value) {
+        if (time < now) {
+            throw new IllegalArgumentException("event at " + time + " scheduled at " + now);
+        }
+        int id = allocate();
+        times[id] = time;
+        ports[id] = port;
+        values[id] = value;
+        insert(id);
+        size++;
+        if (time < nextTime) {
+            nextTime = time;
+        }
+        return id;
+    }
+
+    public long time(int id) {
+        return times[id];
+    }
+
+    public Port port(int id) {
+        return ports[id];
+    }
+
+    public int value(int id) {
+        return values[id];
+    }
+
+    // the event stays in its slot and is dropped when reached
+    public void cancel(int id) {
+        ports[id] = null;
+    }
+
+    public boolean isCancelled(int id) {
+        return ports[id] == null;
+    }
+
+    private int allocate() {
+        if (free != NIL) {
+            int id = free;
+            free = next[id];
+            return id;
+        }
+        if (allocated == times.length) {
+            int length = times.length * 2;
+            times = Arrays.copyOf(times, length);
+            ports = Arrays.copyOf(ports, length);
+            values = Arrays.copyOf(values, length);
+            next = Arrays.copyOf(next, length);
+        }
+        return allocated++;
+    }
+
+    // ids returned by poll() are freed by the caller once read
+    public void free(int id) {
+        ports[id] = null;
+        next[id] = free;
+        free = id;
+    }
+
+    private void insert(int id) {
+        long time = times[id];
+        if (time == now) {
+            next[id] = ready;
+            ready = id;
+            return;
+        }
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = SLOT_BITS * (level + 1);
+            if ((time >>> shift) == (now >>> shift)) {
+                int slot = (int) (time >>> (SLOT_BITS * level)) & SLOT_MASK;
+                next[id] = heads[level][slot];
+                heads[level][slot] = id;
+                occupied[level][slot >>> 6] |= 1L << slot;
+                return;
+            }
+        }
+        next[id] = overflow;
+        overflow = id;
+    }
+
+    // first occupied slot of a level at or after slot, -1 if none
+    private int occupiedFrom(int level, int slot) {
+        long[] bits = occupied[level];
+        for (int w = slot >>> 6; w < bits.length; w++) {
+            long word = bits[w];
+            if (w == slot >>> 6) {
+                word &= -1L << slot;
+            }
+            if (word != 0) {
+                return (w << 6) + Long.numberOfTrailingZeros(word);
+            }
+        }
+        return -1;
+    }
+
+    private static long earliest(int id, int[] next, long[] times) {
+        long time = Long.MAX_VALUE;
+        for (int e = id; e != NIL; e = next[e]) {
+            time = Math.min(time, times[e]);
+        }
+        return time;
+    }
+
+    // time of the earliest event, Long.MAX_VALUE if there is none
+    public long nextTime() {
+        if (size == 0) {
+            return Long.MAX_VALUE;
+        }
+        if (!nextDirty) {
+            return nextTime;
+        }
+        long time = Long.MAX_VALUE;
+        if (ready != NIL) {
+            time = now;
+        } else {
+            for (int level = 0; level < LEVELS && time == Long.MAX_VALUE; level++) {
+                int current = (int) (now >>> (SLOT_BITS * level)) & SLOT_MASK;
+                int slot = occupiedFrom(level, level == 0 ? current : current + 1 > SLOT_MASK ? SLOTS : current + 1);
+                if (slot >= 0) {
+                    time = level == 0 ? (now & ~(long) SLOT_MASK) | slot : earliest(heads[level][slot], next, times);
+                }
+            }
+            if (time == Long.MAX_VALUE) {
+                time = earliest(overflow, next, times);
+            }
+        }
+        nextTime = time;
+        nextDirty = false;
+        return time;
+    }
+
+    // time <= nextTime(): no event is skipped
+    public void advanceTo(long time) {
+        if (time < now) {
+            throw new IllegalArgumentException("time " + time + " is before " + now);
+        }
+        if (time > nextTime()) {
+            throw new IllegalArgumentException("events before " + time + " are pending");
+        }
+        if (time == now) {
+            return;
+        }
+        long previous = now;
+        now = time;
+        // the slots holding the new time are emptied from the top level down,
+        // their events move to lower levels, or become ready on level 0.
+        // no other slot can hold an event before the next window of its level.
+        if ((time >>> (SLOT_BITS * LEVELS)) != (previous >>> (SLOT_BITS * LEVELS))) {
+            int e = overflow;
+            overflow = NIL;
+            reinsert(e);
+        }
+        for (int level = LEVELS - 1; level >= 0; level--) {
+            int slot = (int) (time >>> (SLOT_BITS * level)) & SLOT_MASK;
+            int e = heads[level][slot];
+            if (e == NIL) continue;
+            heads[level][slot] = NIL;
+            occupied[level][slot >>> 6] &= ~(1L << slot);
+            reinsert(e);
+        }
+    }
+
+    private void reinsert(int e) {
+        while (e != NIL) {
+            int n = next[e];
+            insert(e);
+            e = n;
+        }
+    }
+
+    // next event of the current time, -1 when there is none left.
+    // cancelled events are skipped and freed.
+    public int poll() {
+        while (ready != NIL) {
+            int id = ready;
+            ready = next[id];
+            size--;
+            nextDirty = true;
+            if (ports[id] != null) {
+                return id;
+            }
+            free(id);
+        }
+        return NIL;
+    }
+
+    // events per second with random delays
+    public static void main(String[] args) {
+        TimingWheel wheel = new TimingWheel();
+        Port port = new Output(null);
+        Random random = new Random(1);
+        int pending = 100000;
+        int nEvents = 10000000;
+        for (int i = 0; i < pending; i++) {
+            wheel.schedule(1 + random.nextInt(100000), port, 0);
+        }
+        long start = System.nanoTime();
+        long checksum = 0;
+        for (int popped = 0; popped < nEvents; ) {
+            wheel.advanceTo(wheel.nextTime());
+            int id;
+            while ((id = wheel.poll()) >= 0) {
+                checksum += wheel.time(id);
+                wheel.free(id);
+                popped++;
+                // mostly short delays, some far ahead
+                long delay = random.nextInt(8) == 0 ? 1 + random.nextInt(1 << 20) : 1 + random.nextInt(64);
+                wheel.schedule(wheel.now() + delay, port, 0);
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.println(nEvents + " events in " + elapsed / 1000000 + " ms, "
+                + nEvents * 1000L / Math.max(1, elapsed / 1000000) + " events/s, checksum " + checksum);
+    }
+}
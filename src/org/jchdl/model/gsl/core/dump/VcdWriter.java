@@ -0,0 +1,444 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.core.dump;
+
+import org.jchdl.model.gsl.core.datatype.helper.WireVec;
+import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.meta.AtomicNode;
+import org.jchdl.model.gsl.core.meta.Monitor;
+import org.jchdl.model.gsl.core.meta.Node;
+import org.jchdl.model.gsl.core.meta.SimulationContext;
+import org.jchdl.vc.gsl.m2.GslNode;
+import org.jchdl.vc.gsl.m2.GslWire;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.function.Predicate;
+
+// Streams the value changes of wires to a VCD file.
+// Wires are added before the first change, alone, by WireVec, or with the hierarchy of a Node.
+// A change only marks its signal, the values are written once per time step, when time moves on:
+// glitches within a time step are not dumped.
+// Lines are written into direct buffers, which a flusher thread writes to the file.
+// Time is the time of the simulation context, unless set with setTime(), e.g. once per clock cycle.
+// Changes reported by the workers of sliced waves are marked and written under the lock of the writer.
+// A worker marks its signal before the new value is set, so the dump of the previous step,
+// done under the same lock by the first worker to see the new time, only reads values of that step.
+public class VcdWriter implements AutoCloseable {
+    private static final int BUFFERS = 3;
+    private static final ByteBuffer END = ByteBuffer.allocate(0);
+    private static final byte[] CHARS = {'0', '1', 'x', 'z'};
+
+    private FileChannel channel;
+    private ByteBuffer buffer;
+    private ArrayBlockingQueue<ByteBuffer> free = new ArrayBlockingQueue<>(BUFFERS);
+    private ArrayBlockingQueue<ByteBuffer> full = new ArrayBlockingQueue<>(BUFFERS + 1);
+    private Thread flusher;
+    private volatile IOException failure;
+
+    private SimulationContext context = SimulationContext.current();
+    private String timescale = "1ns";
+    private Predicate<String> scopeFilter = scope -> true;
+    private Predicate<String> signalFilter = signal -> true;
+
+    private Scope root = new Scope("top");
+    private ArrayList<Signal> signals = new ArrayList<>(256);
+    private IdentityHashMap<Object, Signal> signalOf = new IdentityHashMap<>(256);
+    private ArrayList<Signal> dirty = new ArrayList<>(256);
+    private boolean started;
+    private boolean closed;
+    private volatile boolean manualTime;
+    private volatile long time;
+    private long dumpedTime = -1;
+
+    private static class Scope {
+        private String name;
+        private LinkedHashMap<String, Scope> children = new LinkedHashMap<>(8);
+        private ArrayList<Signal> signals = new ArrayList<>(8);
+        private ArrayList<String> names = new ArrayList<>(8);
+
+        private Scope(String name) {
+            this.name = name;
+        }
+
+        private Scope child(String name) {
+            return children.computeIfAbsent(name, Scope::new);
+        }
+
+        private boolean has(String name) {
+            return names.contains(name);
+        }
+    }
+
+    // one VCD variable: a wire or the wires of a vector, most significant last
+    private class Signal implements Monitor {
+        private byte[] id;
+        private Wire[] wires;
+        private byte[] last;
+        private volatile boolean dirty;
+
+        private Signal(Wire[] wires) {
+            this.wires = wires;
+            this.id = id(signals.size());
+            this.last = new byte[wires.length];
+        }
+
+        // most changes are glitches of a signal already marked in this time step,
+        // they return without taking the lock
+        @Override
+        public void changed(Wire wire, int value) {
+            if (!dirty || !manualTime && context.getTime() != time) {
+                VcdWriter.this.changed(this);
+            }
+        }
+    }
+
+    public VcdWriter(Path file) throws IOException {
+        this(file, 1 << 20);
+    }
+
+    public VcdWriter(Path file, int bufferSize) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        for (int i = 0; i < BUFFERS; i++) {
+            free.add(ByteBuffer.allocateDirect(bufferSize));
+        }
+        buffer = free.poll();
+        flusher = new Thread(this::flush, "vcd-" + file.getFileName());
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    public void setTimescale(String timescale) {
+        this.timescale = timescale;
+    }
+
+    // applied to hierarchical scope names such as top.Mul_8.Add_16_0, when wires are added
+    public void setScopeFilter(Predicate<String> scopeFilter) {
+        this.scopeFilter = scopeFilter;
+    }
+
+    // applied to hierarchical signal names such as top.Mul_8.Add_16_0.sum, when wires are added
+    public void setSignalFilter(Predicate<String> signalFilter) {
+        this.signalFilter = signalFilter;
+    }
+
+    public synchronized void add(Wire wire) {
+        add(root, "top", wire.getName(), wire, new Wire[]{wire});
+    }
+
+    public synchronized void add(WireVec vec) {
+        add(root, "top", vec.getName(), vec, vec.wires());
+    }
+
+    // the wires of node and of the nodes inside it, named after the Wire and WireVec fields of the nodes
+    public synchronized void add(Node node) {
+        if (node.isCompacted()) {
+            throw new IllegalStateException("the hierarchy of a compacted node is gone, add it before compaction");
+        }
+        GslNode gslNode = new GslNode(node);
+        try {
+            gslNode.setupNodeHierarchy();
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+        add(root, "top", gslNode);
+    }
+
+    private void add(Scope parent, String parentPath, GslNode gslNode) {
+        String name = gslNode.getName();
+        for (int i = 0; parent.children.containsKey(name); i++) {
+            name = gslNode.getName() + "_" + i;
+        }
+        String path = parentPath + "." + name;
+        if (!scopeFilter.test(path)) {
+            return;
+        }
+        Scope scope = parent.child(name);
+        for (ArrayList<GslWire> wires : Arrays.asList(gslNode.getInputs(), gslNode.getOutputs(), gslNode.getDeclarations())) {
+            for (GslWire w : wires) {
+                WireVec vec = w.getWireVec();
+                if (vec != null) {
+                    add(scope, path, w.getName(), vec, vec.wires());
+                } else {
+                    add(scope, path, w.getName(), w.wire, new Wire[]{w.wire});
+                }
+            }
+        }
+        for (GslNode child : gslNode.getChildren()) {
+            // wires of gates are the wires of their parent
+            if (!(child.getModelNode() instanceof AtomicNode)) {
+                add(scope, path, child);
+            }
+        }
+    }
+
+    private void add(Scope scope, String path, String name, Object key, Wire[] wires) {
+        if (started) {
+            throw new IllegalStateException("wires are added before the first change");
+        }
+        if (name == null) {
+            name = "w" + scope.names.size();
+        }
+        if (scope.has(name) || !signalFilter.test(path + "." + name)) {
+            return;
+        }
+        // the same wires in several scopes share one VCD variable
+        Signal signal = signalOf.get(key);
+        if (signal == null) {
+            signal = new Signal(wires);
+            signals.add(signal);
+            signalOf.put(key, signal);
+            for (Wire wire : wires) {
+                wire.setMonitor(signal);
+            }
+        }
+        scope.signals.add(signal);
+        scope.names.add(name);
+    }
+
+    // base 94 identifier of printable characters
+    private static byte[] id(int n) {
+        StringBuilder sb = new StringBuilder(4);
+        do {
+            sb.append((char) ('!' + n % 94));
+            n /= 94;
+        } while (n > 0);
+        return sb.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    public synchronized void setTime(long time) {
+        start();
+        if (time != this.time) {
+            dump();
+        }
+        this.time = time;
+        manualTime = true;
+    }
+
+    public synchronized long getTime() {
+        return manualTime ? time : context.getTime();
+    }
+
+    private synchronized void changed(Signal signal) {
+        if (closed) {
+            return;
+        }
+        start();
+        if (!manualTime) {
+            long now = context.getTime();
+            if (now != time) {
+                // values of the previous step are final: the changing wire still holds its old value
+                dump();
+                time = now;
+            }
+        }
+        if (!signal.dirty) {
+            signal.dirty = true;
+            dirty.add(signal);
+        }
+    }
+
+    // header and initial values
+    private void start() {
+        if (started) {
+            return;
+        }
+        started = true;
+        time = context.getTime();
+        write("$timescale " + timescale + " $end\n");
+        declare(root);
+        write("$enddefinitions $end\n#" + time + "\n$dumpvars\n");
+        dumpedTime = time;
+        for (Signal signal : signals) {
+            value(signal);
+        }
+        write("$end\n");
+    }
+
+    private void declare(Scope scope) {
+        write("$scope module " + scope.name + " $end\n");
+        for (int i = 0; i < scope.signals.size(); i++) {
+            Signal signal = scope.signals.get(i);
+            int width = signal.wires.length;
+            write("$var wire " + width + " " + new String(signal.id, StandardCharsets.US_ASCII) + " " + scope.names.get(i)
+                    + (width > 1 ? " [" + (width - 1) + ":0]" : "") + " $end\n");
+        }
+        for (Scope child : scope.children.values()) {
+            declare(child);
+        }
+        write("$upscope $end\n");
+    }
+
+    // the signals changed during the time step, if their values differ from the values dumped last
+    private void dump() {
+        for (Signal signal : dirty) {
+            signal.dirty = false;
+            if (!differs(signal)) continue;
+            if (dumpedTime != time) {
+                dumpedTime = time;
+                ensure(24);
+                buffer.put((byte) '#');
+                putLong(time);
+                buffer.put((byte) '\n');
+            }
+            value(signal);
+        }
+        dirty.clear();
+    }
+
+    private boolean differs(Signal signal) {
+        Wire[] wires = signal.wires;
+        for (int i = 0; i < wires.length; i++) {
+            if (CHARS[wires[i].getOutput().get()] != signal.last[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void value(Signal signal) {
+        Wire[] wires = signal.wires;
+        ensure(wires.length + signal.id.length + 3);
+        if (wires.length > 1) {
+            buffer.put((byte) 'b');
+        }
+        for (int i = wires.length - 1; i >= 0; i--) {
+            byte c = CHARS[wires[i].getOutput().get()];
+            signal.last[i] = c;
+            buffer.put(c);
+        }
+        if (wires.length > 1) {
+            buffer.put((byte) ' ');
+        }
+        buffer.put(signal.id);
+        buffer.put((byte) '\n');
+    }
+
+    private void putLong(long v) {
+        if (v >= 10) {
+            putLong(v / 10);
+        }
+        buffer.put((byte) ('0' + v % 10));
+    }
+
+    private void write(String s) {
+        byte[] bytes = s.getBytes(StandardCharsets.US_ASCII);
+        ensure(bytes.length);
+        buffer.put(bytes);
+    }
+
+    // hand the buffer to the flusher when it cannot take n more bytes
+    private void ensure(int n) {
+        if (buffer.remaining() >= n) {
+            return;
+        }
+        buffer.flip();
+        buffer = exchange(buffer);
+        buffer.clear();
+        if (buffer.remaining() < n) {
+            throw new IllegalStateException("a line of " + n + " bytes does not fit into the buffers");
+        }
+    }
+
+    private ByteBuffer exchange(ByteBuffer written) {
+        try {
+            full.put(written);
+            ByteBuffer next = free.take();
+            if (failure != null) {
+                throw new UncheckedIOException(failure);
+            }
+            return next;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void flush() {
+        try {
+            ByteBuffer b;
+            while ((b = full.take()) != END) {
+                try {
+                    while (b.hasRemaining() && failure == null) {
+                        channel.write(b);
+                    }
+                } catch (IOException e) {
+                    failure = e;
+                }
+                free.put(b);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // dumps the last time step, writes the buffers out and closes the file
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        start();
+        dump();
+        closed = true;
+        for (Signal signal : signals) {
+            for (Wire wire : signal.wires) {
+                if (wire.getMonitor() == signal) {
+                    wire.setMonitor(null);
+                }
+            }
+        }
+        buffer.flip();
+        try {
+            full.put(buffer);
+            full.put(END);
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            channel.close();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    public synchronized int nSignals() {
+        return signals.size();
+    }
+}
@@ -28,6 +28,8 @@
 package org.jchdl.model.gsl.core.gate.ni;
 
 import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.gate.ni.atomic.AndNi;
+import org.jchdl.model.gsl.core.gate.ni.atomic.AtomicGateNi;
 import org.jchdl.model.gsl.core.gate.ni.atomic.Gate2i;
 import org.jchdl.model.gsl.core.value.Value;
 
@@ -42,6 +44,11 @@ public class And extends GateNi {
         return new org.jchdl.model.gsl.core.gate.ni.atomic.And(out, in1, in2);
     }
 
+    @Override
+    public AtomicGateNi gateNi(Wire out, Wire in1, Wire... inWires) {
+        return new AndNi(out, in1, inWires);
+    }
+
     public static And inst(Wire out, Wire in1, Wire... inWires) {
         return new And(out, in1, inWires);
     }
@@ -28,11 +28,18 @@
 package org.jchdl.model.gsl.core.gate.ni;
 
 import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.gate.ni.atomic.AtomicGateNi;
 import org.jchdl.model.gsl.core.gate.ni.atomic.Gate2i;
+import org.jchdl.model.gsl.core.gate.no.Not;
 import org.jchdl.model.gsl.core.meta.Node;
+import org.jchdl.model.gsl.core.meta.SimulationContext;
 
-public abstract class GateNi extends Node {
+import java.util.Arrays;
 
+// more than 2 inputs are evaluated by one n-input primitive,
+// or by a balanced tree of 2-input gates when decomposition is switched on.
+// the choice is kept by the current SimulationContext and applies to gates constructed afterwards.
+public abstract class GateNi extends Node {
     public GateNi(Wire out, Wire in1, Wire... inWires) {
         // collect wires
         out(out);
@@ -42,28 +49,59 @@ public abstract class GateNi extends Node {
         construct();
     }
 
+    public static boolean isDecomposed() {
+        return SimulationContext.current().isDecomposed();
+    }
+
+    public static void setDecomposed(boolean decomposed) {
+        SimulationContext.current().setDecomposed(decomposed);
+    }
+
     public abstract Gate2i gate2i(Wire out, Wire in1, Wire in2);
 
+    public abstract AtomicGateNi gateNi(Wire out, Wire in1, Wire... inWires);
+
+    // gates below the root of a decomposed tree: nand, nor and xnor only invert at the root
+    public Gate2i inner2i(Wire out, Wire in1, Wire in2) {
+        return gate2i(out, in1, in2);
+    }
+
+    public boolean inverting() {
+        return false;
+    }
+
     @Override
     public void logic() {
         int size = inputs().length;
+        Wire[] ins = new Wire[size];
+        for (int i = 0; i < size; i++) {
+            ins[i] = new Wire(in(i));
+        }
+        if (size == 1 && !inverting()) {
+            ins[0].connect(out(0));
+            return;
+        }
+        Wire out = new Wire(out(0));
         if (size == 1) {
-            Wire out = new Wire(in(0));
-            out.connect(out(0));
+            Not.inst(out, ins[0]);
         } else if (size == 2) {
-            Wire in1 = new Wire(in(0));
-            Wire in2 = new Wire(in(1));
-            Wire out = new Wire(out(0));
-            gate2i(out, in1, in2);
+            gate2i(out, ins[0], ins[1]);
+        } else if (getContext().isDecomposed()) {
+            int middle = size / 2;
+            gate2i(out, tree(ins, 0, middle), tree(ins, middle, size));
         } else {
-            Wire out = new Wire(in(0));
-            for (int i = 1; i < size; i++) {
-                Wire in2 = new Wire(in(i));
-                Wire ret = new Wire();
-                gate2i(ret, out, in2);
-                out = ret;
-            }
-            out.connect(out(0));
+            gateNi(out, ins[0], Arrays.copyOfRange(ins, 1, size));
+        }
+    }
+
+    // wire carrying the non-inverted operation over ins[from, to), depth log2(to - from)
+    private Wire tree(Wire[] ins, int from, int to) {
+        if (to - from == 1) {
+            return ins[from];
         }
+        int middle = (from + to) >>> 1;
+        Wire out = new Wire();
+        inner2i(out, tree(ins, from, middle), tree(ins, middle, to));
+        return out;
     }
 }
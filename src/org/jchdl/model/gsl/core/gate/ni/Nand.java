@@ -28,7 +28,9 @@
 package org.jchdl.model.gsl.core.gate.ni;
 
 import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.gate.ni.atomic.AtomicGateNi;
 import org.jchdl.model.gsl.core.gate.ni.atomic.Gate2i;
+import org.jchdl.model.gsl.core.gate.ni.atomic.NandNi;
 import org.jchdl.model.gsl.core.value.Value;
 
 public class Nand extends GateNi {
@@ -42,6 +44,21 @@ public class Nand extends GateNi {
         return new org.jchdl.model.gsl.core.gate.ni.atomic.Nand(out, in1, in2);
     }
 
+    @Override
+    public AtomicGateNi gateNi(Wire out, Wire in1, Wire... inWires) {
+        return new NandNi(out, in1, inWires);
+    }
+
+    @Override
+    public Gate2i inner2i(Wire out, Wire in1, Wire in2) {
+        return new org.jchdl.model.gsl.core.gate.ni.atomic.And(out, in1, in2);
+    }
+
+    @Override
+    public boolean inverting() {
+        return true;
+    }
+
     public static Nand inst(Wire out, Wire in1, Wire... inWires) {
         return new Nand(out, in1, inWires);
     }
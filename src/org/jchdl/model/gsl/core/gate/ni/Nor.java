@@ -28,7 +28,9 @@
 package org.jchdl.model.gsl.core.gate.ni;
 
 import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.gate.ni.atomic.AtomicGateNi;
 import org.jchdl.model.gsl.core.gate.ni.atomic.Gate2i;
+import org.jchdl.model.gsl.core.gate.ni.atomic.NorNi;
 
 public class Nor extends GateNi {
 
@@ -41,6 +43,21 @@ public class Nor extends GateNi {
         return new org.jchdl.model.gsl.core.gate.ni.atomic.Nor(out, in1, in2);
     }
 
+    @Override
+    public AtomicGateNi gateNi(Wire out, Wire in1, Wire... inWires) {
+        return new NorNi(out, in1, inWires);
+    }
+
+    @Override
+    public Gate2i inner2i(Wire out, Wire in1, Wire in2) {
+        return new org.jchdl.model.gsl.core.gate.ni.atomic.Or(out, in1, in2);
+    }
+
+    @Override
+    public boolean inverting() {
+        return true;
+    }
+
     public static Nor inst(Wire out, Wire in1, Wire... inWires) {
         return new Nor(out, in1, inWires);
     }
@@ -28,7 +28,9 @@
 package org.jchdl.model.gsl.core.gate.ni;
 
 import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.gate.ni.atomic.AtomicGateNi;
 import org.jchdl.model.gsl.core.gate.ni.atomic.Gate2i;
+import org.jchdl.model.gsl.core.gate.ni.atomic.OrNi;
 
 public class Or extends GateNi {
 
@@ -41,6 +43,11 @@ public class Or extends GateNi {
         return new org.jchdl.model.gsl.core.gate.ni.atomic.Or(out, in1, in2);
     }
 
+    @Override
+    public AtomicGateNi gateNi(Wire out, Wire in1, Wire... inWires) {
+        return new OrNi(out, in1, inWires);
+    }
+
     public static Or inst(Wire out, Wire in1, Wire... inWires) {
         return new Or(out, in1, inWires);
     }
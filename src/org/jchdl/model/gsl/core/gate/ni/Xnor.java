@@ -28,7 +28,9 @@
 package org.jchdl.model.gsl.core.gate.ni;
 
 import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.gate.ni.atomic.AtomicGateNi;
 import org.jchdl.model.gsl.core.gate.ni.atomic.Gate2i;
+import org.jchdl.model.gsl.core.gate.ni.atomic.XnorNi;
 
 public class Xnor extends GateNi {
 
@@ -41,6 +43,21 @@ public class Xnor extends GateNi {
         return new org.jchdl.model.gsl.core.gate.ni.atomic.Xnor(out, in1, in2);
     }
 
+    @Override
+    public AtomicGateNi gateNi(Wire out, Wire in1, Wire... inWires) {
+        return new XnorNi(out, in1, inWires);
+    }
+
+    @Override
+    public Gate2i inner2i(Wire out, Wire in1, Wire in2) {
+        return new org.jchdl.model.gsl.core.gate.ni.atomic.Xor(out, in1, in2);
+    }
+
+    @Override
+    public boolean inverting() {
+        return true;
+    }
+
     public static Xnor inst(Wire out, Wire in1, Wire... inWires) {
         return new Xnor(out, in1, inWires);
     }
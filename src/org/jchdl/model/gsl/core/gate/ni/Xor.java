@@ -28,7 +28,9 @@
 package org.jchdl.model.gsl.core.gate.ni;
 
 import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.gate.ni.atomic.AtomicGateNi;
 import org.jchdl.model.gsl.core.gate.ni.atomic.Gate2i;
+import org.jchdl.model.gsl.core.gate.ni.atomic.XorNi;
 
 public class Xor extends GateNi {
 
@@ -41,6 +43,11 @@ public class Xor extends GateNi {
         return new org.jchdl.model.gsl.core.gate.ni.atomic.Xor(out, in1, in2);
     }
 
+    @Override
+    public AtomicGateNi gateNi(Wire out, Wire in1, Wire... inWires) {
+        return new XorNi(out, in1, inWires);
+    }
+
     public static Xor inst(Wire out, Wire in1, Wire... inWires) {
         return new Xor(out, in1, inWires);
     }
@@ -31,6 +31,7 @@ import org.jchdl.model.gsl.core.datatype.net.Wire;
 import org.jchdl.model.gsl.core.io.Input;
 import org.jchdl.model.gsl.core.io.Output;
 import org.jchdl.model.gsl.core.meta.PropagateManager;
+import org.jchdl.model.gsl.core.value.TruthTable;
 import org.jchdl.model.gsl.core.value.Value;
 
 public class And extends Gate2i {
@@ -50,72 +51,7 @@ public class And extends Gate2i {
      */
     @Override
     public void truth(Output out, Input in1, Input in2) {
-        switch (in1.value.v) {
-            case Value.VALUE_0:
-                switch (in2.value.v) {
-                    case Value.VALUE_0:
-                        out.value.v = Value.VALUE_0;
-                        break;
-                    case Value.VALUE_1:
-                        out.value.v = Value.VALUE_0;
-                        break;
-                    case Value.VALUE_X:
-                        out.value.v = Value.VALUE_0;
-                        break;
-                    case Value.VALUE_Z:
-                        out.value.v = Value.VALUE_0;
-                        break;
-                }
-                break;
-            case Value.VALUE_1:
-                switch (in2.value.v) {
-                    case Value.VALUE_0:
-                        out.value.v = Value.VALUE_0;
-                        break;
-                    case Value.VALUE_1:
-                        out.value.v = Value.VALUE_1;
-                        break;
-                    case Value.VALUE_X:
-                        out.value.v = Value.VALUE_X;
-                        break;
-                    case Value.VALUE_Z:
-                        out.value.v = Value.VALUE_X;
-                        break;
-                }
-                break;
-            case Value.VALUE_X:
-                switch (in2.value.v) {
-                    case Value.VALUE_0:
-                        out.value.v = Value.VALUE_0;
-                        break;
-                    case Value.VALUE_1:
-                        out.value.v = Value.VALUE_X;
-                        break;
-                    case Value.VALUE_X:
-                        out.value.v = Value.VALUE_X;
-                        break;
-                    case Value.VALUE_Z:
-                        out.value.v = Value.VALUE_X;
-                        break;
-                }
-                break;
-            case Value.VALUE_Z:
-                switch (in2.value.v) {
-                    case Value.VALUE_0:
-                        out.value.v = Value.VALUE_0;
-                        break;
-                    case Value.VALUE_1:
-                        out.value.v = Value.VALUE_X;
-                        break;
-                    case Value.VALUE_X:
-                        out.value.v = Value.VALUE_X;
-                        break;
-                    case Value.VALUE_Z:
-                        out.value.v = Value.VALUE_X;
-                        break;
-                }
-                break;
-        }
+        out.set(TruthTable.AND[(in1.get() << 2) | in2.get()]);
     }
 
     public static And inst(Wire out, Wire in1, Wire in2) {
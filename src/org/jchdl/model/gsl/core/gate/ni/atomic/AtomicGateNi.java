@@ -0,0 +1,61 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.core.gate.ni.atomic;
+
+import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.io.Input;
+import org.jchdl.model.gsl.core.meta.AtomicNode;
+import org.jchdl.model.gsl.core.value.TruthTable;
+
+// n-input gate evaluated in a single pass, as the n-input gate primitives of verilog:
+// the inputs are reduced with an associative truth table, nand/nor/xnor invert the result.
+public abstract class AtomicGateNi extends AtomicNode {
+
+    public AtomicGateNi(Wire out, Wire in1, Wire... inWires) {
+        in(in1);
+        in(inWires);
+        out(out);
+        construct();
+    }
+
+    // one of TruthTable.AND, OR, XOR
+    public abstract int[] table();
+
+    public abstract boolean inverted();
+
+    @Override
+    public void atomic() {
+        int[] table = table();
+        Input[] inputs = inputs();
+        int v = TruthTable.BUF[inputs[0].get()];
+        for (int i = 1; i < inputs.length; i++) {
+            v = table[(v << 2) | inputs[i].get()];
+        }
+        out(0).set(inverted() ? TruthTable.NOT[v] : v);
+    }
+}
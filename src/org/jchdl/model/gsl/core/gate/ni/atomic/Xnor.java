@@ -30,7 +30,7 @@ package org.jchdl.model.gsl.core.gate.ni.atomic;
 import org.jchdl.model.gsl.core.datatype.net.Wire;
 import org.jchdl.model.gsl.core.io.Input;
 import org.jchdl.model.gsl.core.io.Output;
-import org.jchdl.model.gsl.core.value.Value;
+import org.jchdl.model.gsl.core.value.TruthTable;
 
 public class Xnor extends Gate2i {
 
@@ -48,72 +48,7 @@ public class Xnor extends Gate2i {
      */
     @Override
     public void truth(Output out, Input in1, Input in2) {
-        switch (in1.value.v) {
-            case Value.VALUE_0:
-                switch (in2.value.v) {
-                    case Value.VALUE_0:
-                        out.value.v = Value.VALUE_1;
-                        break;
-                    case Value.VALUE_1:
-                        out.value.v = Value.VALUE_0;
-                        break;
-                    case Value.VALUE_X:
-                        out.value.v = Value.VALUE_X;
-                        break;
-                    case Value.VALUE_Z:
-                        out.value.v = Value.VALUE_X;
-                        break;
-                }
-                break;
-            case Value.VALUE_1:
-                switch (in2.value.v) {
-                    case Value.VALUE_0:
-                        out.value.v = Value.VALUE_0;
-                        break;
-                    case Value.VALUE_1:
-                        out.value.v = Value.VALUE_1;
-                        break;
-                    case Value.VALUE_X:
-                        out.value.v = Value.VALUE_X;
-                        break;
-                    case Value.VALUE_Z:
-                        out.value.v = Value.VALUE_X;
-                        break;
-                }
-                break;
-            case Value.VALUE_X:
-                switch (in2.value.v) {
-                    case Value.VALUE_0:
-                        out.value.v = Value.VALUE_X;
-                        break;
-                    case Value.VALUE_1:
-                        out.value.v = Value.VALUE_X;
-                        break;
-                    case Value.VALUE_X:
-                        out.value.v = Value.VALUE_X;
-                        break;
-                    case Value.VALUE_Z:
-                        out.value.v = Value.VALUE_X;
-                        break;
-                }
-                break;
-            case Value.VALUE_Z:
-                switch (in2.value.v) {
-                    case Value.VALUE_0:
-                        out.value.v = Value.VALUE_X;
-                        break;
-                    case Value.VALUE_1:
-                        out.value.v = Value.VALUE_X;
-                        break;
-                    case Value.VALUE_X:
-                        out.value.v = Value.VALUE_X;
-                        break;
-                    case Value.VALUE_Z:
-                        out.value.v = Value.VALUE_X;
-                        break;
-                }
-                break;
-        }
+        out.set(TruthTable.XNOR[(in1.get() << 2) | in2.get()]);
     }
 
     public static Xnor inst(Wire out, Wire in1, Wire in2) {
@@ -31,7 +31,7 @@ import org.jchdl.model.gsl.core.datatype.net.Wire;
 import org.jchdl.model.gsl.core.io.Input;
 import org.jchdl.model.gsl.core.io.Output;
 import org.jchdl.model.gsl.core.meta.AtomicNode;
-import org.jchdl.model.gsl.core.value.Value;
+import org.jchdl.model.gsl.core.value.TruthTable;
 
 public class Buf extends AtomicNode {
 
@@ -54,20 +54,7 @@ public class Buf extends AtomicNode {
      *   z    x
      */
     public void buf(Output out, Input in) {
-        switch (in.value.v) {
-            case Value.VALUE_0:
-                out.value.v = Value.VALUE_0;
-                break;
-            case Value.VALUE_1:
-                out.value.v = Value.VALUE_1;
-                break;
-            case Value.VALUE_X:
-                out.value.v = Value.VALUE_X;
-                break;
-            case Value.VALUE_Z:
-                out.value.v = Value.VALUE_X;
-                break;
-        }
+        out.set(TruthTable.BUF[in.get()]);
     }
 
     @Override
@@ -83,10 +70,4 @@ public class Buf extends AtomicNode {
     public static Buf inst(Wire out, Wire in) {
         return new Buf(out, in);
     }
-
-    @Override
-    public void propagate() {
-        buf(out(0), in(0));
-        out(0).propagate();
-    }
 }
\ No newline at end of file
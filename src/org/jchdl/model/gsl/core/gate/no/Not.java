@@ -31,7 +31,7 @@ import org.jchdl.model.gsl.core.datatype.net.Wire;
 import org.jchdl.model.gsl.core.io.Input;
 import org.jchdl.model.gsl.core.io.Output;
 import org.jchdl.model.gsl.core.meta.AtomicNode;
-import org.jchdl.model.gsl.core.value.Value;
+import org.jchdl.model.gsl.core.value.TruthTable;
 
 public class Not extends AtomicNode {
 
@@ -54,20 +54,7 @@ public class Not extends AtomicNode {
      * z    x
      */
     public void not(Output out, Input in) {
-        switch (in.value.v) {
-            case Value.VALUE_0:
-                out.value.v = Value.VALUE_1;
-                break;
-            case Value.VALUE_1:
-                out.value.v = Value.VALUE_0;
-                break;
-            case Value.VALUE_X:
-                out.value.v = Value.VALUE_X;
-                break;
-            case Value.VALUE_Z:
-                out.value.v = Value.VALUE_X;
-                break;
-        }
+        out.set(TruthTable.NOT[in.get()]);
     }
 
     @Override
@@ -91,10 +78,4 @@ public class Not extends AtomicNode {
         }
         return nots;
     }
-
-    @Override
-    public void propagate() {
-        not(out(0), in(0));
-        out(0).propagate();
-    }
 }
\ No newline at end of file
@@ -29,11 +29,10 @@ package org.jchdl.model.gsl.core.gate.pull;
 
 import org.jchdl.model.gsl.core.datatype.net.Wire;
 import org.jchdl.model.gsl.core.meta.AtomicNode;
-import org.jchdl.model.gsl.core.meta.PropagateManager;
 
 public abstract class Pull extends AtomicNode {
     public Pull(Wire out) {
-        PropagateManager.add(this);
+        getContext().add(this);
         out(out);
         construct();
     }
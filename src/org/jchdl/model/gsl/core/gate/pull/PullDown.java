@@ -28,6 +28,10 @@
 package org.jchdl.model.gsl.core.gate.pull;
 
 import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.strength.Highz1;
+import org.jchdl.model.gsl.core.strength.Pull0;
+import org.jchdl.model.gsl.core.strength.Strength0;
+import org.jchdl.model.gsl.core.strength.Strength1;
 import org.jchdl.model.gsl.core.value.Value;
 
 public class PullDown extends Pull {
@@ -42,7 +46,7 @@ public class PullDown extends Pull {
 
     @Override
     public void atomic() {
-        out(0).value.v = Value.VALUE_0;
+        out(0).set(Value.VALUE_0);
     }
 
     @Override
@@ -50,6 +54,16 @@ public class PullDown extends Pull {
         return "pulldown";
     }
 
+    @Override
+    public Strength0 strength0() {
+        return Pull0.inst();
+    }
+
+    @Override
+    public Strength1 strength1() {
+        return Highz1.inst();
+    }
+
     public static void main(String args[]) {
         Wire out = new Wire();
         PullDown pullDown = PullDown.inst(out);
@@ -29,6 +29,10 @@ package org.jchdl.model.gsl.core.gate.pull;
 
 import org.jchdl.model.gsl.core.datatype.net.Wire;
 import org.jchdl.model.gsl.core.meta.PropagateManager;
+import org.jchdl.model.gsl.core.strength.Highz0;
+import org.jchdl.model.gsl.core.strength.Pull1;
+import org.jchdl.model.gsl.core.strength.Strength0;
+import org.jchdl.model.gsl.core.strength.Strength1;
 import org.jchdl.model.gsl.core.value.Value;
 
 public class PullUp extends Pull {
@@ -43,7 +47,7 @@ public class PullUp extends Pull {
 
     @Override
     public void atomic() {
-        out(0).value.v = Value.VALUE_1;
+        out(0).set(Value.VALUE_1);
     }
 
     @Override
@@ -51,6 +55,16 @@ public class PullUp extends Pull {
         return "pullup";
     }
 
+    @Override
+    public Strength0 strength0() {
+        return Highz0.inst();
+    }
+
+    @Override
+    public Strength1 strength1() {
+        return Pull1.inst();
+    }
+
     public static void main(String args[]) {
         Wire out = new Wire();
         PullUp pullUp = PullUp.inst(out);
@@ -27,7 +27,27 @@
 // THE POSSIBILITY OF SUCH DAMAGE.
 package org.jchdl.model.gsl.core.gate.tri;
 
-// NOT implemented
-public class Bufif0 {
+import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.value.TruthTable;
 
-}
\ No newline at end of file
+// passes in to out while the control is 0, z otherwise
+public class Bufif0 extends GateTri {
+
+    public Bufif0(Wire out, Wire in, Wire control) {
+        super(out, in, control);
+    }
+
+    @Override
+    protected int[] table() {
+        return TruthTable.BUFIF0;
+    }
+
+    @Override
+    public String primitive() {
+        return "bufif0";
+    }
+
+    public static Bufif0 inst(Wire out, Wire in, Wire control) {
+        return new Bufif0(out, in, control);
+    }
+}
@@ -27,7 +27,65 @@
 // THE POSSIBILITY OF SUCH DAMAGE.
 package org.jchdl.model.gsl.core.gate.tri;
 
-// NOT implemented
-public class Bufif1 {
+import org.jchdl.model.gsl.core.datatype.net.Tri;
+import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.meta.PropagateManager;
+import org.jchdl.model.gsl.core.value.TruthTable;
+import org.jchdl.model.gsl.core.value.Value;
 
-}
\ No newline at end of file
+// passes in to out while the control is 1, z otherwise
+public class Bufif1 extends GateTri {
+
+    public Bufif1(Wire out, Wire in, Wire control) {
+        super(out, in, control);
+    }
+
+    @Override
+    protected int[] table() {
+        return TruthTable.BUFIF1;
+    }
+
+    @Override
+    public String primitive() {
+        return "bufif1";
+    }
+
+    public static Bufif1 inst(Wire out, Wire in, Wire control) {
+        return new Bufif1(out, in, control);
+    }
+
+    // a bus line of 64 drivers, enabled one at a time, then two at a time
+    public static void main(String args[]) {
+        int n = 64;
+        Tri bus = new Tri();
+        Wire[] data = new Wire[n];
+        Wire[] enable = new Wire[n];
+        for (int i = 0; i < n; i++) {
+            data[i] = new Wire(i % 3 == 0 ? Value.V1 : Value.V0);
+            enable[i] = new Wire(Value.V0);
+            Bufif1.inst(bus, data[i], enable[i]);
+        }
+        bus.setContention(net -> System.out.println("  contention on the bus, " + net.getEnabled() + " drivers enabled"));
+        PropagateManager.propagateParallel(data[0], data);
+        PropagateManager.propagateParallel(enable[0], enable);
+        System.out.println("none enabled: " + bus + " " + bus.strength());
+
+        for (int i : new int[]{0, 1, 2, 3}) {
+            enable[i].assign(Value.V1);
+            PropagateManager.propagateParallel(enable[i]);
+            System.out.println("driver " + i + " enabled: " + bus + " " + bus.strength() + ", " + bus.getEnabled() + " enabled");
+            enable[i].assign(Value.V0);
+            PropagateManager.propagateParallel(enable[i]);
+        }
+        enable[3].assign(Value.V1);
+        enable[6].assign(Value.V1);
+        PropagateManager.propagateParallel(enable[3], enable[6]);
+        System.out.println("drivers 3, 6 enabled: " + bus + " " + bus.strength() + ", " + bus.getEnabled() + " enabled");
+        enable[7].assign(Value.V1);
+        PropagateManager.propagateParallel(enable[7]);
+        System.out.println("drivers 3, 6, 7 enabled: " + bus + " " + bus.strength() + ", contended " + bus.isContended());
+        enable[7].assign(Value.V0);
+        PropagateManager.propagateParallel(enable[7]);
+        System.out.println("drivers 3, 6 enabled: " + bus + " " + bus.strength() + ", contended " + bus.isContended());
+    }
+}
@@ -27,7 +27,27 @@
 // THE POSSIBILITY OF SUCH DAMAGE.
 package org.jchdl.model.gsl.core.gate.tri;
 
-// NOT implemented
-public class Notif0 {
+import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.value.TruthTable;
 
-}
\ No newline at end of file
+// drives the inverse of in while the control is 0, z otherwise
+public class Notif0 extends GateTri {
+
+    public Notif0(Wire out, Wire in, Wire control) {
+        super(out, in, control);
+    }
+
+    @Override
+    protected int[] table() {
+        return TruthTable.NOTIF0;
+    }
+
+    @Override
+    public String primitive() {
+        return "notif0";
+    }
+
+    public static Notif0 inst(Wire out, Wire in, Wire control) {
+        return new Notif0(out, in, control);
+    }
+}
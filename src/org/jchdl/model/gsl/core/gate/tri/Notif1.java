@@ -27,7 +27,27 @@
 // THE POSSIBILITY OF SUCH DAMAGE.
 package org.jchdl.model.gsl.core.gate.tri;
 
-// NOT implemented
-public class Notif1 {
+import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.value.TruthTable;
 
-}
\ No newline at end of file
+// drives the inverse of in while the control is 1, z otherwise
+public class Notif1 extends GateTri {
+
+    public Notif1(Wire out, Wire in, Wire control) {
+        super(out, in, control);
+    }
+
+    @Override
+    protected int[] table() {
+        return TruthTable.NOTIF1;
+    }
+
+    @Override
+    public String primitive() {
+        return "notif1";
+    }
+
+    public static Notif1 inst(Wire out, Wire in, Wire control) {
+        return new Notif1(out, in, control);
+    }
+}
@@ -29,7 +29,6 @@ package org.jchdl.model.gsl.core.io;
 
 import org.jchdl.model.gsl.core.meta.Port;
 import org.jchdl.model.gsl.core.meta.Propagatable;
-import org.jchdl.model.gsl.core.meta.PropagateManager;
 
 public class Input extends Port {
     public Input(Propagatable owner) {
@@ -49,7 +48,7 @@ public class Input extends Port {
     @Override
     public void propagate(int steps) {
         if (steps == 0) {
-            PropagateManager.add(this);
+            context.add(this);
             return;
         }
 
@@ -27,7 +27,25 @@
 // THE POSSIBILITY OF SUCH DAMAGE.
 package org.jchdl.model.gsl.core.meta;
 
+import org.jchdl.model.gsl.core.delay.Delay;
+import org.jchdl.model.gsl.core.strength.Strength0;
+import org.jchdl.model.gsl.core.strength.Strength1;
+import org.jchdl.model.gsl.core.strength.Strong0;
+import org.jchdl.model.gsl.core.strength.Strong1;
+
 public abstract class AtomicNode extends Node {
+    // set while queued in SimulationContext, to evaluate a gate only once per delta.
+    boolean scheduled = false;
+    // null for zero delay, otherwise new output values are scheduled on the timing wheel
+    Delay delay = null;
+
+    public Delay getDelay() {
+        return delay;
+    }
+
+    public void setDelay(Delay delay) {
+        this.delay = delay;
+    }
 
     // make this method final, to stop override by sub-classes.
     @Override
@@ -42,15 +60,33 @@ public abstract class AtomicNode extends Node {
     // atomic nodes should be a verilog primitive
     public abstract String primitive();
 
+    // strengths of the outputs on a ResolvedNet, fixed when the outputs are connected
+    public Strength0 strength0() {
+        return Strong0.inst();
+    }
+
+    public Strength1 strength1() {
+        return Strong1.inst();
+    }
+
+    // inputs changed: evaluate through the worklist instead of recursing into fan-outs
     @Override
     public void propagate() {
-        atomic();
-        propagateOutputs();
+        getContext().schedule(this);
     }
 
     @Override
     public void propagate(int steps) {
-        atomic();
+        if (steps == 1 && getContext().defer(this)) {
+            return;
+        }
+        if (Profiler.ENABLED) {
+            long start = System.nanoTime();
+            atomic();
+            profile.evaluated(0, System.nanoTime() - start);
+        } else {
+            atomic();
+        }
         propagateOutputs(--steps);
     }
 }
@@ -30,16 +30,23 @@ package org.jchdl.model.gsl.core.meta;
 import org.jchdl.vc.gsl.GslVerilogConverter;
 import org.jchdl.model.gsl.core.io.Input;
 import org.jchdl.model.gsl.core.io.Output;
+import org.jchdl.model.gsl.core.netlist.Template;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 
 public abstract class Node implements Propagatable {
     private String name;
-    private ArrayList<Net> netI = new ArrayList<>(16);
-    private ArrayList<Net> netO = new ArrayList<>(16);
+    private SimulationContext context = SimulationContext.current();
+    // the nets given at construction, dropped by releaseNets(), see netlist.Netlist.freeze
+    private ArrayList<Net> netI = new ArrayList<>(4);
+    private ArrayList<Net> netO = new ArrayList<>(2);
     private Input[] ioI;
     private Output[] ioO;
+    // set once the inside of the node is collapsed, see netlist.Compaction
+    private boolean compacted;
+    // null unless Profiler.ENABLED
+    NodeProfile profile = Profiler.ENABLED ? Profiler.register(this) : null;
 
     protected void in(Net net) {
         netI.add(net);
@@ -118,8 +125,20 @@ public abstract class Node implements Propagatable {
     protected void construct() {
         // -1. the logic diffs according to the number of input wires
         prepare();
-        // 0. construct logic first
-        logic();
+        // 0. construct logic first, or copy it from an identical node built before
+        if (Profiler.ENABLED) {
+            Profiler.enter(this);
+        }
+        try {
+            if (!Template.instantiate(this)) {
+                logic();
+                Template.record(this);
+            }
+        } finally {
+            if (Profiler.ENABLED) {
+                Profiler.exit();
+            }
+        }
         // 1. connect node ports to external wires then
         connect();
     }
@@ -138,6 +157,12 @@ public abstract class Node implements Propagatable {
 
     public abstract void logic();
 
+    // what shapes logic() besides the class and the numbers of ports, e.g. the operand width.
+    // null if logic() must run for every node, see netlist.Template
+    public Object templateKey() {
+        return null;
+    }
+
     public void connect() {
         for (int i = 0; i < netI.size(); i++) {
             Net net = netI.get(i);
@@ -151,6 +176,12 @@ public abstract class Node implements Propagatable {
         }
     }
 
+    // the nets given at construction are not needed once connected
+    public void releaseNets() {
+        netI = null;
+        netO = null;
+    }
+
     public String getName() {
         return name;
     }
@@ -159,6 +190,18 @@ public abstract class Node implements Propagatable {
         this.name = name;
     }
 
+    public SimulationContext getContext() {
+        return context;
+    }
+
+    public boolean isCompacted() {
+        return compacted;
+    }
+
+    public void setCompacted(boolean compacted) {
+        this.compacted = compacted;
+    }
+
     public Input[] getInputs() {
         return ioI;
     }
@@ -202,6 +245,9 @@ public abstract class Node implements Propagatable {
     }
 
     public void toVerilog() {
+        if (compacted) {
+            throw new IllegalStateException("the hierarchy of a compacted node is gone, export it before compaction and with templates disabled");
+        }
         GslVerilogConverter.translate(this);
     }
 }
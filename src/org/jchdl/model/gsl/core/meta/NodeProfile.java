@@ -0,0 +1,119 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.core.meta;
+
+// Activity of one node, or of all nodes of a class in a ProfileReport.
+// Counters of composite nodes include the activity of the nodes inside them.
+public class NodeProfile {
+    private Node node;
+    private NodeProfile parent;
+    private String name;
+    private long instances = 1;
+    long evaluations;
+    long toggles;
+    long fanouts;
+    long nanos;
+
+    NodeProfile(Node node, NodeProfile parent) {
+        this.node = node;
+        this.parent = parent;
+    }
+
+    NodeProfile(String name) {
+        this.name = name;
+        this.instances = 0;
+    }
+
+    Node getNode() {
+        return node;
+    }
+
+    NodeProfile getParent() {
+        return parent;
+    }
+
+    // evaluation of an atomic node
+    void evaluated(long toggles, long nanos) {
+        this.evaluations++;
+        this.toggles += toggles;
+        this.nanos += nanos;
+    }
+
+    void add(NodeProfile profile) {
+        evaluations += profile.evaluations;
+        toggles += profile.toggles;
+        fanouts += profile.fanouts;
+        nanos += profile.nanos;
+    }
+
+    void addInstance() {
+        instances++;
+    }
+
+    NodeProfile copy(String name) {
+        NodeProfile copy = new NodeProfile(name);
+        copy.instances = instances;
+        copy.add(this);
+        return copy;
+    }
+
+    // node class, or hierarchical name of a node such as Mul_8.Add_16_0.FullAdder_3
+    public String getName() {
+        return name;
+    }
+
+    public long getInstances() {
+        return instances;
+    }
+
+    // atomic nodes evaluated
+    public long getEvaluations() {
+        return evaluations;
+    }
+
+    // outputs of atomic nodes changed
+    public long getToggles() {
+        return toggles;
+    }
+
+    // downstream ports updated from the ports of the node
+    public long getFanouts() {
+        return fanouts;
+    }
+
+    // time spent evaluating atomic nodes
+    public long getNanos() {
+        return nanos;
+    }
+
+    @Override
+    public String toString() {
+        return name + ": instances: " + instances + ", evaluations: " + evaluations + ", toggles: " + toggles
+                + ", fan-outs: " + fanouts + ", time: " + nanos / 1000 + " us";
+    }
+}
@@ -0,0 +1,79 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.core.meta;
+
+import java.util.List;
+
+// Thrown when a propagation does not settle: the values keep changing around a loop,
+// such as a ring of inverters or an SR latch released from set and reset at once.
+public class OscillationException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private static final int MAX_NETS_REPORTED = 16;
+
+    private final List<String> nets;
+    private final long waves;
+    private final int period;
+
+    public OscillationException(List<String> nets, long waves, int period) {
+        super(message(nets, waves, period));
+        this.nets = nets;
+        this.waves = waves;
+        this.period = period;
+    }
+
+    private static String message(List<String> nets, long waves, int period) {
+        StringBuilder sb = new StringBuilder("no convergence after " + waves + " waves");
+        if (period > 0) {
+            sb.append(", state repeats every ").append(period).append(" waves");
+        }
+        sb.append(", oscillating nets: ");
+        for (int i = 0; i < nets.size() && i < MAX_NETS_REPORTED; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(nets.get(i));
+        }
+        if (nets.size() > MAX_NETS_REPORTED) {
+            sb.append(", ... (").append(nets.size()).append(" nets)");
+        }
+        return sb.toString();
+    }
+
+    // names of the nets toggling within one period
+    public List<String> getNets() {
+        return nets;
+    }
+
+    public long getWaves() {
+        return waves;
+    }
+
+    // 0 if the delta limit was reached without finding a repeating state
+    public int getPeriod() {
+        return period;
+    }
+}
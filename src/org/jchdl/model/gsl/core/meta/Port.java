@@ -27,31 +27,82 @@
 // THE POSSIBILITY OF SUCH DAMAGE.
 package org.jchdl.model.gsl.core.meta;
 
+import org.jchdl.model.gsl.core.value.SignalStore;
 import org.jchdl.model.gsl.core.value.Value;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 
 // Note: One output port can driver multiple input ports.
+// The downstream ports are kept in an array grown as they connect, trimmed by freeze().
 public abstract class Port implements Propagatable {
-    public Value value = new Value(Value.VALUE_X);
+    private static final Port[] NONE = new Port[0];
+
+    // null if the value is kept in the SignalStore of the context, use get()/set() instead.
+    public Value value;
+    private SignalStore store;
+    private int signal;
+    // transition scheduled on the timing wheel of the context, -1 if none
+    int pending = -1;
     private Port upstream;
-    private ArrayList<Port> downstreams = new ArrayList<>(16);
+    private Port[] downstreams = NONE;
+    private int nDownstreams;
     protected Propagatable owner;
+    protected SimulationContext context = SimulationContext.current();
 
     public Port(Propagatable owner) {
         this.owner = owner;
+        this.store = context.getSignalStore();
+        if (store != null) {
+            this.signal = store.allocate();
+        } else {
+            this.value = new Value(Value.VALUE_X);
+        }
+    }
+
+    public int get() {
+        return store == null ? value.v : store.get(signal);
+    }
+
+    public void set(int v) {
+        if (store == null) {
+            value.v = v;
+        } else {
+            store.set(signal, v);
+        }
+    }
+
+    // null if the port holds its own Value
+    public SignalStore getStore() {
+        return store;
+    }
+
+    // id in the SignalStore, -1 if the port holds its own Value
+    public int getSignal() {
+        return store == null ? -1 : signal;
     }
 
     public Propagatable getOwner() {
         return owner;
     }
 
+    public SimulationContext getContext() {
+        return context;
+    }
+
     public Port getDownstream(int i) {
-        return downstreams.get(i);
+        if (i >= nDownstreams) {
+            throw new IndexOutOfBoundsException("downstream " + i + " of " + nDownstreams);
+        }
+        return downstreams[i];
     }
 
-    public ArrayList<Port> getDownstreams() {
-        return downstreams;
+    public int nDownstreams() {
+        return nDownstreams;
+    }
+
+    // the connected ports, not to be modified. a copy until the port is frozen
+    public Port[] getDownstreams() {
+        return nDownstreams == downstreams.length ? downstreams : Arrays.copyOf(downstreams, nDownstreams);
     }
 
     public Port getUpstream() {
@@ -65,28 +116,55 @@ public abstract class Port implements Propagatable {
     // direction:
     // upstream ---connect---> downstream
     public void connect(Port port) {
-        downstreams.add(port);
+        if (nDownstreams == downstreams.length) {
+            downstreams = Arrays.copyOf(downstreams, Math.max(2 * nDownstreams, 1));
+        }
+        downstreams[nDownstreams++] = port;
         port.setUpstream(this);
     }
 
+    public void disconnectDownstreams() {
+        downstreams = NONE;
+        nDownstreams = 0;
+    }
+
+    // drops the room left for ports to come, once elaborated
+    public void freeze() {
+        if (nDownstreams != downstreams.length) {
+            downstreams = Arrays.copyOf(downstreams, nDownstreams);
+        }
+    }
+
     // in ports of AtomicNode has no downstream ports.
     public boolean hasNoDownstreams() {
-        return downstreams.isEmpty();
+        return nDownstreams == 0;
     }
 
     protected void propagateDownstreams() {
-        for (Port p : downstreams) {
-            if (!p.value.equals(value)) {
-                p.value.v = value.v;
+        Port[] downstreams = this.downstreams;
+        for (int i = 0, n = nDownstreams; i < n; i++) {
+            Port p = downstreams[i];
+            int v = get();
+            if (p.get() != v) {
+                if (Profiler.ENABLED) {
+                    Profiler.fanout(this);
+                }
+                p.set(v);
                 p.propagate();
             }
         }
     }
 
     protected void propagateDownstreams(int steps) {
-        for (Port p : downstreams) {
-            if (!p.value.equals(value)) {
-                p.value.v = value.v;
+        Port[] downstreams = this.downstreams;
+        for (int i = 0, n = nDownstreams; i < n; i++) {
+            Port p = downstreams[i];
+            int v = get();
+            if (p.get() != v) {
+                if (Profiler.ENABLED) {
+                    Profiler.fanout(this);
+                }
+                p.set(v);
                 p.propagate(steps);
             }
         }
@@ -0,0 +1,152 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.core.meta;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+// Copy of the profiler counters, by node class and by node, both sorted by cost.
+// Cost is the time spent evaluating atomic nodes, then the number of evaluations.
+public class ProfileReport {
+    private static final String PACKAGE = "org.jchdl.model.gsl.";
+    private static final Comparator<NodeProfile> COST = (a, b) -> a.getNanos() != b.getNanos()
+            ? Long.compare(b.getNanos(), a.getNanos())
+            : Long.compare(b.getEvaluations(), a.getEvaluations());
+
+    private ArrayList<NodeProfile> classes;
+    private ArrayList<NodeProfile> nodes;
+    private PropagateProfile propagation;
+
+    ProfileReport(List<NodeProfile> profiles, PropagateProfile propagation) {
+        this.propagation = propagation;
+        // parents are constructed before the nodes inside them
+        IdentityHashMap<NodeProfile, NodeProfile> copies = new IdentityHashMap<>(profiles.size());
+        IdentityHashMap<NodeProfile, HashMap<String, Integer>> counts = new IdentityHashMap<>(64);
+        HashMap<String, Integer> roots = new HashMap<>(16);
+        nodes = new ArrayList<>(profiles.size());
+        for (NodeProfile profile : profiles) {
+            NodeProfile parent = profile.getParent();
+            HashMap<String, Integer> siblings = parent == null ? roots : counts.computeIfAbsent(parent, p -> new HashMap<>(16));
+            String name = name(profile.getNode());
+            int count = siblings.getOrDefault(name, 0);
+            siblings.put(name, count + 1);
+            name = name + "_" + count;
+            if (parent != null) {
+                name = copies.get(parent).getName() + "." + name;
+            }
+            NodeProfile copy = profile.copy(name);
+            copies.put(profile, copy);
+            nodes.add(copy);
+        }
+        for (int i = profiles.size() - 1; i >= 0; i--) {
+            NodeProfile parent = profiles.get(i).getParent();
+            if (parent != null) {
+                copies.get(parent).add(nodes.get(i));
+            }
+        }
+
+        LinkedHashMap<String, NodeProfile> byClass = new LinkedHashMap<>(64);
+        for (int i = 0; i < profiles.size(); i++) {
+            String name = profiles.get(i).getNode().getClass().getName();
+            if (name.startsWith(PACKAGE)) {
+                name = name.substring(PACKAGE.length());
+            }
+            NodeProfile row = byClass.computeIfAbsent(name, NodeProfile::new);
+            row.addInstance();
+            row.add(nodes.get(i));
+        }
+        classes = new ArrayList<>(byClass.values());
+        Collections.sort(classes, COST);
+        Collections.sort(nodes, COST);
+    }
+
+    private static String name(Node node) {
+        String name = node.getName();
+        return name != null ? name : node.getClass().getSimpleName();
+    }
+
+    public List<NodeProfile> getClasses() {
+        return classes;
+    }
+
+    public List<NodeProfile> getNodes() {
+        return nodes;
+    }
+
+    public PropagateProfile getPropagation() {
+        return propagation;
+    }
+
+    // the costliest classes and nodes
+    public String toString(int top) {
+        StringBuilder sb = new StringBuilder(4096);
+        sb.append(propagation).append('\n');
+        sb.append(String.format("%12s %12s %12s %12s %10s  %s%n", "time us", "evaluations", "toggles", "fan-outs", "instances", "class"));
+        for (int i = 0; i < classes.size() && i < top; i++) {
+            NodeProfile row = classes.get(i);
+            sb.append(String.format("%12d %12d %12d %12d %10d  %s%n", row.getNanos() / 1000, row.getEvaluations(),
+                    row.getToggles(), row.getFanouts(), row.getInstances(), row.getName()));
+        }
+        sb.append(String.format("%12s %12s %12s %12s %10s  %s%n", "time us", "evaluations", "toggles", "fan-outs", "", "node"));
+        for (int i = 0; i < nodes.size() && i < top; i++) {
+            NodeProfile row = nodes.get(i);
+            sb.append(String.format("%12d %12d %12d %12d %10s  %s%n", row.getNanos() / 1000, row.getEvaluations(),
+                    row.getToggles(), row.getFanouts(), "", row.getName()));
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return toString(20);
+    }
+
+    // one line per class, then one per node
+    public String toCsv() {
+        StringBuilder sb = new StringBuilder(64 * (classes.size() + nodes.size() + 1));
+        sb.append("kind,name,instances,evaluations,toggles,fanouts,nanos\n");
+        for (NodeProfile row : classes) {
+            csv(sb, "class", row);
+        }
+        for (NodeProfile row : nodes) {
+            csv(sb, "node", row);
+        }
+        return sb.toString();
+    }
+
+    private static void csv(StringBuilder sb, String kind, NodeProfile row) {
+        sb.append(kind).append(',').append(row.getName()).append(',').append(row.getInstances())
+                .append(',').append(row.getEvaluations()).append(',').append(row.getToggles())
+                .append(',').append(row.getFanouts()).append(',').append(row.getNanos()).append('\n');
+    }
+}
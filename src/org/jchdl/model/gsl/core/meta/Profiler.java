@@ -0,0 +1,100 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.core.meta;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+
+// Activity counters of nodes and propagations, off unless the JVM runs with -Djchdl.gsl.profile=true.
+// ENABLED is a constant, so the hooks are folded away by the JIT when profiling is off
+// and nodes do not carry any profile.
+// Nodes are kept reachable by the profiler once profiled, until clear().
+// Counters updated from the workers of sliced waves are approximate.
+public class Profiler {
+    public static final boolean ENABLED = Boolean.getBoolean("jchdl.gsl.profile");
+
+    private static final ArrayList<NodeProfile> profiles = new ArrayList<>(1024);
+    // nodes running logic(), the nodes constructed meanwhile are inside them
+    private static final ThreadLocal<ArrayDeque<NodeProfile>> CONSTRUCTING = ThreadLocal.withInitial(() -> new ArrayDeque<>(16));
+    private static final PropagateProfile propagation = new PropagateProfile();
+
+    static synchronized NodeProfile register(Node node) {
+        NodeProfile profile = new NodeProfile(node, CONSTRUCTING.get().peek());
+        profiles.add(profile);
+        return profile;
+    }
+
+    static void enter(Node node) {
+        CONSTRUCTING.get().push(node.profile);
+    }
+
+    static void exit() {
+        CONSTRUCTING.get().pop();
+    }
+
+    // a downstream port updated from port
+    static void fanout(Port port) {
+        Propagatable owner = port.getOwner();
+        if (owner instanceof Node) {
+            ((Node) owner).profile.fanouts++;
+        } else {
+            propagation.fanouts++;
+        }
+    }
+
+    static synchronized void propagated(long waves, long depth, long nanos) {
+        propagation.add(waves, depth, nanos);
+    }
+
+    // zero all counters, the profiled nodes are kept
+    public static synchronized void reset() {
+        for (NodeProfile profile : profiles) {
+            profile.evaluations = 0;
+            profile.toggles = 0;
+            profile.fanouts = 0;
+            profile.nanos = 0;
+        }
+        propagation.propagations = 0;
+        propagation.waves = 0;
+        propagation.maxWaves = 0;
+        propagation.maxDepth = 0;
+        propagation.nanos = 0;
+        propagation.maxNanos = 0;
+        propagation.fanouts = 0;
+    }
+
+    // forget all nodes constructed so far
+    public static synchronized void clear() {
+        profiles.clear();
+        reset();
+    }
+
+    public static synchronized ProfileReport snapshot() {
+        return new ProfileReport(profiles, propagation.copy());
+    }
+}
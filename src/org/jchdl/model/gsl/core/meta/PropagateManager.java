@@ -27,46 +27,39 @@
 // THE POSSIBILITY OF SUCH DAMAGE.
 package org.jchdl.model.gsl.core.meta;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-
+// Propagation on the current SimulationContext of the calling thread.
 public class PropagateManager {
-    private static ArrayList<Propagatable> propagatables = new ArrayList<>(128);
 
     public static void add(Propagatable p1, Propagatable... ps) {
-        propagatables.add(p1);
-        propagatables.addAll(Arrays.asList(ps));
+        SimulationContext.current().add(p1, ps);
     }
 
     public static void propagate() {
-        for (Propagatable propagatable : propagatables) {
-            propagatable.propagate();
-        }
+        SimulationContext.current().propagate();
     }
 
     // steps >= 1
     public static void propagate(int steps) {
-        assert steps >= 1;
-        ArrayList<Propagatable> ps = new ArrayList<>(propagatables);
-        propagatables.clear();
-        for (Propagatable propagatable : ps) {
-            propagatable.propagate(steps);
-        }
+        SimulationContext.current().propagate(steps);
     }
 
     public static void propagateParallel() {
-        while (!propagatables.isEmpty()) {
-            ArrayList<Propagatable> ps = new ArrayList<>(propagatables);
-            propagatables.clear();
-            for (Propagatable p : ps) {
-                p.propagate(1);
-            }
-        }
+        SimulationContext.current().propagateParallel();
     }
 
     public static void propagateParallel(Propagatable p1, Propagatable... ps) {
-        assert propagatables.size() == 0;
-        add(p1, ps);
-        propagateParallel();
+        SimulationContext.current().propagateParallel(p1, ps);
+    }
+
+    public static long getTime() {
+        return SimulationContext.current().getTime();
+    }
+
+    public static void runUntil(long time) {
+        SimulationContext.current().runUntil(time);
+    }
+
+    public static void run(long duration) {
+        SimulationContext.current().run(duration);
     }
 }
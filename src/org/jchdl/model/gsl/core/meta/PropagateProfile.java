@@ -0,0 +1,98 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.core.meta;
+
+// Activity of all propagations since the profiler was reset.
+public class PropagateProfile {
+    long propagations;
+    long waves;
+    long maxWaves;
+    long maxDepth;
+    long nanos;
+    long maxNanos;
+    // downstream ports updated from ports outside of nodes, i.e. wires
+    long fanouts;
+
+    void add(long waves, long depth, long nanos) {
+        this.propagations++;
+        this.waves += waves;
+        this.maxWaves = Math.max(this.maxWaves, waves);
+        this.maxDepth = Math.max(this.maxDepth, depth);
+        this.nanos += nanos;
+        this.maxNanos = Math.max(this.maxNanos, nanos);
+    }
+
+    PropagateProfile copy() {
+        PropagateProfile copy = new PropagateProfile();
+        copy.propagations = propagations;
+        copy.waves = waves;
+        copy.maxWaves = maxWaves;
+        copy.maxDepth = maxDepth;
+        copy.nanos = nanos;
+        copy.maxNanos = maxNanos;
+        copy.fanouts = fanouts;
+        return copy;
+    }
+
+    public long getPropagations() {
+        return propagations;
+    }
+
+    // delta waves of all propagations, see PropagateStatistics.getWaves()
+    public long getWaves() {
+        return waves;
+    }
+
+    public long getMaxWaves() {
+        return maxWaves;
+    }
+
+    // widest wave of propagateParallel(), or longest worklist of deep-first propagation
+    public long getMaxDepth() {
+        return maxDepth;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    public long getFanouts() {
+        return fanouts;
+    }
+
+    @Override
+    public String toString() {
+        return "propagations: " + propagations + ", waves: " + waves + " (max " + maxWaves + ")"
+                + ", max depth: " + maxDepth + ", time: " + nanos / 1000 + " us (max " + maxNanos / 1000 + " us)"
+                + ", wire fan-outs: " + fanouts;
+    }
+}
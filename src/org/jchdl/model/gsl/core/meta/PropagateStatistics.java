@@ -0,0 +1,79 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.core.meta;
+
+// Counters of one propagation, or of all propagations of a context.
+public class PropagateStatistics {
+    private long waves;
+    private long evaluations;
+    private long toggles;
+
+    // waves of wide-first propagation, rounds of the deep-first worklist
+    public long getWaves() {
+        return waves;
+    }
+
+    // gates evaluated
+    public long getEvaluations() {
+        return evaluations;
+    }
+
+    // gate outputs changed
+    public long getToggles() {
+        return toggles;
+    }
+
+    void addWaves(long waves) {
+        this.waves += waves;
+    }
+
+    void addEvaluations(long evaluations) {
+        this.evaluations += evaluations;
+    }
+
+    void addToggles(long toggles) {
+        this.toggles += toggles;
+    }
+
+    void add(PropagateStatistics statistics) {
+        waves += statistics.waves;
+        evaluations += statistics.evaluations;
+        toggles += statistics.toggles;
+    }
+
+    void reset() {
+        waves = 0;
+        evaluations = 0;
+        toggles = 0;
+    }
+
+    @Override
+    public String toString() {
+        return "waves: " + waves + ", evaluations: " + evaluations + ", toggles: " + toggles;
+    }
+}
@@ -0,0 +1,795 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.core.meta;
+
+import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.delay.Corner;
+import org.jchdl.model.gsl.core.delay.TimingWheel;
+import org.jchdl.model.gsl.core.io.Output;
+import org.jchdl.model.gsl.core.netlist.Template;
+import org.jchdl.model.gsl.core.value.SignalStore;
+import org.jchdl.model.gsl.core.value.Value;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Owns the propagation queues of one gate-level simulation.
+// Nodes, Wires and ports are bound to the current context of the thread constructing them,
+// and queue their events there. Independent netlists bound to different contexts
+// can be driven concurrently, one thread per context.
+public class SimulationContext {
+    private static final SimulationContext DEFAULT = new SimulationContext();
+    private static final ThreadLocal<SimulationContext> CURRENT = new ThreadLocal<>();
+    // slice of a parallel wave handled by the calling worker thread
+    private static final ThreadLocal<Slice> SLICE = new ThreadLocal<>();
+    private static final int MIN_SLICE_SIZE = 256;
+
+    private ArrayList<Propagatable> propagatables = new ArrayList<>(128);
+
+    // deep-first propagation: gates waiting to be evaluated.
+    // a gate is queued only once however many of its inputs change,
+    // and the queue is drained iteratively instead of recursively.
+    private ArrayDeque<AtomicNode> events = new ArrayDeque<>(128);
+    private boolean evaluating = false;
+
+    // wide-first propagation: gates whose inputs changed in the current wave.
+    // they are evaluated once at the end of the wave.
+    private ArrayList<AtomicNode> deferred = new ArrayList<>(128);
+    private boolean waving = false;
+    // outputs of a gate before its evaluation, see evaluate
+    private int[] before = new int[8];
+
+    // waves at least parallelThreshold wide are split into slices evaluated on the pool.
+    // queued ports and deferred gates are collected per slice and merged in slice order,
+    // so the next wave is exactly the same as with a single thread.
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+    private int parallelThreshold = 4096;
+    private boolean slicing = false;
+
+    // values of the ports constructed while set, instead of a Value per port
+    private SignalStore signalStore = null;
+
+    // nodes constructed while templating are copied from the templates recorded in this context
+    private boolean templating = false;
+    private HashMap<List<Object>, Template> templates = new HashMap<>(64);
+    // operators constructed as word-level nodes, see operator.WordLevel
+    private boolean wordLevel = false;
+    // sequential cells constructed as behavioral primitives, see sequential.Sequential
+    private boolean behavioral = false;
+    // n-input gates constructed as trees of 2-input gates, see gate.ni.GateNi
+    private boolean decomposed = false;
+    // memory storage created 4-state, see memory.Storage
+    private boolean xTracking = true;
+
+    // a propagation still changing values after deltaLimit waves does not converge.
+    // waves beyond settleWaves are hashed to find a repeating state well before the limit.
+    private int deltaLimit = 100000;
+    private int settleWaves = 1000;
+    private boolean propagating = false;
+    // start and widest wave or longest worklist of the propagation, while Profiler.ENABLED
+    private long profileStart;
+    private long profileDepth;
+    private PropagateStatistics statistics = new PropagateStatistics();
+    private PropagateStatistics total = new PropagateStatistics();
+
+    // oscillation detection: hash of the gate outputs changed since tracking began,
+    // hash of the outputs toggled in the current wave, and the wave each signature was seen in.
+    private boolean tracking = false;
+    private long stateHash;
+    private long toggleHash;
+    private HashMap<Long, Long> signatures;
+    // once oscillation is detected, one more period of waves collects the toggling ports
+    private boolean diagnosing = false;
+    private int diagnoseWaves;
+    private int period;
+    private LinkedHashSet<Port> toggled;
+
+    private static final int MAX_SIGNATURES = 1 << 16;
+    private static final int DIAGNOSE_WAVES = 64;
+
+    // timed simulation: transitions of delayed gates and wires wait on the wheel,
+    // with the delays of the selected corner
+    private TimingWheel wheel = new TimingWheel();
+    private Corner corner = Corner.TYP;
+
+    private static class Slice {
+        private ArrayList<Propagatable> propagatables = new ArrayList<>(MIN_SLICE_SIZE);
+        private ArrayList<AtomicNode> deferred = new ArrayList<>(MIN_SLICE_SIZE);
+        private long evaluations;
+        private long toggles;
+        private int[] before = new int[8];
+    }
+
+    // context of the calling thread, the default context if none is set
+    public static SimulationContext current() {
+        SimulationContext context = CURRENT.get();
+        return context != null ? context : DEFAULT;
+    }
+
+    // null restores the default context
+    public static void setCurrent(SimulationContext context) {
+        if (context == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(context);
+        }
+    }
+
+    // ports constructed from now on keep their values in the store, null to stop using it
+    public void setSignalStore(SignalStore signalStore) {
+        this.signalStore = signalStore;
+    }
+
+    public SignalStore getSignalStore() {
+        return signalStore;
+    }
+
+    public boolean isTemplating() {
+        return templating;
+    }
+
+    // see netlist.Template: nodes copied from templates cannot be exported to Verilog
+    public void setTemplating(boolean templating) {
+        this.templating = templating;
+    }
+
+    public HashMap<List<Object>, Template> getTemplates() {
+        return templates;
+    }
+
+    public boolean isWordLevel() {
+        return wordLevel;
+    }
+
+    public void setWordLevel(boolean wordLevel) {
+        this.wordLevel = wordLevel;
+    }
+
+    public boolean isBehavioral() {
+        return behavioral;
+    }
+
+    public void setBehavioral(boolean behavioral) {
+        this.behavioral = behavioral;
+    }
+
+    public boolean isDecomposed() {
+        return decomposed;
+    }
+
+    public void setDecomposed(boolean decomposed) {
+        this.decomposed = decomposed;
+    }
+
+    public boolean isXTracking() {
+        return xTracking;
+    }
+
+    public void setXTracking(boolean xTracking) {
+        this.xTracking = xTracking;
+    }
+
+    // null to evaluate every wave on the calling thread
+    public void setForkJoinPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public ForkJoinPool getForkJoinPool() {
+        return pool;
+    }
+
+    public void setParallelThreshold(int parallelThreshold) {
+        this.parallelThreshold = Math.max(1, parallelThreshold);
+    }
+
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    public void setDeltaLimit(int deltaLimit) {
+        this.deltaLimit = Math.max(1, deltaLimit);
+    }
+
+    public int getDeltaLimit() {
+        return deltaLimit;
+    }
+
+    // waves before oscillation detection starts
+    public void setSettleWaves(int settleWaves) {
+        this.settleWaves = Math.max(0, settleWaves);
+    }
+
+    public int getSettleWaves() {
+        return settleWaves;
+    }
+
+    // statistics of the last propagation
+    public PropagateStatistics getStatistics() {
+        return statistics;
+    }
+
+    // statistics of all propagations of this context
+    public PropagateStatistics getTotalStatistics() {
+        return total;
+    }
+
+    public Corner getCorner() {
+        return corner;
+    }
+
+    public void setCorner(Corner corner) {
+        this.corner = corner;
+    }
+
+    // simulation time, advanced by runUntil()
+    public long getTime() {
+        return wheel.now();
+    }
+
+    // time of the next scheduled transition, Long.MAX_VALUE if there is none
+    public long getNextTime() {
+        return wheel.nextTime();
+    }
+
+    // schedules port to take value after delay, true if it took the value at once.
+    // a pending transition of the port to another value is cancelled:
+    // pulses shorter than the delay are swallowed (inertial delay).
+    public boolean transition(Port port, int value, long delay) {
+        if (slicing) {
+            synchronized (wheel) {
+                return transitionOnWheel(port, value, delay);
+            }
+        }
+        return transitionOnWheel(port, value, delay);
+    }
+
+    private boolean transitionOnWheel(Port port, int value, long delay) {
+        if (port.pending >= 0) {
+            if (wheel.value(port.pending) == value) {
+                return false;
+            }
+            wheel.cancel(port.pending);
+            port.pending = -1;
+        }
+        if (port.get() == value) {
+            return false;
+        }
+        if (delay <= 0) {
+            port.set(value);
+            return true;
+        }
+        port.pending = wheel.schedule(wheel.now() + delay, port, value);
+        return false;
+    }
+
+    // advances the simulation time to time. the transitions due at each time are applied together,
+    // then propagated to a stable state in delta cycles before time moves on.
+    public void runUntil(long time) {
+        // values assigned since the last propagation settle at the current time first
+        if (!propagatables.isEmpty()) {
+            propagateParallel();
+        }
+        long next;
+        while ((next = wheel.nextTime()) <= time) {
+            wheel.advanceTo(next);
+            int id;
+            long toggles = 0;
+            while ((id = wheel.poll()) >= 0) {
+                Port port = wheel.port(id);
+                int value = wheel.value(id);
+                wheel.free(id);
+                port.pending = -1;
+                if (port.get() != value) {
+                    monitor(port, value);
+                    port.set(value);
+                    toggles++;
+                    add(port);
+                }
+                if (port.getOwner() instanceof Generator) {
+                    ((Generator) port.getOwner()).transitioned(port, value);
+                }
+            }
+            total.addToggles(toggles);
+            propagateParallel();
+        }
+        if (time > wheel.now()) {
+            wheel.advanceTo(time);
+        }
+    }
+
+    // a delayed wire reaches its loads through the wheel instead of Wire.propagate()
+    private static void monitor(Port port, int value) {
+        Propagatable owner = port.getOwner();
+        if (owner instanceof Wire && ((Wire) owner).getMonitor() != null) {
+            ((Wire) owner).getMonitor().changed((Wire) owner, value);
+        }
+    }
+
+    public void run(long duration) {
+        runUntil(wheel.now() + duration);
+    }
+
+    public void add(Propagatable p) {
+        if (slicing) {
+            SLICE.get().propagatables.add(p);
+            return;
+        }
+        propagatables.add(p);
+    }
+
+    public void add(Propagatable p1, Propagatable... ps) {
+        add(p1);
+        for (Propagatable p : ps) {
+            add(p);
+        }
+    }
+
+    public void propagate() {
+        begin();
+        try {
+            for (Propagatable propagatable : propagatables) {
+                propagatable.propagate();
+            }
+        } finally {
+            end();
+        }
+    }
+
+    // steps >= 1
+    public void propagate(int steps) {
+        assert steps >= 1;
+        begin();
+        try {
+            ArrayList<Propagatable> ps = new ArrayList<>(propagatables);
+            propagatables.clear();
+            if (Profiler.ENABLED) {
+                profileDepth = ps.size();
+            }
+            wave(ps, steps);
+            endWave();
+        } finally {
+            end();
+        }
+    }
+
+    public void propagateParallel() {
+        begin();
+        try {
+            while (!propagatables.isEmpty()) {
+                ArrayList<Propagatable> ps = new ArrayList<>(propagatables);
+                propagatables.clear();
+                if (Profiler.ENABLED) {
+                    profileDepth = Math.max(profileDepth, ps.size());
+                }
+                wave(ps, 1);
+                endWave();
+            }
+        } finally {
+            end();
+        }
+    }
+
+    public void propagateParallel(Propagatable p1, Propagatable... ps) {
+        assert propagatables.size() == 0;
+        add(p1, ps);
+        propagateParallel();
+    }
+
+    private void wave(ArrayList<Propagatable> ps, int steps) {
+        // only one-step waves defer their gates, deeper ones would evaluate a gate from several slices
+        if (steps == 1 && !tracking && pool != null && pool.getParallelism() > 1 && ps.size() >= parallelThreshold) {
+            waveSliced(ps);
+            return;
+        }
+        waving = true;
+        try {
+            for (Propagatable p : ps) {
+                p.propagate(steps);
+            }
+        } finally {
+            waving = false;
+        }
+        // outputs of the deferred gates are queued for the next wave
+        for (AtomicNode node : deferred) {
+            node.scheduled = false;
+            evaluate(node, null);
+            node.propagateOutputs(0);
+        }
+        deferred.clear();
+    }
+
+    private void waveSliced(ArrayList<Propagatable> ps) {
+        // 0. propagate the wave, ports only forward values, gates are deferred
+        Slice[] slices = slice(ps.size());
+        fork(slices, ps.size(), (slice, from, to) -> {
+            for (int i = from; i < to; i++) {
+                ps.get(i).propagate(1);
+            }
+        });
+        for (Slice slice : slices) {
+            for (AtomicNode node : slice.deferred) {
+                if (!node.scheduled) {
+                    node.scheduled = true;
+                    deferred.add(node);
+                }
+            }
+            propagatables.addAll(slice.propagatables);
+        }
+
+        // 1. evaluate the deferred gates, each one only writes its own outputs
+        ArrayList<AtomicNode> nodes = new ArrayList<>(deferred);
+        deferred.clear();
+        slices = slice(nodes.size());
+        fork(slices, nodes.size(), (slice, from, to) -> {
+            for (int i = from; i < to; i++) {
+                AtomicNode node = nodes.get(i);
+                node.scheduled = false;
+                evaluate(node, slice);
+                node.propagateOutputs(0);
+            }
+        });
+        for (Slice slice : slices) {
+            propagatables.addAll(slice.propagatables);
+            statistics.addEvaluations(slice.evaluations);
+            statistics.addToggles(slice.toggles);
+        }
+    }
+
+    private Slice[] slice(int size) {
+        int nSlices = Math.min(pool.getParallelism() * 4, (size + MIN_SLICE_SIZE - 1) / MIN_SLICE_SIZE);
+        Slice[] slices = new Slice[Math.max(1, nSlices)];
+        for (int i = 0; i < slices.length; i++) {
+            slices[i] = new Slice();
+        }
+        return slices;
+    }
+
+    private interface SliceWork {
+        void run(Slice slice, int from, int to);
+    }
+
+    private void fork(Slice[] slices, int size, SliceWork work) {
+        RecursiveAction[] tasks = new RecursiveAction[slices.length];
+        for (int i = 0; i < slices.length; i++) {
+            Slice slice = slices[i];
+            int from = (int) ((long) size * i / slices.length);
+            int to = (int) ((long) size * (i + 1) / slices.length);
+            tasks[i] = new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    Slice previous = SLICE.get();
+                    SLICE.set(slice);
+                    try {
+                        work.run(slice, from, to);
+                    } finally {
+                        SLICE.set(previous);
+                    }
+                }
+            };
+        }
+        waving = true;
+        slicing = true;
+        if (signalStore != null) {
+            signalStore.setConcurrent(true);
+        }
+        try {
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(tasks);
+                }
+            });
+        } finally {
+            if (signalStore != null) {
+                signalStore.setConcurrent(false);
+            }
+            slicing = false;
+            waving = false;
+        }
+    }
+
+    // called by a gate reached with its last step within a wave.
+    // returns false if there is no wave running, the gate should be evaluated at once.
+    boolean defer(AtomicNode node) {
+        if (!waving) {
+            return false;
+        }
+        if (slicing) {
+            SLICE.get().deferred.add(node);
+            return true;
+        }
+        if (!node.scheduled) {
+            node.scheduled = true;
+            deferred.add(node);
+        }
+        return true;
+    }
+
+    // called by a gate whose input changed during deep-first propagation.
+    // the outermost call drains the queue, nested calls only enqueue.
+    void schedule(AtomicNode node) {
+        if (!node.scheduled) {
+            node.scheduled = true;
+            events.add(node);
+            if (Profiler.ENABLED) {
+                profileDepth = Math.max(profileDepth, events.size());
+            }
+        }
+        if (evaluating) {
+            return;
+        }
+        boolean outermost = !propagating;
+        if (outermost) {
+            begin();
+        }
+        evaluating = true;
+        try {
+            // gates queued by one round are evaluated in the next round
+            int round = events.size();
+            AtomicNode n;
+            while ((n = events.poll()) != null) {
+                n.scheduled = false;
+                evaluate(n, null);
+                n.propagateOutputs();
+                if (--round == 0) {
+                    round = events.size();
+                    endWave();
+                }
+            }
+        } finally {
+            evaluating = false;
+            if (outermost) {
+                end();
+            }
+        }
+    }
+
+    private void begin() {
+        propagating = true;
+        statistics.reset();
+        if (Profiler.ENABLED) {
+            profileStart = System.nanoTime();
+            profileDepth = 0;
+        }
+        tracking = false;
+        diagnosing = false;
+        signatures = null;
+        toggled = null;
+    }
+
+    private void end() {
+        propagating = false;
+        tracking = false;
+        signatures = null;
+        total.add(statistics);
+        if (Profiler.ENABLED) {
+            Profiler.propagated(statistics.getWaves(), profileDepth, System.nanoTime() - profileStart);
+        }
+    }
+
+    // evaluate a gate, counting the outputs it changes.
+    // slice is null unless evaluated on a worker of a sliced wave.
+    private void evaluate(AtomicNode node, Slice slice) {
+        long start = Profiler.ENABLED ? System.nanoTime() : 0;
+        Output[] outputs = node.getOutputs();
+        long toggles = 0;
+        if (node.delay != null) {
+            // outputs computed in place, then restored and scheduled after the gate delay
+            int[] before = before(slice, outputs.length);
+            for (int i = 0; i < outputs.length; i++) {
+                before[i] = outputs[i].get();
+            }
+            node.atomic();
+            for (int i = 0; i < outputs.length; i++) {
+                int after = outputs[i].get();
+                outputs[i].set(before[i]);
+                if (transition(outputs[i], after, node.delay.delay(corner, after))) {
+                    toggles++;
+                    toggle(outputs[i], before[i], after);
+                }
+            }
+        } else if (outputs.length == 1) {
+            int before = outputs[0].get();
+            node.atomic();
+            int after = outputs[0].get();
+            if (after != before) {
+                toggles++;
+                toggle(outputs[0], before, after);
+            }
+        } else {
+            int[] before = before(slice, outputs.length);
+            for (int i = 0; i < outputs.length; i++) {
+                before[i] = outputs[i].get();
+            }
+            node.atomic();
+            for (int i = 0; i < outputs.length; i++) {
+                int after = outputs[i].get();
+                if (after != before[i]) {
+                    toggles++;
+                    toggle(outputs[i], before[i], after);
+                }
+            }
+        }
+        if (slice != null) {
+            slice.evaluations++;
+            slice.toggles += toggles;
+        } else {
+            statistics.addEvaluations(1);
+            statistics.addToggles(toggles);
+        }
+        if (Profiler.ENABLED) {
+            node.profile.evaluated(toggles, System.nanoTime() - start);
+        }
+    }
+
+    // output values of a gate before its evaluation, reused across evaluations of the thread
+    private int[] before(Slice slice, int n) {
+        if (slice != null) {
+            if (slice.before.length < n) {
+                slice.before = new int[n];
+            }
+            return slice.before;
+        }
+        if (before.length < n) {
+            before = new int[n];
+        }
+        return before;
+    }
+
+    // sliced waves never run while tracking
+    private void toggle(Port port, int before, int after) {
+        if (!tracking) {
+            return;
+        }
+        stateHash ^= hash(port, before) ^ hash(port, after);
+        toggleHash ^= hash(port, after);
+        if (diagnosing) {
+            toggled.add(port);
+        }
+    }
+
+    private static long hash(Port port, int v) {
+        long h = (System.identityHashCode(port) * 4L + v) * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 29);
+    }
+
+    // called after every wave: starts tracking after settleWaves,
+    // throws one period after a repeating state is found or the delta limit is passed.
+    private void endWave() {
+        statistics.addWaves(1);
+        long waves = statistics.getWaves();
+        if (diagnosing) {
+            if (--diagnoseWaves > 0) {
+                return;
+            }
+            if (period == 0 || !toggled.isEmpty()) {
+                throw oscillation();
+            }
+            // nothing toggled for a whole period: a slow wavefront, not a loop
+            diagnosing = false;
+            signatures.clear();
+        }
+        if (tracking) {
+            // quiet waves leave the signature unchanged and prove nothing
+            if (toggleHash != 0) {
+                recordSignature(waves);
+            }
+        } else if (waves >= settleWaves) {
+            tracking = true;
+            stateHash = 0;
+            toggleHash = 0;
+            signatures = new HashMap<>(1024);
+        }
+        if (waves >= deltaLimit && !diagnosing) {
+            diagnose(0);
+        }
+    }
+
+    private void recordSignature(long waves) {
+        long signature = stateHash * 31 + toggleHash;
+        toggleHash = 0;
+        Long seen = signatures.put(signature, waves);
+        if (seen != null) {
+            diagnose((int) (waves - seen));
+        } else if (signatures.size() >= MAX_SIGNATURES) {
+            signatures.clear();
+        }
+    }
+
+    private void diagnose(int period) {
+        this.tracking = true;
+        this.diagnosing = true;
+        this.period = period;
+        this.diagnoseWaves = period > 0 ? period : DIAGNOSE_WAVES;
+        this.toggled = new LinkedHashSet<>(64);
+        if (signatures == null) {
+            signatures = new HashMap<>(16);
+        }
+    }
+
+    // drops the pending events, so that the context can be used again
+    private OscillationException oscillation() {
+        ArrayList<String> nets = new ArrayList<>(toggled.size());
+        for (Port port : toggled) {
+            nets.add(name(port));
+        }
+        OscillationException e = new OscillationException(nets, statistics.getWaves(), period);
+        for (AtomicNode node : events) {
+            node.scheduled = false;
+        }
+        for (AtomicNode node : deferred) {
+            node.scheduled = false;
+        }
+        events.clear();
+        deferred.clear();
+        propagatables.clear();
+        diagnosing = false;
+        tracking = false;
+        toggled = null;
+        return e;
+    }
+
+    // name of the first named wire a gate output drives, or gate and output index
+    private static String name(Port port) {
+        ArrayDeque<Port> ports = new ArrayDeque<>(Arrays.asList(port.getDownstreams()));
+        for (int i = 0; i < 64 && !ports.isEmpty(); i++) {
+            Port p = ports.poll();
+            if (p.getOwner() instanceof Wire) {
+                Wire wire = (Wire) p.getOwner();
+                if (wire.getName() != null) {
+                    return wire.getName();
+                }
+                if (wire.getVec() != null && wire.getVec().getName() != null) {
+                    return wire.getVec().getName() + "[" + wire.getVecIndex() + "]";
+                }
+                ports.addAll(Arrays.asList(wire.getOutput().getDownstreams()));
+            } else if (!(p.getOwner() instanceof AtomicNode)) {
+                ports.addAll(Arrays.asList(p.getDownstreams()));
+            }
+        }
+        Propagatable owner = port.getOwner();
+        String name = owner instanceof Node && ((Node) owner).getName() != null
+                ? ((Node) owner).getName() : owner.getClass().getSimpleName();
+        name += "@" + Integer.toHexString(System.identityHashCode(owner));
+        if (owner instanceof Node) {
+            Output[] outputs = ((Node) owner).getOutputs();
+            for (int i = 0; i < outputs.length; i++) {
+                if (outputs[i] == port) {
+                    return name + ".out" + i;
+                }
+            }
+        }
+        return name;
+    }
+}
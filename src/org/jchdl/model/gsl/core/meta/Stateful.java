@@ -0,0 +1,60 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.core.meta;
+
+// A node or a net keeping state besides the values of its ports, e.g. the q of a flip-flop,
+// saved and restored with the values of the ports by netlist.StateVector.
+public interface Stateful {
+    // number of longs of the state, the same as long as the node is connected the same way
+    int stateSize();
+
+    void save(long[] state, int at);
+
+    void load(long[] state, int at);
+
+    // longs of n 4-state values packed by pack
+    static int words(int n) {
+        return (n + 31) / 32;
+    }
+
+    static void pack(int[] values, long[] state, int at) {
+        for (int i = 0; i < values.length; i += 32) {
+            long word = 0;
+            for (int j = i; j < Math.min(i + 32, values.length); j++) {
+                word |= (long) values[j] << ((j & 31) << 1);
+            }
+            state[at + (i >>> 5)] = word;
+        }
+    }
+
+    static void unpack(long[] state, int at, int[] values) {
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (int) (state[at + (i >>> 5)] >>> ((i & 31) << 1)) & 0x03;
+        }
+    }
+}
@@ -0,0 +1,306 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.core.netlist;
+
+import org.jchdl.model.gsl.core.datatype.helper.WireVec;
+import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.io.Input;
+import org.jchdl.model.gsl.core.io.Output;
+import org.jchdl.model.gsl.core.meta.AtomicNode;
+import org.jchdl.model.gsl.core.meta.Node;
+import org.jchdl.model.gsl.core.value.Value;
+
+// Evaluates a combinational netlist for 64 independent input vectors (lanes) at once.
+// Every net carries two planes, bit i of each plane is the value in lane i:
+//   value  0 1 x z
+//   a      0 1 1 0
+//   b      0 0 1 1
+// so a gate evaluates all the lanes with a handful of bitwise operations.
+public class BitParallelEvaluator {
+    public static final int LANES = 64;
+
+    private Netlist netlist;
+    private long[] a;
+    private long[] b;
+    // primary inputs assigned by lane, the others follow the value of their port
+    private boolean[] assigned;
+
+    public BitParallelEvaluator(Netlist netlist) {
+        if (!netlist.isCombinational()) {
+            throw new IllegalArgumentException("netlist has a combinational loop");
+        }
+        this.netlist = netlist;
+        this.a = new long[netlist.nNets()];
+        this.b = new long[netlist.nNets()];
+        this.assigned = new boolean[netlist.nNets()];
+    }
+
+    public BitParallelEvaluator(Node top) {
+        this(Netlist.flatten(top));
+    }
+
+    public Netlist getNetlist() {
+        return netlist;
+    }
+
+    private int input(Wire wire) {
+        int net = netlist.net(wire);
+        if (net < 0 || netlist.driver(net) >= 0) {
+            throw new IllegalArgumentException("not an input of the netlist");
+        }
+        return net;
+    }
+
+    private int net(Wire wire) {
+        int net = netlist.net(wire);
+        if (net < 0) {
+            throw new IllegalArgumentException("not a wire of the netlist");
+        }
+        return net;
+    }
+
+    // assign both planes of a primary input
+    public void assign(Wire wire, long a, long b) {
+        int net = input(wire);
+        this.a[net] = a;
+        this.b[net] = b;
+        assigned[net] = true;
+    }
+
+    public void assign(Wire wire, int lane, Value value) {
+        int net = input(wire);
+        long bit = 1L << lane;
+        a[net] = (a[net] & ~bit) | (planeA(value.v) & bit);
+        b[net] = (b[net] & ~bit) | (planeB(value.v) & bit);
+        assigned[net] = true;
+    }
+
+    // binary value of vec in one lane, bit i drives vec.wire(i)
+    public void assign(WireVec vec, int lane, long value) {
+        long bit = 1L << lane;
+        for (int i = 0; i < vec.nBits(); i++) {
+            int net = input(vec.wire(i));
+            a[net] = (value >> i & 1) == 1 ? a[net] | bit : a[net] & ~bit;
+            b[net] &= ~bit;
+            assigned[net] = true;
+        }
+    }
+
+    // binary values of vec, lanes[l] for lane l
+    public void assign(WireVec vec, long[] lanes) {
+        for (int i = 0; i < vec.nBits(); i++) {
+            long plane = 0;
+            for (int l = 0; l < lanes.length; l++) {
+                plane |= (lanes[l] >> i & 1) << l;
+            }
+            assign(vec.wire(i), plane, 0);
+        }
+    }
+
+    public long planeA(Wire wire) {
+        return a[net(wire)];
+    }
+
+    public long planeB(Wire wire) {
+        return b[net(wire)];
+    }
+
+    public Value value(Wire wire, int lane) {
+        int net = net(wire);
+        return new Value(decode(a[net] >>> lane & 1, b[net] >>> lane & 1));
+    }
+
+    // lanes where every wire of vec is 0 or 1
+    public long known(WireVec vec) {
+        long known = -1L;
+        for (Wire wire : vec.wires()) {
+            known &= ~b[net(wire)];
+        }
+        return known;
+    }
+
+    // binary value of vec in one lane, only meaningful for known lanes
+    public long value(WireVec vec, int lane) {
+        long value = 0;
+        for (int i = 0; i < vec.nBits(); i++) {
+            value |= (a[net(vec.wire(i))] >>> lane & 1) << i;
+        }
+        return value;
+    }
+
+    // binary values of vec in all lanes
+    public long[] values(WireVec vec) {
+        long[] lanes = new long[LANES];
+        for (int i = 0; i < vec.nBits(); i++) {
+            long plane = a[net(vec.wire(i))];
+            for (int l = 0; l < LANES; l++) {
+                lanes[l] |= (plane >>> l & 1) << i;
+            }
+        }
+        return lanes;
+    }
+
+    private static long planeA(int v) {
+        return ((v ^ (v >> 1)) & 1) == 1 ? -1L : 0L;
+    }
+
+    private static long planeB(int v) {
+        return (v >> 1) == 1 ? -1L : 0L;
+    }
+
+    private static int decode(long a, long b) {
+        return (int) ((b << 1) | (a ^ b));
+    }
+
+    public void evaluate() {
+        long[] a = this.a;
+        long[] b = this.b;
+        for (int n = 0; n < a.length; n++) {
+            if (netlist.driver(n) < 0 && !assigned[n]) {
+                int v = netlist.source(n).get();
+                a[n] = planeA(v);
+                b[n] = planeB(v);
+            }
+        }
+
+        int[] kinds = netlist.kinds();
+        int[] inOffsets = netlist.inOffsets();
+        int[] inNets = netlist.inNets();
+        int[] outOffsets = netlist.outOffsets();
+        int[] outNets = netlist.outNets();
+        for (int g = 0; g < kinds.length; g++) {
+            int from = inOffsets[g];
+            int to = inOffsets[g + 1];
+            // lanes where the output is 1 and where it is 0, x elsewhere
+            long one;
+            long zero;
+            switch (kinds[g]) {
+                case Netlist.GATE_AND:
+                case Netlist.GATE_NAND: {
+                    one = -1L;
+                    zero = 0;
+                    for (int i = from; i < to; i++) {
+                        long ia = a[inNets[i]];
+                        long ib = b[inNets[i]];
+                        one &= ia & ~ib;
+                        zero |= ~(ia | ib);
+                    }
+                    break;
+                }
+                case Netlist.GATE_OR:
+                case Netlist.GATE_NOR: {
+                    one = 0;
+                    zero = -1L;
+                    for (int i = from; i < to; i++) {
+                        long ia = a[inNets[i]];
+                        long ib = b[inNets[i]];
+                        one |= ia & ~ib;
+                        zero &= ~(ia | ib);
+                    }
+                    break;
+                }
+                case Netlist.GATE_XOR:
+                case Netlist.GATE_XNOR: {
+                    long parity = 0;
+                    long unknown = 0;
+                    for (int i = from; i < to; i++) {
+                        parity ^= a[inNets[i]];
+                        unknown |= b[inNets[i]];
+                    }
+                    one = parity & ~unknown;
+                    zero = ~parity & ~unknown;
+                    break;
+                }
+                case Netlist.GATE_NOT:
+                case Netlist.GATE_BUF: {
+                    long ia = a[inNets[from]];
+                    long ib = b[inNets[from]];
+                    one = ia & ~ib;
+                    zero = ~(ia | ib);
+                    break;
+                }
+                case Netlist.GATE_PULLUP:
+                    one = -1L;
+                    zero = 0;
+                    break;
+                case Netlist.GATE_PULLDOWN:
+                    one = 0;
+                    zero = -1L;
+                    break;
+                default:
+                    atomic(g);
+                    continue;
+            }
+            switch (kinds[g]) {
+                case Netlist.GATE_NAND:
+                case Netlist.GATE_NOR:
+                case Netlist.GATE_XNOR:
+                case Netlist.GATE_NOT: {
+                    long t = one;
+                    one = zero;
+                    zero = t;
+                    break;
+                }
+                default:
+                    break;
+            }
+            int out = outNets[outOffsets[g]];
+            a[out] = ~zero;
+            b[out] = ~(one | zero);
+        }
+    }
+
+    // gates without a bit-parallel implementation are evaluated lane by lane on their own ports
+    private void atomic(int g) {
+        AtomicNode gate = netlist.gates()[g];
+        Input[] inputs = gate.getInputs();
+        Output[] outputs = gate.getOutputs();
+        int inFrom = netlist.inOffsets()[g];
+        int outFrom = netlist.outOffsets()[g];
+        int[] inNets = netlist.inNets();
+        int[] outNets = netlist.outNets();
+        long[] outA = new long[outputs.length];
+        long[] outB = new long[outputs.length];
+        for (int l = 0; l < LANES; l++) {
+            for (int i = 0; i < inputs.length; i++) {
+                int net = inNets[inFrom + i];
+                inputs[i].set(decode(a[net] >>> l & 1, b[net] >>> l & 1));
+            }
+            gate.atomic();
+            for (int i = 0; i < outputs.length; i++) {
+                int v = outputs[i].get();
+                outA[i] |= (planeA(v) & 1) << l;
+                outB[i] |= (planeB(v) & 1) << l;
+            }
+        }
+        for (int i = 0; i < outputs.length; i++) {
+            a[outNets[outFrom + i]] = outA[i];
+            b[outNets[outFrom + i]] = outB[i];
+        }
+    }
+}
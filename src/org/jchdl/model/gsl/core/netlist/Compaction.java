@@ -0,0 +1,328 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.core.netlist;
+
+import org.jchdl.model.gsl.core.datatype.helper.WireVec;
+import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.io.Input;
+import org.jchdl.model.gsl.core.io.Output;
+import org.jchdl.model.gsl.core.meta.AtomicNode;
+import org.jchdl.model.gsl.core.meta.Node;
+import org.jchdl.model.gsl.core.meta.Port;
+import org.jchdl.model.gsl.core.meta.Propagatable;
+import org.jchdl.model.gsl.core.value.Value;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Set;
+
+// Collapses the forwarding ports inside an elaborated node.
+// Every net is rewired so that its driver (a gate output, or an input of the top node)
+// connects straight to the gate inputs and top outputs it loads.
+// The Wires, ports and composite Nodes in between are no longer referenced and can be collected;
+// only a map from hierarchical wire names to the driving ports is kept.
+// The ports of the top node stay in place, so the node is used exactly as before,
+// except that it can no longer be exported to Verilog.
+// Nodes with a Delay or a Monitor on an inner wire are refused, both live on the Wires bypassed.
+public class Compaction {
+    private Node top;
+    private int nPortsBefore;
+    private int nPortsAfter;
+    // e.g. Mul_8.Add_16_0.FullAdder_3.s -> port holding the value of that wire
+    private LinkedHashMap<String, Port> names = new LinkedHashMap<>(256);
+
+    private Compaction(Node top, boolean releaseFields) {
+        this.top = top;
+        Netlist netlist = Netlist.flatten(top);
+        LinkedHashMap<String, Integer> nets = new LinkedHashMap<>(256);
+        name(top, path(top), netlist, nets, new IdentityHashMap<>(256));
+        Port[] drivers = rewire(netlist);
+        for (String name : nets.keySet()) {
+            names.put(name, drivers[nets.get(name)]);
+        }
+        if (releaseFields) {
+            release(top);
+        }
+        for (int g = 0; g < netlist.nGates(); g++) {
+            netlist.gate(g).releaseNets();
+        }
+        top.setCompacted(true);
+    }
+
+    // the Wire and WireVec fields of the top node are left as they are
+    public static Compaction compact(Node top) {
+        return new Compaction(top, false);
+    }
+
+    // releaseFields: also null the Wire and WireVec fields of the top node, which keep the old
+    // hierarchy reachable. the caller gives up its own references to them
+    public static Compaction compact(Node top, boolean releaseFields) {
+        return new Compaction(top, releaseFields);
+    }
+
+    private boolean isTopPort(Port port) {
+        return port.getOwner() == top;
+    }
+
+    // ports from the outputs of top node on are left alone
+    private IdentityHashMap<Port, Boolean> outside() {
+        IdentityHashMap<Port, Boolean> outside = new IdentityHashMap<>(64);
+        ArrayDeque<Port> ports = new ArrayDeque<>(16);
+        for (Output output : top.getOutputs()) {
+            ports.push(output);
+        }
+        while (!ports.isEmpty()) {
+            Port p = ports.pop();
+            if (outside.put(p, Boolean.TRUE) != null) continue;
+            Propagatable owner = p.getOwner();
+            if (owner instanceof Wire && p == ((Wire) owner).getInput()) {
+                ports.push(((Wire) owner).getOutput());
+                continue;
+            }
+            for (Port d : p.getDownstreams()) {
+                if (d.getOwner() instanceof Wire) {
+                    ports.push(d);
+                }
+            }
+        }
+        return outside;
+    }
+
+    // ports of the wires driving the inputs of top node, which stay connected
+    private IdentityHashMap<Port, Boolean> upstream() {
+        IdentityHashMap<Port, Boolean> upstream = new IdentityHashMap<>(64);
+        for (Input input : top.getInputs()) {
+            Port p = input.getUpstream();
+            while (p != null && upstream.put(p, Boolean.TRUE) == null) {
+                Propagatable owner = p.getOwner();
+                p = owner instanceof Wire && p == ((Wire) owner).getOutput() ? ((Wire) owner).getInput() : p.getUpstream();
+            }
+        }
+        return upstream;
+    }
+
+    // the driver of every net after rewiring
+    private Port[] rewire(Netlist netlist) {
+        int nNets = netlist.nNets();
+        Port[] ports = netlist.ports();
+        int[] portNets = netlist.portNets();
+        IdentityHashMap<Port, Boolean> outside = outside();
+        IdentityHashMap<Port, Boolean> upstream = upstream();
+
+        // loads and inputs of top node, by net
+        ArrayList<ArrayList<Port>> loads = new ArrayList<>(nNets);
+        ArrayList<ArrayList<Port>> topInputs = new ArrayList<>(nNets);
+        for (int n = 0; n < nNets; n++) {
+            loads.add(new ArrayList<>(4));
+            topInputs.add(new ArrayList<>(1));
+        }
+        for (Port output : top.getOutputs()) {
+            outside.remove(output);
+        }
+        nPortsBefore = 0;
+        for (int p = 0; p < ports.length; p++) {
+            Port port = ports[p];
+            if (outside.containsKey(port)) continue;
+            if (port.getOwner() instanceof Wire && !upstream.containsKey(port)) {
+                Wire wire = (Wire) port.getOwner();
+                if (wire.getDelay() != null || wire.getMonitor() != null) {
+                    throw new IllegalArgumentException("wire with a delay or monitor inside " + path(top));
+                }
+            }
+            nPortsBefore++;
+            int net = portNets[p];
+            if (isTopPort(port)) {
+                (port instanceof Input ? topInputs : loads).get(net).add(port);
+            } else if (port instanceof Input && port.getOwner() instanceof AtomicNode) {
+                loads.get(net).add(port);
+            }
+        }
+
+        Port[] drivers = new Port[nNets];
+        nPortsAfter = 0;
+        for (int n = 0; n < nNets; n++) {
+            ArrayList<Port> netLoads = loads.get(n);
+            ArrayList<Port> netInputs = topInputs.get(n);
+            if (netlist.driver(n) >= 0) {
+                drivers[n] = netlist.source(n);
+                connect(drivers[n], netLoads);
+            } else if (!netInputs.isEmpty()) {
+                // the same external wire may drive several inputs of top node
+                drivers[n] = netInputs.get(0);
+                for (int i = netInputs.size() - 1; i >= 0; i--) {
+                    connect(netInputs.get(i), netLoads);
+                }
+                nPortsAfter += netInputs.size() - 1;
+            } else {
+                // constant or undriven wire inside the node
+                Port source = netlist.source(n);
+                Propagatable owner = source.getOwner();
+                drivers[n] = owner instanceof Wire ? ((Wire) owner).getOutput() : source;
+                connect(drivers[n], netLoads);
+            }
+            nPortsAfter += 1 + netLoads.size();
+        }
+        return drivers;
+    }
+
+    private static void connect(Port driver, ArrayList<Port> loads) {
+        driver.disconnectDownstreams();
+        for (Port load : loads) {
+            driver.connect(load);
+        }
+    }
+
+    private static String path(Node top) {
+        return top.getName() != null ? top.getName() : top.getClass().getSimpleName();
+    }
+
+    private static void name(Node node, String path, Netlist netlist, LinkedHashMap<String, Integer> nets, IdentityHashMap<Node, Boolean> visited) {
+        visited.put(node, Boolean.TRUE);
+        Class<?> clazz = node.getClass();
+        while (clazz != Node.class && clazz != AtomicNode.class) {
+            for (Field field : clazz.getDeclaredFields()) {
+                try {
+                    if (field.getType() == Wire.class) {
+                        field.setAccessible(true);
+                        name(path + "." + field.getName(), (Wire) field.get(node), netlist, nets);
+                    } else if (field.getType() == WireVec.class) {
+                        field.setAccessible(true);
+                        WireVec vec = (WireVec) field.get(node);
+                        for (int i = 0; vec != null && i < vec.nBits(); i++) {
+                            name(path + "." + field.getName() + "[" + i + "]", vec.wire(i), netlist, nets);
+                        }
+                    }
+                } catch (IllegalAccessException e) {
+                    // fields of classes outside the module are not named
+                }
+            }
+            clazz = clazz.getSuperclass();
+        }
+
+        HashMap<String, Integer> counts = new HashMap<>(16);
+        for (Node child : children(node)) {
+            if (visited.containsKey(child)) continue;
+            String name = child.getName();
+            if (name == null) {
+                name = child.getClass().getSimpleName();
+            }
+            int count = counts.getOrDefault(name, 0);
+            counts.put(name, count + 1);
+            name(child, path + "." + name + "_" + count, netlist, nets, visited);
+        }
+    }
+
+    private static void name(String name, Wire wire, Netlist netlist, LinkedHashMap<String, Integer> nets) {
+        if (wire == null) return;
+        int net = netlist.net(wire);
+        if (net >= 0) {
+            nets.put(name, net);
+        }
+    }
+
+    // the Wire and WireVec fields of top node would keep the old hierarchy reachable
+    private static void release(Node top) {
+        Class<?> clazz = top.getClass();
+        while (clazz != Node.class) {
+            for (Field field : clazz.getDeclaredFields()) {
+                if (field.getType() != Wire.class && field.getType() != WireVec.class) continue;
+                if (Modifier.isStatic(field.getModifiers())) continue;
+                try {
+                    field.setAccessible(true);
+                    field.set(top, null);
+                } catch (IllegalAccessException e) {
+                    // kept, the node stays usable either way
+                }
+            }
+            clazz = clazz.getSuperclass();
+        }
+    }
+
+    // nodes connected to the wires inside node, in the order they are reached from its inputs
+    private static ArrayList<Node> children(Node node) {
+        ArrayList<Node> children = new ArrayList<>(16);
+        IdentityHashMap<Object, Boolean> seen = new IdentityHashMap<>(64);
+        ArrayDeque<Port> ports = new ArrayDeque<>(16);
+        for (Input input : node.getInputs()) {
+            for (Port d : input.getDownstreams()) {
+                ports.add(d);
+            }
+        }
+        while (!ports.isEmpty()) {
+            Port p = ports.poll();
+            if (seen.put(p, Boolean.TRUE) != null) continue;
+            Propagatable owner = p.getOwner();
+            if (owner instanceof Wire) {
+                Wire wire = (Wire) owner;
+                ports.addAll(Arrays.asList(wire.getOutput().getDownstreams()));
+            } else if (owner instanceof Node && owner != node) {
+                Node child = (Node) owner;
+                if (seen.put(child, Boolean.TRUE) == null) {
+                    children.add(child);
+                    for (Output output : child.getOutputs()) {
+                        ports.addAll(Arrays.asList(output.getDownstreams()));
+                    }
+                }
+            }
+        }
+        return children;
+    }
+
+    public Node getTop() {
+        return top;
+    }
+
+    // ports inside the top node before and after compaction
+    public int nPortsBefore() {
+        return nPortsBefore;
+    }
+
+    public int nPortsAfter() {
+        return nPortsAfter;
+    }
+
+    public Set<String> names() {
+        return names.keySet();
+    }
+
+    // null if no wire is known by that name
+    public Port port(String name) {
+        return names.get(name);
+    }
+
+    public Value value(String name) {
+        Port port = names.get(name);
+        return port == null ? null : new Value(port.get());
+    }
+}
@@ -0,0 +1,222 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.core.netlist;
+
+import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.io.Input;
+import org.jchdl.model.gsl.core.io.Output;
+import org.jchdl.model.gsl.core.meta.AtomicNode;
+import org.jchdl.model.gsl.core.meta.Node;
+import org.jchdl.model.gsl.core.meta.OscillationException;
+import org.jchdl.model.gsl.core.meta.Port;
+
+import java.util.ArrayList;
+
+// Event-driven evaluation of a frozen netlist over its arrays instead of its ports.
+// Net values are kept in an int[], the gates loaded by each net in a fanout table of the same
+// offset/target layout as the inputs of the gates, and the events are gate numbers.
+// Unlike LevelizedEvaluator, only the gates whose inputs changed are evaluated, so loops and
+// sequential cells are evaluated too: waves of gates, each wave on the values left by the
+// previous one, as propagateParallel does. Delays are ignored.
+// Gates of a flat kind are evaluated by Netlist.evaluate, others by atomic() on their own ports.
+public class FrozenEvaluator {
+    private Netlist netlist;
+    private int[] values;
+    // gates loaded by net n: fanoutGates[fanoutOffsets[n]] ... fanoutGates[fanoutOffsets[n + 1] - 1]
+    private int[] fanoutOffsets;
+    private int[] fanoutGates;
+    // gates of the current and the next wave
+    private int[] wave;
+    private int[] next;
+    private int nNext;
+    private boolean[] queued;
+    private int deltaLimit = 100000;
+    private long evaluations;
+
+    public FrozenEvaluator(Netlist netlist) {
+        this.netlist = netlist;
+        int nNets = netlist.nNets();
+        int nGates = netlist.nGates();
+        values = new int[nNets];
+        int[] inOffsets = netlist.inOffsets();
+        int[] inNets = netlist.inNets();
+        fanoutOffsets = new int[nNets + 1];
+        for (int k = 0; k < inNets.length; k++) {
+            fanoutOffsets[inNets[k] + 1]++;
+        }
+        for (int n = 0; n < nNets; n++) {
+            fanoutOffsets[n + 1] += fanoutOffsets[n];
+        }
+        fanoutGates = new int[inNets.length];
+        int[] fill = fanoutOffsets.clone();
+        for (int g = 0; g < nGates; g++) {
+            for (int k = inOffsets[g]; k < inOffsets[g + 1]; k++) {
+                fanoutGates[fill[inNets[k]]++] = g;
+            }
+        }
+        wave = new int[nGates];
+        next = new int[nGates];
+        queued = new boolean[nGates];
+
+        // the values of the ports now, every gate evaluated at the first apply()
+        Port[] sources = netlist.sources();
+        for (int n = 0; n < nNets; n++) {
+            values[n] = sources[n].get();
+        }
+        for (int g = 0; g < nGates; g++) {
+            queue(g);
+        }
+    }
+
+    public FrozenEvaluator(Node top) {
+        this(Netlist.freeze(top));
+    }
+
+    public Netlist getNetlist() {
+        return netlist;
+    }
+
+    public void setDeltaLimit(int deltaLimit) {
+        this.deltaLimit = deltaLimit;
+    }
+
+    public long getEvaluations() {
+        return evaluations;
+    }
+
+    private void queue(int g) {
+        if (!queued[g]) {
+            queued[g] = true;
+            next[nNext++] = g;
+        }
+    }
+
+    private void changed(int net) {
+        for (int k = fanoutOffsets[net]; k < fanoutOffsets[net + 1]; k++) {
+            queue(fanoutGates[k]);
+        }
+    }
+
+    // evaluate the netlist for the values currently on the ports driving it from outside.
+    // only the ports on the outputs of top node are updated.
+    public void apply() {
+        Port[] sources = netlist.sources();
+        int[] values = this.values;
+        for (int n = 0; n < values.length; n++) {
+            if (netlist.driver(n) < 0 && values[n] != sources[n].get()) {
+                values[n] = sources[n].get();
+                changed(n);
+            }
+        }
+
+        int[] kinds = netlist.kinds();
+        int[] inOffsets = netlist.inOffsets();
+        int[] inNets = netlist.inNets();
+        int[] outOffsets = netlist.outOffsets();
+        int[] outNets = netlist.outNets();
+        int waves = 0;
+        while (nNext > 0) {
+            if (++waves > deltaLimit) {
+                throw oscillation(waves);
+            }
+            int[] gates = next;
+            int nGates = nNext;
+            next = wave;
+            wave = gates;
+            nNext = 0;
+            for (int i = 0; i < nGates; i++) {
+                int g = gates[i];
+                queued[g] = false;
+                evaluations++;
+                if (kinds[g] != Netlist.GATE_OBJECT) {
+                    int out = outNets[outOffsets[g]];
+                    int v = Netlist.evaluate(kinds[g], values, inNets, inOffsets[g], inOffsets[g + 1]);
+                    if (v != values[out]) {
+                        values[out] = v;
+                        changed(out);
+                    }
+                } else {
+                    atomic(g);
+                }
+            }
+        }
+
+        Port[] ports = netlist.observedPorts();
+        int[] nets = netlist.observedNets();
+        for (int i = 0; i < ports.length; i++) {
+            ports[i].set(values[nets[i]]);
+        }
+    }
+
+    private void atomic(int g) {
+        AtomicNode gate = netlist.gates()[g];
+        Input[] inputs = gate.getInputs();
+        Output[] outputs = gate.getOutputs();
+        int[] inNets = netlist.inNets();
+        int[] outNets = netlist.outNets();
+        int from = netlist.inOffsets()[g];
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i].set(values[inNets[from + i]]);
+        }
+        gate.atomic();
+        from = netlist.outOffsets()[g];
+        for (int i = 0; i < outputs.length; i++) {
+            int out = outNets[from + i];
+            int v = outputs[i].get();
+            if (v != values[out]) {
+                values[out] = v;
+                changed(out);
+            }
+        }
+    }
+
+    private OscillationException oscillation(int waves) {
+        ArrayList<String> gates = new ArrayList<>(nNext);
+        for (int i = 0; i < nNext; i++) {
+            AtomicNode gate = netlist.gate(next[i]);
+            gates.add(gate.getName() != null ? gate.getName() : gate.getClass().getSimpleName() + "_" + next[i]);
+            // dropped, they are evaluated again when their inputs change
+            queued[next[i]] = false;
+        }
+        nNext = 0;
+        return new OscillationException(gates, waves, 0);
+    }
+
+    // write the net values to every port of the netlist
+    public void sync() {
+        Port[] ports = netlist.ports();
+        int[] nets = netlist.portNets();
+        for (int i = 0; i < ports.length; i++) {
+            ports[i].set(values[nets[i]]);
+        }
+    }
+
+    public int value(Wire wire) {
+        return values[netlist.net(wire)];
+    }
+}
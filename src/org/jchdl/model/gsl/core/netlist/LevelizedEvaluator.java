@@ -0,0 +1,174 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.core.netlist;
+
+import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.io.Input;
+import org.jchdl.model.gsl.core.io.Output;
+import org.jchdl.model.gsl.core.meta.AtomicNode;
+import org.jchdl.model.gsl.core.meta.Node;
+import org.jchdl.model.gsl.core.meta.Port;
+import org.jchdl.model.gsl.core.meta.Propagatable;
+import org.jchdl.model.gsl.core.meta.SimulationContext;
+
+import java.util.ArrayList;
+
+// Oblivious evaluation of a combinational netlist:
+// each applied input vector evaluates every gate exactly once, in level order,
+// over an int array of net values instead of propagating events through ports.
+// Netlists with loops, or an evaluator switched to event mode, propagate events as usual.
+public class LevelizedEvaluator {
+    private Netlist netlist;
+    private int[] values;
+    private boolean eventMode;
+    // what to propagate in event mode: drivers of the primary inputs and gates without inputs
+    private Propagatable[] seeds;
+
+    public LevelizedEvaluator(Netlist netlist) {
+        this.netlist = netlist;
+        this.values = new int[netlist.nNets()];
+        this.eventMode = !netlist.isCombinational();
+        this.seeds = seeds(netlist);
+    }
+
+    public LevelizedEvaluator(Node top) {
+        this(Netlist.flatten(top));
+    }
+
+    private static Propagatable[] seeds(Netlist netlist) {
+        ArrayList<Propagatable> seeds = new ArrayList<>(16);
+        for (int n = 0; n < netlist.nNets(); n++) {
+            if (netlist.driver(n) >= 0) continue;
+            Port source = netlist.source(n);
+            if (source.getOwner() instanceof Wire) {
+                seeds.add(source.getOwner());
+            } else {
+                seeds.add(source);
+            }
+        }
+        for (int g = 0; g < netlist.nGates(); g++) {
+            AtomicNode gate = netlist.gate(g);
+            if (gate.getInputs().length == 0) {
+                seeds.add(gate);
+            }
+        }
+        return seeds.toArray(new Propagatable[seeds.size()]);
+    }
+
+    public Netlist getNetlist() {
+        return netlist;
+    }
+
+    public boolean isEventMode() {
+        return eventMode;
+    }
+
+    // event mode is forced for netlists with loops.
+    // leaving levelized mode writes the net values back to all ports first,
+    // so that event propagation starts from a consistent state.
+    public void setEventMode(boolean eventMode) {
+        if (eventMode && !this.eventMode) {
+            sync();
+        }
+        this.eventMode = eventMode || !netlist.isCombinational();
+    }
+
+    // evaluate the netlist for the values currently assigned to its inputs.
+    // in levelized mode only the ports on the outputs of top node are updated.
+    public void apply() {
+        if (eventMode) {
+            SimulationContext context = netlist.getTop().getContext();
+            for (Propagatable seed : seeds) {
+                context.add(seed);
+            }
+            context.propagateParallel();
+        } else {
+            evaluate();
+            Port[] ports = netlist.observedPorts();
+            int[] nets = netlist.observedNets();
+            for (int i = 0; i < ports.length; i++) {
+                ports[i].set(values[nets[i]]);
+            }
+        }
+    }
+
+    // write the net values to every port of the netlist
+    public void sync() {
+        Port[] ports = netlist.ports();
+        int[] nets = netlist.portNets();
+        for (int i = 0; i < ports.length; i++) {
+            ports[i].set(values[nets[i]]);
+        }
+    }
+
+    public int value(Wire wire) {
+        return values[netlist.net(wire)];
+    }
+
+    private void evaluate() {
+        int[] values = this.values;
+        Port[] sources = netlist.sources();
+        for (int n = 0; n < values.length; n++) {
+            if (netlist.driver(n) < 0) {
+                values[n] = sources[n].get();
+            }
+        }
+
+        int[] kinds = netlist.kinds();
+        int[] inOffsets = netlist.inOffsets();
+        int[] inNets = netlist.inNets();
+        int[] outOffsets = netlist.outOffsets();
+        int[] outNets = netlist.outNets();
+        int nGates = kinds.length;
+        for (int g = 0; g < nGates; g++) {
+            if (kinds[g] == Netlist.GATE_OBJECT) {
+                atomic(g);
+                continue;
+            }
+            values[outNets[outOffsets[g]]] = Netlist.evaluate(kinds[g], values, inNets, inOffsets[g], inOffsets[g + 1]);
+        }
+    }
+
+    // gates without a flat implementation are evaluated on their own ports
+    private void atomic(int g) {
+        AtomicNode gate = netlist.gates()[g];
+        Input[] inputs = gate.getInputs();
+        Output[] outputs = gate.getOutputs();
+        int[] inNets = netlist.inNets();
+        int[] outNets = netlist.outNets();
+        int from = netlist.inOffsets()[g];
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i].set(values[inNets[from + i]]);
+        }
+        gate.atomic();
+        from = netlist.outOffsets()[g];
+        for (int i = 0; i < outputs.length; i++) {
+            values[outNets[from + i]] = outputs[i].get();
+        }
+    }
+}
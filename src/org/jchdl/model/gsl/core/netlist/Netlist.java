@@ -0,0 +1,657 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.core.netlist;
+
+import org.jchdl.model.gsl.core.datatype.net.ResolvedNet;
+import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.io.Input;
+import org.jchdl.model.gsl.core.io.Output;
+import org.jchdl.model.gsl.core.meta.AtomicNode;
+import org.jchdl.model.gsl.core.meta.Node;
+import org.jchdl.model.gsl.core.meta.Port;
+import org.jchdl.model.gsl.core.meta.Propagatable;
+import org.jchdl.model.gsl.core.value.TruthTable;
+import org.jchdl.model.gsl.core.value.Value;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+
+// Flattened view of an elaborated Node.
+// Every AtomicNode inside the node is a gate, and every tree of forwarding ports
+// (Wire, ports of composite Nodes) rooted at a driver is a net numbered from 0.
+// Gates are sorted by level when the netlist has no combinational loop.
+public class Netlist {
+    // gate kinds, derived from AtomicNode.primitive()
+    public static final int GATE_OBJECT = 0; // evaluated by calling AtomicNode.atomic()
+    public static final int GATE_AND = 1;
+    public static final int GATE_OR = 2;
+    public static final int GATE_XOR = 3;
+    public static final int GATE_NAND = 4;
+    public static final int GATE_NOR = 5;
+    public static final int GATE_XNOR = 6;
+    public static final int GATE_NOT = 7;
+    public static final int GATE_BUF = 8;
+    public static final int GATE_PULLUP = 9;
+    public static final int GATE_PULLDOWN = 10;
+
+    private Node top;
+
+    private AtomicNode[] gates;
+    private int[] kinds;
+    private int[] levels;
+    private int nLevels;
+    // input nets of gate g: inNets[inOffsets[g]] ... inNets[inOffsets[g + 1] - 1]
+    private int[] inOffsets;
+    private int[] inNets;
+    private int[] outOffsets;
+    private int[] outNets;
+
+    private int nNets;
+    // gate driving the net, -1 if the net is driven from outside of the gates
+    private int[] drivers;
+    // port holding the value driven onto the net
+    private Port[] sources;
+    // all ports of all nets: ports[i] is on net portNets[i]
+    private Port[] ports;
+    private int[] portNets;
+    // ports carrying the outputs of top node
+    private Port[] observedPorts;
+    private int[] observedNets;
+
+    private boolean combinational;
+    // net of every labeled port, open addressing on the identity hash of the port.
+    // dropped by freeze(), net(Port) then searches the ports.
+    private Port[] labeled = new Port[512];
+    private int[] labeledNets = new int[512];
+    private int nLabeled;
+
+    // temporaries of flattening
+    private ArrayList<AtomicNode> gateList = new ArrayList<>(64);
+    private IdentityHashMap<AtomicNode, Integer> gateIndex = new IdentityHashMap<>(64);
+    private ArrayList<Port> sourceList = new ArrayList<>(64);
+    private ArrayList<Port> portList = new ArrayList<>(256);
+    private ArrayList<Port> observedList = new ArrayList<>(16);
+
+    private Netlist(Node top) {
+        this.top = top;
+        collect();
+        pins();
+        levelize();
+
+        gateList = null;
+        gateIndex = null;
+        sourceList = null;
+        portList = null;
+        observedList = null;
+    }
+
+    public static Netlist flatten(Node top) {
+        return new Netlist(top);
+    }
+
+    // the end of elaboration: every port of the node keeps exactly its downstream ports, the nodes
+    // drop the nets they were constructed with, and the connectivity is given as the arrays
+    // of the netlist for FrozenEvaluator, LevelizedEvaluator and BitParallelEvaluator to run over
+    public static Netlist freeze(Node top) {
+        Netlist netlist = new Netlist(top);
+        for (Port port : netlist.ports) {
+            port.freeze();
+            if (port.getOwner() instanceof Node) {
+                ((Node) port.getOwner()).releaseNets();
+            }
+        }
+        netlist.labeled = null;
+        netlist.labeledNets = null;
+        return netlist;
+    }
+
+    private void collect() {
+        for (Input input : top.getInputs()) {
+            int net = sourceNet(backtrace(input));
+            label(input, net);
+            forward(input, net);
+        }
+        // gateList grows while gates are visited
+        for (int g = 0; g < gateList.size(); g++) {
+            AtomicNode gate = gateList.get(g);
+            for (Output output : gate.getOutputs()) {
+                forward(output, sourceNet(output));
+            }
+            for (Input input : gate.getInputs()) {
+                if (netOf(input) >= 0) continue;
+                Port source = backtrace(input);
+                if (isGateOutput(source) && !crossesTop(input, source)) {
+                    // e.g. gates driven by pulls only: labeled once the driver is visited
+                    addGate((AtomicNode) source.getOwner());
+                } else if (!crossesTop(input, source)) {
+                    // constant or undriven wire inside the node
+                    int net = sourceNet(source);
+                    forward(source, net);
+                }
+            }
+        }
+        // inputs still not reached are driven through unusual connections: take the driver as is
+        for (AtomicNode gate : gateList) {
+            for (Input input : gate.getInputs()) {
+                if (netOf(input) < 0) {
+                    label(input, sourceNet(backtrace(input)));
+                }
+            }
+        }
+    }
+
+    private static boolean isGateOutput(Port port) {
+        return port instanceof Output && port.getOwner() instanceof AtomicNode;
+    }
+
+    // the port upstream of a port, through the Input -> Output hop of a Wire
+    private static Port upstream(Port port) {
+        Propagatable owner = port.getOwner();
+        if (owner instanceof ResolvedNet) {
+            throw resolved((ResolvedNet) owner);
+        }
+        if (owner instanceof Wire && port == ((Wire) owner).getOutput()) {
+            return ((Wire) owner).getInput();
+        }
+        return port.getUpstream();
+    }
+
+    // walk upstream to the port holding the driven value
+    private static Port backtrace(Port port) {
+        Port p = port;
+        while (!isGateOutput(p)) {
+            Port up = upstream(p);
+            if (up == null) break;
+            p = up;
+        }
+        return p;
+    }
+
+    private boolean crossesTop(Port port, Port source) {
+        for (Port p = port; p != null && p != source; p = upstream(p)) {
+            if (p.getOwner() == top) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // the net driven by source, numbered when first seen
+    private int sourceNet(Port source) {
+        int net = netOf(source);
+        if (net < 0) {
+            net = sourceList.size();
+            sourceList.add(source);
+            label(source, net);
+        }
+        return net;
+    }
+
+    private boolean label(Port port, int net) {
+        if (netOf(port) >= 0) {
+            return false;
+        }
+        if (2 * (nLabeled + 1) > labeled.length) {
+            Port[] ports = labeled;
+            int[] nets = labeledNets;
+            labeled = new Port[2 * ports.length];
+            labeledNets = new int[2 * ports.length];
+            for (int i = 0; i < ports.length; i++) {
+                if (ports[i] != null) {
+                    put(ports[i], nets[i]);
+                }
+            }
+        }
+        put(port, net);
+        nLabeled++;
+        portList.add(port);
+        return true;
+    }
+
+    private void put(Port port, int net) {
+        int mask = labeled.length - 1;
+        int i = hash(port) & mask;
+        while (labeled[i] != null) {
+            i = (i + 1) & mask;
+        }
+        labeled[i] = port;
+        labeledNets[i] = net;
+    }
+
+    // -1 if the port is not labeled
+    private int netOf(Port port) {
+        int mask = labeled.length - 1;
+        for (int i = hash(port) & mask; labeled[i] != null; i = (i + 1) & mask) {
+            if (labeled[i] == port) {
+                return labeledNets[i];
+            }
+        }
+        return -1;
+    }
+
+    private static int hash(Port port) {
+        int h = System.identityHashCode(port);
+        return h ^ (h >>> 16);
+    }
+
+    private void addGate(AtomicNode gate) {
+        if (!gateIndex.containsKey(gate)) {
+            gateIndex.put(gate, gateList.size());
+            gateList.add(gate);
+        }
+    }
+
+    // label the forwarding ports downstream of port, collecting the gates they drive.
+    // beyond the outputs of top node only external wires are labeled.
+    private void forward(Port port, int net) {
+        ArrayDeque<Port> inside = new ArrayDeque<>(16);
+        ArrayDeque<Port> outside = new ArrayDeque<>(16);
+        inside.push(port);
+        while (!inside.isEmpty() || !outside.isEmpty()) {
+            boolean out = inside.isEmpty();
+            Port p = out ? outside.pop() : inside.pop();
+            Propagatable owner = p.getOwner();
+            if (owner instanceof Wire && p == ((Wire) owner).getInput()) {
+                Port wo = ((Wire) owner).getOutput();
+                if (label(wo, net)) {
+                    (out ? outside : inside).push(wo);
+                }
+                continue;
+            }
+            for (int i = 0; i < p.nDownstreams(); i++) {
+                Port d = p.getDownstream(i);
+                Propagatable dOwner = d.getOwner();
+                if (dOwner instanceof ResolvedNet) {
+                    throw resolved((ResolvedNet) dOwner);
+                }
+                if (out && !(dOwner instanceof Wire)) continue;
+                if (!label(d, net)) continue;
+                if (dOwner instanceof AtomicNode) {
+                    addGate((AtomicNode) dOwner);
+                } else if (dOwner == top && d instanceof Output) {
+                    observedList.add(d);
+                    outside.push(d);
+                } else {
+                    (out ? outside : inside).push(d);
+                }
+            }
+        }
+    }
+
+    // the drivers of such a net are resolved by the net itself, not by a gate
+    private static IllegalArgumentException resolved(ResolvedNet net) {
+        String name = net.getName() != null ? net.getName() : net.getClass().getSimpleName();
+        return new IllegalArgumentException("net " + name + " has several drivers, it cannot be flattened");
+    }
+
+    private void pins() {
+        int nGates = gateList.size();
+        gates = gateList.toArray(new AtomicNode[nGates]);
+        kinds = new int[nGates];
+        inOffsets = new int[nGates + 1];
+        outOffsets = new int[nGates + 1];
+        int nIns = 0;
+        int nOuts = 0;
+        for (int g = 0; g < nGates; g++) {
+            kinds[g] = kind(gates[g]);
+            nIns += gates[g].getInputs().length;
+            nOuts += gates[g].getOutputs().length;
+        }
+        inNets = new int[nIns];
+        outNets = new int[nOuts];
+        int i = 0;
+        int o = 0;
+        for (int g = 0; g < nGates; g++) {
+            inOffsets[g] = i;
+            for (Input input : gates[g].getInputs()) {
+                inNets[i++] = netOf(input);
+            }
+            outOffsets[g] = o;
+            for (Output output : gates[g].getOutputs()) {
+                outNets[o++] = netOf(output);
+            }
+        }
+        inOffsets[nGates] = i;
+        outOffsets[nGates] = o;
+
+        nNets = sourceList.size();
+        sources = sourceList.toArray(new Port[nNets]);
+        drivers = new int[nNets];
+        for (int n = 0; n < nNets; n++) {
+            drivers[n] = -1;
+        }
+        for (int g = 0; g < nGates; g++) {
+            for (int k = outOffsets[g]; k < outOffsets[g + 1]; k++) {
+                drivers[outNets[k]] = g;
+            }
+        }
+
+        ports = portList.toArray(new Port[portList.size()]);
+        portNets = new int[ports.length];
+        for (int p = 0; p < ports.length; p++) {
+            portNets[p] = netOf(ports[p]);
+        }
+
+        // all ports on nets reaching the outputs of top node
+        boolean[] observed = new boolean[nNets];
+        for (Port port : observedList) {
+            observed[netOf(port)] = true;
+        }
+        int nObserved = 0;
+        for (int p = 0; p < ports.length; p++) {
+            if (observed[portNets[p]]) nObserved++;
+        }
+        observedPorts = new Port[nObserved];
+        observedNets = new int[nObserved];
+        nObserved = 0;
+        for (int p = 0; p < ports.length; p++) {
+            if (observed[portNets[p]]) {
+                observedPorts[nObserved] = ports[p];
+                observedNets[nObserved] = portNets[p];
+                nObserved++;
+            }
+        }
+    }
+
+    private static int kind(AtomicNode gate) {
+        switch (gate.primitive()) {
+            case "and":
+                return GATE_AND;
+            case "or":
+                return GATE_OR;
+            case "xor":
+                return GATE_XOR;
+            case "nand":
+                return GATE_NAND;
+            case "nor":
+                return GATE_NOR;
+            case "xnor":
+                return GATE_XNOR;
+            case "not":
+                return GATE_NOT;
+            case "buf":
+                return GATE_BUF;
+            case "pullup":
+                return GATE_PULLUP;
+            case "pulldown":
+                return GATE_PULLDOWN;
+            default:
+                return GATE_OBJECT;
+        }
+    }
+
+    // value of a gate of a flat kind, its inputs being values[inNets[from]] ... values[inNets[to - 1]]
+    static int evaluate(int kind, int[] values, int[] inNets, int from, int to) {
+        switch (kind) {
+            case GATE_AND:
+                return TruthTable.reduce(TruthTable.AND, values, inNets, from, to);
+            case GATE_OR:
+                return TruthTable.reduce(TruthTable.OR, values, inNets, from, to);
+            case GATE_XOR:
+                return TruthTable.reduce(TruthTable.XOR, values, inNets, from, to);
+            case GATE_NAND:
+                return TruthTable.NOT[TruthTable.reduce(TruthTable.AND, values, inNets, from, to)];
+            case GATE_NOR:
+                return TruthTable.NOT[TruthTable.reduce(TruthTable.OR, values, inNets, from, to)];
+            case GATE_XNOR:
+                return TruthTable.NOT[TruthTable.reduce(TruthTable.XOR, values, inNets, from, to)];
+            case GATE_NOT:
+                return TruthTable.NOT[values[inNets[from]]];
+            case GATE_BUF:
+                return TruthTable.BUF[values[inNets[from]]];
+            case GATE_PULLUP:
+                return Value.VALUE_1;
+            case GATE_PULLDOWN:
+                return Value.VALUE_0;
+            default:
+                throw new IllegalArgumentException("gate kind " + kind + " has no flat implementation");
+        }
+    }
+
+    // topological sort (Kahn), then gates are reordered level by level.
+    private void levelize() {
+        int nGates = gates.length;
+        // loads of net n: loads[loadOffsets[n]] ... loads[loadOffsets[n + 1] - 1]
+        int[] loadOffsets = new int[nNets + 1];
+        for (int net : inNets) {
+            loadOffsets[net + 1]++;
+        }
+        for (int n = 0; n < nNets; n++) {
+            loadOffsets[n + 1] += loadOffsets[n];
+        }
+        int[] loads = new int[inNets.length];
+        int[] fill = new int[nNets];
+        int[] pending = new int[nGates];
+        for (int g = 0; g < nGates; g++) {
+            for (int k = inOffsets[g]; k < inOffsets[g + 1]; k++) {
+                int net = inNets[k];
+                loads[loadOffsets[net] + fill[net]++] = g;
+                if (drivers[net] >= 0) {
+                    pending[g]++;
+                }
+            }
+        }
+
+        levels = new int[nGates];
+        int[] queue = new int[nGates];
+        int head = 0;
+        int tail = 0;
+        for (int g = 0; g < nGates; g++) {
+            if (pending[g] == 0) {
+                queue[tail++] = g;
+            }
+        }
+        while (head < tail) {
+            int g = queue[head++];
+            for (int k = outOffsets[g]; k < outOffsets[g + 1]; k++) {
+                int net = outNets[k];
+                for (int l = loadOffsets[net]; l < loadOffsets[net + 1]; l++) {
+                    int h = loads[l];
+                    levels[h] = Math.max(levels[h], levels[g] + 1);
+                    if (--pending[h] == 0) {
+                        queue[tail++] = h;
+                    }
+                }
+            }
+        }
+
+        combinational = tail == nGates;
+        int[] order = new int[nGates];
+        if (combinational) {
+            nLevels = 0;
+            for (int g = 0; g < nGates; g++) {
+                nLevels = Math.max(nLevels, levels[g] + 1);
+            }
+            int[] levelOffsets = new int[nLevels + 1];
+            for (int g = 0; g < nGates; g++) {
+                levelOffsets[levels[g] + 1]++;
+            }
+            for (int l = 0; l < nLevels; l++) {
+                levelOffsets[l + 1] += levelOffsets[l];
+            }
+            for (int g = 0; g < nGates; g++) {
+                order[levelOffsets[levels[g]]++] = g;
+            }
+        } else {
+            // keep the order gates are visited, levels are meaningless with loops
+            nLevels = 0;
+            for (int g = 0; g < nGates; g++) {
+                order[g] = g;
+                levels[g] = -1;
+            }
+        }
+        reorder(order);
+    }
+
+    private void reorder(int[] order) {
+        int nGates = gates.length;
+        AtomicNode[] newGates = new AtomicNode[nGates];
+        int[] newKinds = new int[nGates];
+        int[] newLevels = new int[nGates];
+        int[] newInOffsets = new int[nGates + 1];
+        int[] newInNets = new int[inNets.length];
+        int[] newOutOffsets = new int[nGates + 1];
+        int[] newOutNets = new int[outNets.length];
+        int[] position = new int[nGates];
+        int i = 0;
+        int o = 0;
+        for (int g = 0; g < nGates; g++) {
+            int old = order[g];
+            position[old] = g;
+            newGates[g] = gates[old];
+            newKinds[g] = kinds[old];
+            newLevels[g] = levels[old];
+            newInOffsets[g] = i;
+            for (int k = inOffsets[old]; k < inOffsets[old + 1]; k++) {
+                newInNets[i++] = inNets[k];
+            }
+            newOutOffsets[g] = o;
+            for (int k = outOffsets[old]; k < outOffsets[old + 1]; k++) {
+                newOutNets[o++] = outNets[k];
+            }
+        }
+        newInOffsets[nGates] = i;
+        newOutOffsets[nGates] = o;
+        for (int n = 0; n < nNets; n++) {
+            if (drivers[n] >= 0) {
+                drivers[n] = position[drivers[n]];
+            }
+        }
+        gates = newGates;
+        kinds = newKinds;
+        levels = newLevels;
+        inOffsets = newInOffsets;
+        inNets = newInNets;
+        outOffsets = newOutOffsets;
+        outNets = newOutNets;
+    }
+
+    public Node getTop() {
+        return top;
+    }
+
+    public boolean isCombinational() {
+        return combinational;
+    }
+
+    public int nGates() {
+        return gates.length;
+    }
+
+    public int nNets() {
+        return nNets;
+    }
+
+    public int nLevels() {
+        return nLevels;
+    }
+
+    public AtomicNode gate(int g) {
+        return gates[g];
+    }
+
+    public int kind(int g) {
+        return kinds[g];
+    }
+
+    public int level(int g) {
+        return levels[g];
+    }
+
+    public int driver(int net) {
+        return drivers[net];
+    }
+
+    public Port source(int net) {
+        return sources[net];
+    }
+
+    // -1 if the port is not part of the netlist
+    public int net(Port port) {
+        if (labeled != null) {
+            return netOf(port);
+        }
+        // frozen: a search, for the few wires a testbench reads
+        for (int p = 0; p < ports.length; p++) {
+            if (ports[p] == port) {
+                return portNets[p];
+            }
+        }
+        return -1;
+    }
+
+    public int net(Wire wire) {
+        int net = net(wire.getOutput());
+        return net >= 0 ? net : net(wire.getInput());
+    }
+
+    int[] inOffsets() {
+        return inOffsets;
+    }
+
+    int[] inNets() {
+        return inNets;
+    }
+
+    int[] outOffsets() {
+        return outOffsets;
+    }
+
+    int[] outNets() {
+        return outNets;
+    }
+
+    int[] kinds() {
+        return kinds;
+    }
+
+    AtomicNode[] gates() {
+        return gates;
+    }
+
+    Port[] sources() {
+        return sources;
+    }
+
+    Port[] ports() {
+        return ports;
+    }
+
+    int[] portNets() {
+        return portNets;
+    }
+
+    Port[] observedPorts() {
+        return observedPorts;
+    }
+
+    int[] observedNets() {
+        return observedNets;
+    }
+}
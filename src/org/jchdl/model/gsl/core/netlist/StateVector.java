@@ -0,0 +1,239 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.core.netlist;
+
+import org.jchdl.model.gsl.core.datatype.net.ResolvedNet;
+import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.meta.Node;
+import org.jchdl.model.gsl.core.meta.Port;
+import org.jchdl.model.gsl.core.meta.Propagatable;
+import org.jchdl.model.gsl.core.meta.Stateful;
+import org.jchdl.model.gsl.core.switches.Switch;
+import org.jchdl.model.gsl.core.value.SignalStore;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+
+// The state of an elaborated design in one long[]: the values of all the ports connected to it,
+// 2 bits per port, followed by the state of its Stateful nodes and nets, e.g. flip-flops and memories.
+// When the ports keep their values in one SignalStore, the values are the words of the whole store,
+// copied in bulk; otherwise they are packed port by port.
+// A state restored is exactly the one snapshot, so a design elaborated and reset once can start
+// any number of tests. Snapshots are taken once a propagation is over: the propagatables queued
+// in the context and the transitions pending on its timing wheel are not part of the state.
+public class StateVector {
+    private static final int MAGIC = 0x4a435356;
+
+    private Port[] ports;
+    private Stateful[] stateful;
+    private int[] offsets;
+    // the store of all the ports, null if not all of them are in the same one
+    private SignalStore store;
+    // signals of the store when the vector was made, the ones allocated since are not restored
+    private int nSignals;
+    private int nValueWords;
+    private int size;
+
+    private StateVector(Propagatable[] roots) {
+        ArrayList<Port> portList = new ArrayList<>(256);
+        ArrayList<Stateful> statefulList = new ArrayList<>(16);
+        collect(roots, portList, statefulList);
+        ports = portList.toArray(new Port[0]);
+        stateful = statefulList.toArray(new Stateful[0]);
+
+        store = ports.length > 0 ? ports[0].getStore() : null;
+        for (Port port : ports) {
+            if (port.getStore() != store) {
+                store = null;
+                break;
+            }
+        }
+        nSignals = store != null ? store.size() : 0;
+        nValueWords = store != null ? store.snapshotSize() : (ports.length + 31) / 32;
+        offsets = new int[stateful.length];
+        size = nValueWords;
+        for (int i = 0; i < stateful.length; i++) {
+            offsets[i] = size;
+            size += stateful[i].stateSize();
+        }
+    }
+
+    // everything connected to the node, through its ports and the nets of its switches
+    public static StateVector of(Node top) {
+        return new StateVector(new Propagatable[]{top});
+    }
+
+    public static StateVector of(Propagatable... roots) {
+        return new StateVector(roots);
+    }
+
+    private static void collect(Propagatable[] roots, ArrayList<Port> portList, ArrayList<Stateful> statefulList) {
+        IdentityHashMap<Propagatable, Boolean> visited = new IdentityHashMap<>(1024);
+        ArrayDeque<Propagatable> queue = new ArrayDeque<>(256);
+        for (Propagatable root : roots) {
+            visit(root, visited, queue);
+        }
+        Propagatable p;
+        while ((p = queue.poll()) != null) {
+            if (p instanceof Port) {
+                Port port = (Port) p;
+                portList.add(port);
+                for (Port downstream : port.getDownstreams()) {
+                    visit(downstream, visited, queue);
+                }
+                visit(port.getUpstream(), visited, queue);
+                visit(port.getOwner(), visited, queue);
+                continue;
+            }
+            if (p instanceof Stateful) {
+                statefulList.add((Stateful) p);
+            }
+            if (p instanceof Node) {
+                Node node = (Node) p;
+                visit(node.getInputs(), visited, queue);
+                visit(node.getOutputs(), visited, queue);
+                if (node instanceof Switch) {
+                    visit(((Switch) node).from(), visited, queue);
+                    visit(((Switch) node).to(), visited, queue);
+                }
+            } else if (p instanceof Wire) {
+                Wire wire = (Wire) p;
+                visit(wire.getInput(), visited, queue);
+                visit(wire.getOutput(), visited, queue);
+                if (wire instanceof ResolvedNet) {
+                    visit(((ResolvedNet) wire).getDrivers().toArray(new Port[0]), visited, queue);
+                }
+            }
+        }
+    }
+
+    private static void visit(Propagatable p, IdentityHashMap<Propagatable, Boolean> visited, ArrayDeque<Propagatable> queue) {
+        if (p != null && visited.put(p, Boolean.TRUE) == null) {
+            queue.add(p);
+        }
+    }
+
+    private static void visit(Port[] ports, IdentityHashMap<Propagatable, Boolean> visited, ArrayDeque<Propagatable> queue) {
+        if (ports != null) {
+            for (Port port : ports) {
+                visit(port, visited, queue);
+            }
+        }
+    }
+
+    public long[] snapshot() {
+        long[] state = new long[size];
+        if (store != null) {
+            store.snapshot(state, 0, nValueWords);
+        } else {
+            for (int i = 0; i < ports.length; i++) {
+                state[i >>> 5] |= (long) ports[i].get() << ((i & 31) << 1);
+            }
+        }
+        for (int i = 0; i < stateful.length; i++) {
+            stateful[i].save(state, offsets[i]);
+        }
+        return state;
+    }
+
+    public void restore(long[] state) {
+        if (state.length != size) {
+            throw new IllegalArgumentException("state of " + state.length + " longs, " + size + " expected");
+        }
+        if (store != null) {
+            store.restore(state, 0, nSignals);
+        } else {
+            for (int i = 0; i < ports.length; i++) {
+                ports[i].set((int) (state[i >>> 5] >>> ((i & 31) << 1)) & 0x03);
+            }
+        }
+        for (int i = 0; i < stateful.length; i++) {
+            stateful[i].load(state, offsets[i]);
+        }
+    }
+
+    // number of signals whose value differs from the state
+    public int compare(long[] state) {
+        long[] now = snapshot();
+        int diff = 0;
+        for (int i = 0; i < nValueWords; i++) {
+            long x = now[i] ^ state[i];
+            diff += Long.bitCount((x | (x >>> 1)) & 0x5555555555555555L);
+        }
+        for (int i = nValueWords; i < size; i++) {
+            if (now[i] != state[i]) {
+                diff++;
+            }
+        }
+        return diff;
+    }
+
+    // longs of a state
+    public int size() {
+        return size;
+    }
+
+    public int nPorts() {
+        return ports.length;
+    }
+
+    public int nStateful() {
+        return stateful.length;
+    }
+
+    public static void save(long[] state, Path path) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(state.length);
+            for (long word : state) {
+                out.writeLong(word);
+            }
+        }
+    }
+
+    public static long[] load(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException(path + ": not a state vector");
+            }
+            long[] state = new long[in.readInt()];
+            for (int i = 0; i < state.length; i++) {
+                state[i] = in.readLong();
+            }
+            return state;
+        }
+    }
+}
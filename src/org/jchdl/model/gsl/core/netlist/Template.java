@@ -0,0 +1,330 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.core.netlist;
+
+import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.io.Input;
+import org.jchdl.model.gsl.core.io.Output;
+import org.jchdl.model.gsl.core.meta.AtomicNode;
+import org.jchdl.model.gsl.core.meta.Node;
+import org.jchdl.model.gsl.core.meta.SimulationContext;
+import org.jchdl.model.gsl.core.value.Value;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+// Elaborates a node once and instantiates its copies from flat arrays.
+// The first node of a class, numbers of ports and Node.templateKey() runs logic() as usual;
+// its combinational netlist of flat gates is then recorded in level order.
+// Every later node with the same key gets a single TemplateNode instead of its hierarchy:
+// the gates are shared by all copies, each copy only clones the array of net values.
+// Netlists with loops, delays or gates without a flat kind are not recorded, those nodes always run logic().
+// Copies evaluate all their gates whenever an input changes. A copy is a compacted node:
+// enabling templates disables Node.toVerilog() for the nodes copied, export a design built without them.
+// Templates are enabled and recorded per SimulationContext, so designs elaborated on other threads
+// in other contexts never share them.
+public class Template {
+    // recorded for nodes which cannot be copied, to flatten them only once
+    private static final Template NONE = new Template();
+
+    private String name;
+    // gate g: kinds[g] of values[inNets[inOffsets[g]]] ... values[inNets[inOffsets[g + 1] - 1]],
+    // written to values[outNets[g]]
+    private int[] kinds;
+    private int[] inOffsets;
+    private int[] inNets;
+    private int[] outNets;
+    // initial net values: constants inside the node, X elsewhere
+    private int[] values;
+    // nets of the ports of the node
+    private int[] inputNets;
+    private int[] outputNets;
+
+    private Template() {
+    }
+
+    // in the current context
+    public static boolean isEnabled() {
+        return SimulationContext.current().isTemplating();
+    }
+
+    public static void setEnabled(boolean enabled) {
+        SimulationContext.current().setTemplating(enabled);
+    }
+
+    // number of templates recorded in the current context, including nodes found not to be copyable
+    public static int size() {
+        return SimulationContext.current().getTemplates().size();
+    }
+
+    public static void clear() {
+        SimulationContext.current().getTemplates().clear();
+    }
+
+    private static List<Object> key(Node node, Object key) {
+        return Arrays.asList(node.getClass(), node.getInputs().length, node.getOutputs().length, key);
+    }
+
+    // called by Node.construct() in place of logic(): false if logic() has to run
+    public static boolean instantiate(Node node) {
+        SimulationContext context = node.getContext();
+        if (!context.isTemplating()) {
+            return false;
+        }
+        Object key = node.templateKey();
+        if (key == null) {
+            return false;
+        }
+        Template template = context.getTemplates().get(key(node, key));
+        if (template == null || template == NONE) {
+            return false;
+        }
+        Input[] inputs = node.getInputs();
+        Output[] outputs = node.getOutputs();
+        Wire[] ins = new Wire[inputs.length];
+        for (int i = 0; i < inputs.length; i++) {
+            ins[i] = new Wire(inputs[i]);
+        }
+        Wire[] outs = new Wire[outputs.length];
+        for (int i = 0; i < outputs.length; i++) {
+            outs[i] = new Wire(outputs[i]);
+        }
+        TemplateNode.inst(template, outs, ins);
+        node.setCompacted(true);
+        return true;
+    }
+
+    // called by Node.construct() after logic(), before the node is connected
+    public static void record(Node node) {
+        SimulationContext context = node.getContext();
+        if (!context.isTemplating()) {
+            return;
+        }
+        Object key = node.templateKey();
+        if (key == null) {
+            return;
+        }
+        HashMap<List<Object>, Template> templates = context.getTemplates();
+        List<Object> k = key(node, key);
+        if (!templates.containsKey(k)) {
+            Template template = flatten(node);
+            templates.put(k, template == null ? NONE : template);
+        }
+    }
+
+    // null if the node cannot be copied
+    private static Template flatten(Node node) {
+        Netlist netlist;
+        try {
+            netlist = Netlist.flatten(node);
+        } catch (IllegalArgumentException e) {
+            // e.g. a ResolvedNet inside
+            return null;
+        }
+        if (!netlist.isCombinational()) {
+            return null;
+        }
+        Builder builder = new Builder(netlist.nNets());
+        for (int n = 0; n < netlist.nNets(); n++) {
+            builder.values.add(netlist.driver(n) >= 0 ? Value.VALUE_X : netlist.source(n).get());
+        }
+        int[] inOffsets = netlist.inOffsets();
+        int[] inNets = netlist.inNets();
+        int[] outOffsets = netlist.outOffsets();
+        int[] outNets = netlist.outNets();
+        for (int g = 0; g < netlist.nGates(); g++) {
+            AtomicNode gate = netlist.gate(g);
+            if (gate.getDelay() != null) {
+                return null;
+            }
+            int[] ins = Arrays.copyOfRange(inNets, inOffsets[g], inOffsets[g + 1]);
+            int[] outs = Arrays.copyOfRange(outNets, outOffsets[g], outOffsets[g + 1]);
+            if (netlist.kind(g) != Netlist.GATE_OBJECT) {
+                builder.gate(netlist.kind(g), ins, outs[0]);
+            } else if (gate instanceof TemplateNode) {
+                builder.inline(((TemplateNode) gate).getTemplate(), ins, outs);
+            } else if (outs.length > 0) {
+                return null;
+            }
+            // gates without outputs, e.g. Ground, are left out
+        }
+
+        Template template = builder.build();
+        template.name = node.getName();
+        template.inputNets = nets(netlist, node.getInputs());
+        template.outputNets = nets(netlist, node.getOutputs());
+        for (int net : template.outputNets) {
+            if (net < 0) {
+                return null;
+            }
+        }
+        return template;
+    }
+
+    private static int[] nets(Netlist netlist, Input[] ports) {
+        int[] nets = new int[ports.length];
+        for (int i = 0; i < ports.length; i++) {
+            nets[i] = netlist.net(ports[i]);
+        }
+        return nets;
+    }
+
+    private static int[] nets(Netlist netlist, Output[] ports) {
+        int[] nets = new int[ports.length];
+        for (int i = 0; i < ports.length; i++) {
+            nets[i] = netlist.net(ports[i]);
+        }
+        return nets;
+    }
+
+    // gates and nets of a template under construction
+    private static class Builder {
+        private ArrayList<Integer> kinds = new ArrayList<>(256);
+        private ArrayList<Integer> inOffsets = new ArrayList<>(256);
+        private ArrayList<Integer> inNets = new ArrayList<>(512);
+        private ArrayList<Integer> outNets = new ArrayList<>(256);
+        private ArrayList<Integer> values;
+
+        private Builder(int nNets) {
+            values = new ArrayList<>(nNets);
+        }
+
+        private void gate(int kind, int[] ins, int out) {
+            kinds.add(kind);
+            inOffsets.add(inNets.size());
+            for (int in : ins) {
+                inNets.add(in);
+            }
+            outNets.add(out);
+        }
+
+        // the gates of a copy, renumbering its nets:
+        // its inputs and outputs onto the nets of the copy, other nets after the nets known so far
+        private void inline(Template template, int[] ins, int[] outs) {
+            int nNets = template.values.length;
+            int[] map = new int[nNets];
+            Arrays.fill(map, -1);
+            boolean[] driven = new boolean[nNets];
+            for (int net : template.outNets) {
+                driven[net] = true;
+            }
+            for (int i = 0; i < ins.length; i++) {
+                map[template.inputNets[i]] = ins[i];
+            }
+            // outputs on a net already mapped, or not driven by a gate, are copied by a buf
+            boolean[] copied = new boolean[outs.length];
+            for (int i = 0; i < outs.length; i++) {
+                int net = template.outputNets[i];
+                if (driven[net] && map[net] < 0) {
+                    map[net] = outs[i];
+                } else {
+                    copied[i] = true;
+                }
+            }
+            for (int net = 0; net < nNets; net++) {
+                if (map[net] < 0) {
+                    map[net] = values.size();
+                    values.add(template.values[net]);
+                }
+            }
+            for (int g = 0; g < template.kinds.length; g++) {
+                int from = template.inOffsets[g];
+                int to = template.inOffsets[g + 1];
+                int[] gateIns = new int[to - from];
+                for (int k = from; k < to; k++) {
+                    gateIns[k - from] = map[template.inNets[k]];
+                }
+                gate(template.kinds[g], gateIns, map[template.outNets[g]]);
+            }
+            for (int i = 0; i < outs.length; i++) {
+                if (copied[i]) {
+                    gate(Netlist.GATE_BUF, new int[]{map[template.outputNets[i]]}, outs[i]);
+                }
+            }
+        }
+
+        private Template build() {
+            Template template = new Template();
+            int nGates = kinds.size();
+            template.kinds = new int[nGates];
+            template.inOffsets = new int[nGates + 1];
+            template.outNets = new int[nGates];
+            for (int g = 0; g < nGates; g++) {
+                template.kinds[g] = kinds.get(g);
+                template.inOffsets[g] = inOffsets.get(g);
+                template.outNets[g] = outNets.get(g);
+            }
+            template.inOffsets[nGates] = inNets.size();
+            template.inNets = new int[inNets.size()];
+            for (int k = 0; k < inNets.size(); k++) {
+                template.inNets[k] = inNets.get(k);
+            }
+            template.values = new int[values.size()];
+            for (int n = 0; n < values.size(); n++) {
+                template.values[n] = values.get(n);
+            }
+            return template;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int nGates() {
+        return kinds.length;
+    }
+
+    public int nNets() {
+        return values.length;
+    }
+
+    // the net values a copy starts with
+    int[] values() {
+        return values.clone();
+    }
+
+    // evaluate all gates over the net values of a copy, for the values of its inputs
+    void evaluate(int[] values, Input[] inputs, Output[] outputs) {
+        for (int i = 0; i < inputs.length; i++) {
+            values[inputNets[i]] = inputs[i].get();
+        }
+        int[] kinds = this.kinds;
+        int[] inOffsets = this.inOffsets;
+        int[] inNets = this.inNets;
+        int[] outNets = this.outNets;
+        for (int g = 0; g < kinds.length; g++) {
+            values[outNets[g]] = Netlist.evaluate(kinds[g], values, inNets, inOffsets[g], inOffsets[g + 1]);
+        }
+        for (int i = 0; i < outputs.length; i++) {
+            outputs[i].set(values[outputNets[i]]);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.core.netlist;
+
+import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.meta.AtomicNode;
+import org.jchdl.model.gsl.core.meta.Stateful;
+
+// A copy of a node recorded by Template: the shared gates over the net values of this copy.
+public class TemplateNode extends AtomicNode implements Stateful {
+    private Template template;
+    private int[] values;
+
+    public TemplateNode(Template template, Wire[] outWires, Wire[] inWires) {
+        this.template = template;
+        this.values = template.values();
+        in(inWires);
+        out(outWires);
+        construct();
+    }
+
+    public Template getTemplate() {
+        return template;
+    }
+
+    @Override
+    public void atomic() {
+        template.evaluate(values, getInputs(), getOutputs());
+    }
+
+    // the net values inside the copy, latches included
+    @Override
+    public int stateSize() {
+        return Stateful.words(values.length);
+    }
+
+    @Override
+    public void save(long[] state, int at) {
+        Stateful.pack(values, state, at);
+    }
+
+    @Override
+    public void load(long[] state, int at) {
+        Stateful.unpack(state, at, values);
+    }
+
+    @Override
+    public String primitive() {
+        return "";
+    }
+
+    @Override
+    public String getName() {
+        return template.getName();
+    }
+
+    public static TemplateNode inst(Template template, Wire[] outWires, Wire[] inWires) {
+        return new TemplateNode(template, outWires, inWires);
+    }
+}
@@ -25,3 +25,16 @@
 // CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
 // ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
 // THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.core.strength;
+
+public class Highz0 extends Strength0 {
+    private static final Highz0 INSTANCE = new Highz0();
+
+    private Highz0() {
+        super(Strength.HIGHZ);
+    }
+
+    public static Highz0 inst() {
+        return INSTANCE;
+    }
+}
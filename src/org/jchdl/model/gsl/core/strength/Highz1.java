@@ -25,3 +25,16 @@
 // CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
 // ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
 // THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.core.strength;
+
+public class Highz1 extends Strength1 {
+    private static final Highz1 INSTANCE = new Highz1();
+
+    private Highz1() {
+        super(Strength.HIGHZ);
+    }
+
+    public static Highz1 inst() {
+        return INSTANCE;
+    }
+}
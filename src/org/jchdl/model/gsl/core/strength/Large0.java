@@ -25,3 +25,16 @@
 // CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
 // ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
 // THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.core.strength;
+
+public class Large0 extends Strength0 {
+    private static final Large0 INSTANCE = new Large0();
+
+    private Large0() {
+        super(Strength.LARGE);
+    }
+
+    public static Large0 inst() {
+        return INSTANCE;
+    }
+}
@@ -25,3 +25,16 @@
 // CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
 // ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
 // THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.core.strength;
+
+public class Large1 extends Strength1 {
+    private static final Large1 INSTANCE = new Large1();
+
+    private Large1() {
+        super(Strength.LARGE);
+    }
+
+    public static Large1 inst() {
+        return INSTANCE;
+    }
+}
@@ -25,3 +25,16 @@
 // CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
 // ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
 // THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.core.strength;
+
+public class Medium0 extends Strength0 {
+    private static final Medium0 INSTANCE = new Medium0();
+
+    private Medium0() {
+        super(Strength.MEDIUM);
+    }
+
+    public static Medium0 inst() {
+        return INSTANCE;
+    }
+}
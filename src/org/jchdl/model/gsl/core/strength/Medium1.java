@@ -25,3 +25,16 @@
 // CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
 // ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
 // THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.core.strength;
+
+public class Medium1 extends Strength1 {
+    private static final Medium1 INSTANCE = new Medium1();
+
+    private Medium1() {
+        super(Strength.MEDIUM);
+    }
+
+    public static Medium1 inst() {
+        return INSTANCE;
+    }
+}
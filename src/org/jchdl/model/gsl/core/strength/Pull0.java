@@ -25,3 +25,16 @@
 // CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
 // ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
 // THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.core.strength;
+
+public class Pull0 extends Strength0 {
+    private static final Pull0 INSTANCE = new Pull0();
+
+    private Pull0() {
+        super(Strength.PULL);
+    }
+
+    public static Pull0 inst() {
+        return INSTANCE;
+    }
+}
@@ -25,3 +25,16 @@
 // CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
 // ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
 // THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.core.strength;
+
+public class Pull1 extends Strength1 {
+    private static final Pull1 INSTANCE = new Pull1();
+
+    private Pull1() {
+        super(Strength.PULL);
+    }
+
+    public static Pull1 inst() {
+        return INSTANCE;
+    }
+}
@@ -0,0 +1,183 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.core.strength;
+
+import org.jchdl.model.gsl.core.value.Value;
+
+// Lookup tables resolving the values driven onto a net with several drivers.
+// A strength value is a range [lo, hi] on the scale
+//   Su0 St0 Pu0 La0 We0 Me0 Sm0 HiZ Sm1 Me1 We1 La1 Pu1 St1 Su1
+//   -7  -6  -5  -4  -3  -2  -1   0   1   2   3   4   5   6   7
+// e.g. St0 is [-6, -6], StX is [-6, 6], and a pull-down with a strong x driver is StL, [-6, 0].
+// Its code is lo + 7 | (hi + 7) << 4. Resolving two codes is a lookup in the table of the net type;
+// all the tables are commutative and associative, HiZ being neutral, so the drivers of a net
+// are resolved in any order, and a code resolved with itself stays the same.
+public class Resolution {
+    public static final int HIGHZ = code(0, 0);
+    public static final int PULL0 = code(-Strength.PULL, -Strength.PULL);
+    public static final int PULL1 = code(Strength.PULL, Strength.PULL);
+    public static final int SUPPLY0 = code(-Strength.SUPPLY, -Strength.SUPPLY);
+    public static final int SUPPLY1 = code(Strength.SUPPLY, Strength.SUPPLY);
+    public static final int CODES = 256;
+
+    // wire, tri, uwire and the tri0, tri1 and supply nets: the stronger value wins
+    public static final byte[] WIRE = new byte[CODES * CODES];
+    // wand and triand: the stronger value wins, values of the same strength are and-ed
+    public static final byte[] WAND = new byte[CODES * CODES];
+    // wor and trior: the stronger value wins, values of the same strength are or-ed
+    public static final byte[] WOR = new byte[CODES * CODES];
+
+    // code of a 4-state value driven with strengths s0 and s1: DRIVE[v << 6 | s0 << 3 | s1]
+    private static final byte[] DRIVE = new byte[4 << 6];
+    // 4-state value of a code
+    private static final byte[] VALUE = new byte[CODES];
+
+    // what opposite levels of the same strength give
+    private static final int BOTH = 0;
+    private static final int AND = 1;
+    private static final int OR = 2;
+
+    private static final String[] MNEMONICS = {"Hi", "Sm", "Me", "We", "La", "Pu", "St", "Su"};
+
+    static {
+        for (int s0 = 0; s0 < 8; s0++) {
+            for (int s1 = 0; s1 < 8; s1++) {
+                int i = s0 << 3 | s1;
+                DRIVE[Value.VALUE_0 << 6 | i] = (byte) code(-s0, -s0);
+                DRIVE[Value.VALUE_1 << 6 | i] = (byte) code(s1, s1);
+                DRIVE[Value.VALUE_X << 6 | i] = (byte) code(-s0, s1);
+                DRIVE[Value.VALUE_Z << 6 | i] = (byte) HIGHZ;
+            }
+        }
+        for (int a = 0; a < CODES; a++) {
+            VALUE[a] = (byte) (isCode(a) ? value(lo(a), hi(a)) : Value.VALUE_X);
+        }
+        for (int a = 0; a < CODES; a++) {
+            for (int b = 0; b < CODES; b++) {
+                if (isCode(a) && isCode(b)) {
+                    WIRE[a << 8 | b] = (byte) resolve(a, b, BOTH);
+                    WAND[a << 8 | b] = (byte) resolve(a, b, AND);
+                    WOR[a << 8 | b] = (byte) resolve(a, b, OR);
+                }
+            }
+        }
+    }
+
+    private Resolution() {
+    }
+
+    public static int code(int lo, int hi) {
+        return lo + 7 | (hi + 7) << 4;
+    }
+
+    public static int lo(int code) {
+        return (code & 0xF) - 7;
+    }
+
+    public static int hi(int code) {
+        return (code >>> 4) - 7;
+    }
+
+    private static boolean isCode(int code) {
+        return (code & 0xF) < 15 && (code >>> 4) < 15 && lo(code) <= hi(code);
+    }
+
+    public static int drive(int value, int s0, int s1) {
+        return DRIVE[value << 6 | s0 << 3 | s1] & 0xFF;
+    }
+
+    public static int drive(int value, Strength0 s0, Strength1 s1) {
+        return drive(value, s0.level(), s1.level());
+    }
+
+    public static int value(int code) {
+        return VALUE[code];
+    }
+
+    public static int resolve(byte[] table, int a, int b) {
+        return table[a << 8 | b] & 0xFF;
+    }
+
+    // ranges over both sides, or reaching HiZ from one side, are x
+    private static int value(int lo, int hi) {
+        if (lo == 0 && hi == 0) {
+            return Value.VALUE_Z;
+        }
+        if (hi < 0) {
+            return Value.VALUE_0;
+        }
+        if (lo > 0) {
+            return Value.VALUE_1;
+        }
+        return Value.VALUE_X;
+    }
+
+    // every pair of levels of both ranges gives the stronger level, and for levels of the same strength:
+    // both of them on a wire, their and on a wand, their or on a wor; the result spans all of them
+    private static int resolve(int a, int b, int type) {
+        int lo = Integer.MAX_VALUE;
+        int hi = Integer.MIN_VALUE;
+        for (int p = lo(a); p <= hi(a); p++) {
+            for (int q = lo(b); q <= hi(b); q++) {
+                int s = Math.max(Math.abs(p), Math.abs(q));
+                int x = Math.abs(p) == s ? p : q;
+                int y = Math.abs(q) == s ? q : p;
+                if (type == AND) {
+                    x = y = Math.min(x, y);
+                } else if (type == OR) {
+                    x = y = Math.max(x, y);
+                }
+                lo = Math.min(lo, Math.min(x, y));
+                hi = Math.max(hi, Math.max(x, y));
+            }
+        }
+        return code(lo, hi);
+    }
+
+    // like Verilog %v: St0, Pu1, HiZ, StX, 63X for St0 to We1, PuL for Pu0 to HiZ
+    public static String toString(int code) {
+        int lo = lo(code);
+        int hi = hi(code);
+        if (lo == 0 && hi == 0) {
+            return "HiZ";
+        }
+        if (hi < 0) {
+            return MNEMONICS[-lo] + "0";
+        }
+        if (lo > 0) {
+            return MNEMONICS[hi] + "1";
+        }
+        if (hi == 0) {
+            return MNEMONICS[-lo] + "L";
+        }
+        if (lo == 0) {
+            return MNEMONICS[hi] + "H";
+        }
+        return -lo == hi ? MNEMONICS[hi] + "X" : "" + -lo + hi + "X";
+    }
+}
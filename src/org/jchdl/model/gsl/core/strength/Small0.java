@@ -25,3 +25,16 @@
 // CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
 // ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
 // THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.core.strength;
+
+public class Small0 extends Strength0 {
+    private static final Small0 INSTANCE = new Small0();
+
+    private Small0() {
+        super(Strength.SMALL);
+    }
+
+    public static Small0 inst() {
+        return INSTANCE;
+    }
+}
@@ -25,3 +25,16 @@
 // CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
 // ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
 // THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.core.strength;
+
+public class Small1 extends Strength1 {
+    private static final Small1 INSTANCE = new Small1();
+
+    private Small1() {
+        super(Strength.SMALL);
+    }
+
+    public static Small1 inst() {
+        return INSTANCE;
+    }
+}
@@ -0,0 +1,66 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.core.strength;
+
+// Drive strength of the 0 or the 1 of a driver, as in Verilog (strong0, pull1) etc.
+// Levels go from highz (0) to supply (7); the driver of a ResolvedNet puts its value on the net
+// with the strength of its 0 or its 1, see Resolution.
+public abstract class Strength {
+    public static final int HIGHZ = 0;
+    public static final int SMALL = 1;
+    public static final int MEDIUM = 2;
+    public static final int WEAK = 3;
+    public static final int LARGE = 4;
+    public static final int PULL = 5;
+    public static final int STRONG = 6;
+    public static final int SUPPLY = 7;
+
+    private static final String[] NAMES = {"highz", "small", "medium", "weak", "large", "pull", "strong", "supply"};
+
+    private int level;
+    private int value;
+
+    Strength(int level, int value) {
+        this.level = level;
+        this.value = value;
+    }
+
+    public int level() {
+        return level;
+    }
+
+    // 0 or 1
+    public int value() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return NAMES[level] + value;
+    }
+}
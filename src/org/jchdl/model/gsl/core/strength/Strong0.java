@@ -25,3 +25,16 @@
 // CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
 // ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
 // THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.core.strength;
+
+public class Strong0 extends Strength0 {
+    private static final Strong0 INSTANCE = new Strong0();
+
+    private Strong0() {
+        super(Strength.STRONG);
+    }
+
+    public static Strong0 inst() {
+        return INSTANCE;
+    }
+}
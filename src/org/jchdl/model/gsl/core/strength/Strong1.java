@@ -25,3 +25,16 @@
 // CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
 // ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
 // THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.core.strength;
+
+public class Strong1 extends Strength1 {
+    private static final Strong1 INSTANCE = new Strong1();
+
+    private Strong1() {
+        super(Strength.STRONG);
+    }
+
+    public static Strong1 inst() {
+        return INSTANCE;
+    }
+}
@@ -25,3 +25,16 @@
 // CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
 // ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
 // THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.core.strength;
+
+public class Supply0 extends Strength0 {
+    private static final Supply0 INSTANCE = new Supply0();
+
+    private Supply0() {
+        super(Strength.SUPPLY);
+    }
+
+    public static Supply0 inst() {
+        return INSTANCE;
+    }
+}
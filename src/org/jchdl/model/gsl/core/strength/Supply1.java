@@ -25,3 +25,16 @@
 // CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
 // ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
 // THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.core.strength;
+
+public class Supply1 extends Strength1 {
+    private static final Supply1 INSTANCE = new Supply1();
+
+    private Supply1() {
+        super(Strength.SUPPLY);
+    }
+
+    public static Supply1 inst() {
+        return INSTANCE;
+    }
+}
@@ -25,3 +25,16 @@
 // CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
 // ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
 // THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.core.strength;
+
+public class Weak0 extends Strength0 {
+    private static final Weak0 INSTANCE = new Weak0();
+
+    private Weak0() {
+        super(Strength.WEAK);
+    }
+
+    public static Weak0 inst() {
+        return INSTANCE;
+    }
+}
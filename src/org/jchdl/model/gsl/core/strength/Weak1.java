@@ -25,3 +25,16 @@
 // CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
 // ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
 // THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.core.strength;
+
+public class Weak1 extends Strength1 {
+    private static final Weak1 INSTANCE = new Weak1();
+
+    private Weak1() {
+        super(Strength.WEAK);
+    }
+
+    public static Weak1 inst() {
+        return INSTANCE;
+    }
+}
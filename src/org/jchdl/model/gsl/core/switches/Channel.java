@@ -0,0 +1,365 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.core.switches;
+
+import org.jchdl.model.gsl.core.datatype.net.ResolvedNet;
+import org.jchdl.model.gsl.core.datatype.net.Supply0;
+import org.jchdl.model.gsl.core.datatype.net.Supply1;
+import org.jchdl.model.gsl.core.meta.Propagatable;
+import org.jchdl.model.gsl.core.meta.SimulationContext;
+import org.jchdl.model.gsl.core.strength.Resolution;
+import org.jchdl.model.gsl.core.strength.Strength;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+
+// The nets connected by switches, whatever their state, and the value each of them is solved to.
+// Channels are merged by union-find as switches are constructed, the smaller one into the larger.
+// Supply nets are sources of the channels reading them: their value is fixed, so they do not join
+// channels together, and the cells of a circuit sharing the rails stay channels of their own.
+//
+// A net is solved to the resolution of its own drivers with the values reaching it through the
+// switches that conduct, each switch reducing the strength it passes, see Switch.transfer.
+// When switches or drivers change, only the nets conducting to them are solved again, from their
+// drivers, once for all the changes of a wave: the channel is queued as a propagatable.
+// Values are spread strongest first, with a bucket per strength level, so that a net passes on
+// the value the stronger drivers give it and not the weaker ones reaching it before: reducing
+// strengths does not keep the order of the values, a weaker value could not be taken back.
+public class Channel implements Propagatable {
+    private static final ResolvedNet[] NONE = new ResolvedNet[0];
+    // the level of the stronger end of a code
+    private static final byte[] LEVEL = new byte[Resolution.CODES];
+
+    static {
+        for (int code = 0; code < Resolution.CODES; code++) {
+            int level = Math.max(-Resolution.lo(code), Math.max(Resolution.hi(code), 0));
+            LEVEL[code] = (byte) Math.min(level, Strength.SUPPLY);
+        }
+    }
+
+    private ArrayList<ResolvedNet> nets = new ArrayList<>();
+    private IdentityHashMap<ResolvedNet, Integer> index = new IdentityHashMap<>();
+    private boolean[] sources = new boolean[4];
+    private int[] values = new int[4];
+    private ArrayList<Switch> switches = new ArrayList<>();
+    private SimulationContext context;
+    private boolean queued;
+    // the nets changed, or at a switch that changed, since the last solve
+    private int[] pending = new int[4];
+    private boolean[] changed = new boolean[4];
+    private int nPending;
+
+    // edges of the switches per net, both ways, rebuilt once switches were added
+    private boolean stale;
+    private int[] first;
+    private int[] to;
+    private Switch[] via;
+    // false for the edge from the out to the in of a mos switch, which passes no value
+    private boolean[] passes;
+
+    // the nets solved, conducting to the switch or the net that changed
+    private int[] members = new int[4];
+    private boolean[] member = new boolean[4];
+    private int nMembers;
+    private int[][] buckets = new int[Strength.SUPPLY + 1][];
+    private int[] sizes = new int[Strength.SUPPLY + 1];
+
+    private Channel(SimulationContext context) {
+        this.context = context;
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new int[4];
+        }
+    }
+
+    private static boolean isSource(ResolvedNet net) {
+        return net instanceof Supply0 || net instanceof Supply1;
+    }
+
+    // the channel of the terminals of a new switch, off until its controls are evaluated
+    static Channel connect(Switch sw) {
+        Channel channel = null;
+        for (ResolvedNet net : sw.terminals()) {
+            if (!isSource(net) && net.getChannel() != null) {
+                channel = channel == null ? net.getChannel() : merge(channel, net.getChannel());
+            }
+        }
+        if (channel == null) {
+            channel = new Channel(sw.getContext());
+        }
+        for (ResolvedNet net : sw.terminals()) {
+            channel.add(net);
+        }
+        channel.switches.add(sw);
+        channel.stale = true;
+        return channel;
+    }
+
+    private static Channel merge(Channel a, Channel b) {
+        if (a == b) {
+            return a;
+        }
+        if (a.nets.size() < b.nets.size()) {
+            Channel t = a;
+            a = b;
+            b = t;
+        }
+        for (int i = 0; i < b.nets.size(); i++) {
+            ResolvedNet net = b.nets.get(i);
+            if (b.sources[i]) {
+                net.getReaders().remove(b);
+            } else {
+                net.setChannel(null);
+            }
+            a.add(net);
+            a.values[a.index.get(net)] = b.values[i];
+            if (b.changed[i]) {
+                a.change(a.index.get(net));
+            }
+        }
+        b.nPending = 0;
+        if (b.queued) {
+            a.queue();
+        }
+        for (Switch sw : b.switches) {
+            sw.setChannel(a);
+        }
+        a.switches.addAll(b.switches);
+        a.stale = true;
+        return a;
+    }
+
+    private void add(ResolvedNet net) {
+        if (index.containsKey(net)) {
+            return;
+        }
+        int i = nets.size();
+        nets.add(net);
+        index.put(net, i);
+        if (i == values.length) {
+            sources = Arrays.copyOf(sources, 2 * i);
+            values = Arrays.copyOf(values, 2 * i);
+            members = Arrays.copyOf(members, 2 * i);
+            member = Arrays.copyOf(member, 2 * i);
+            pending = Arrays.copyOf(pending, 2 * i);
+            changed = Arrays.copyOf(changed, 2 * i);
+        }
+        sources[i] = isSource(net);
+        values[i] = net.getDrivenCode();
+        if (sources[i]) {
+            net.getReaders().add(this);
+        } else {
+            net.setChannel(this);
+        }
+    }
+
+    private void edges() {
+        int n = nets.size();
+        first = new int[n + 1];
+        for (Switch sw : switches) {
+            first[index.get(sw.from())]++;
+            first[index.get(sw.to())]++;
+        }
+        for (int i = 0; i < n; i++) {
+            first[i + 1] += first[i];
+        }
+        to = new int[first[n]];
+        via = new Switch[first[n]];
+        passes = new boolean[first[n]];
+        for (Switch sw : switches) {
+            int a = index.get(sw.from());
+            int b = index.get(sw.to());
+            to[--first[a]] = b;
+            via[first[a]] = sw;
+            passes[first[a]] = true;
+            to[--first[b]] = a;
+            via[first[b]] = sw;
+            passes[first[b]] = sw.isBidirectional();
+        }
+        stale = false;
+    }
+
+    public int code(ResolvedNet net) {
+        return values[index.get(net)];
+    }
+
+    // the solved code of a member restored with its state, see core.netlist.StateVector
+    public void restore(ResolvedNet net, int code) {
+        values[index.get(net)] = code;
+    }
+
+    public int size() {
+        return nets.size();
+    }
+
+    public ArrayList<ResolvedNet> getNets() {
+        return nets;
+    }
+
+    public ArrayList<Switch> getSwitches() {
+        return switches;
+    }
+
+    // the drivers of a member, or of a source, changed
+    public synchronized void sourced(ResolvedNet net) {
+        change(index.get(net));
+    }
+
+    // a switch changed state
+    synchronized void switched(Switch sw) {
+        change(index.get(sw.from()));
+        change(index.get(sw.to()));
+    }
+
+    private void change(int i) {
+        if (!changed[i]) {
+            changed[i] = true;
+            pending[nPending++] = i;
+        }
+    }
+
+    // solved at the next propagation, with the other changes until then
+    public synchronized void queue() {
+        if (!queued) {
+            queued = true;
+            context.add(this);
+        }
+    }
+
+    // solved under the lock of the channel: its nets may be driven from several workers of a sliced wave
+    @Override
+    public synchronized void propagate() {
+        for (ResolvedNet net : solve()) {
+            net.propagate();
+        }
+    }
+
+    // like ports, a channel does not take any steps
+    @Override
+    public synchronized void propagate(int steps) {
+        if (steps == 0) {
+            queue();
+            return;
+        }
+        for (ResolvedNet net : solve()) {
+            net.propagate(steps);
+        }
+    }
+
+    // the nets whose loads do not see their value yet
+    private ResolvedNet[] solve() {
+        queued = false;
+        if (nPending == 0) {
+            return NONE;
+        }
+        if (stale) {
+            edges();
+        }
+        nMembers = 0;
+        for (int k = 0; k < nPending; k++) {
+            visit(pending[k]);
+        }
+        // the nets conducting to the changes, not through sources other than changed ones
+        for (int k = 0; k < nMembers; k++) {
+            int i = members[k];
+            if (sources[i] && !changed[i]) {
+                continue;
+            }
+            for (int e = first[i]; e < first[i + 1]; e++) {
+                if (via[e].getState() != Switch.OFF) {
+                    visit(to[e]);
+                }
+            }
+        }
+        for (int k = 0; k < nPending; k++) {
+            changed[pending[k]] = false;
+        }
+        nPending = 0;
+        // in the order of the channel, so that a net is solved to the same value whatever changed
+        Arrays.sort(members, 0, nMembers);
+        for (int k = 0; k < nMembers; k++) {
+            int i = members[k];
+            values[i] = nets.get(i).getDrivenCode();
+            if (values[i] != Resolution.HIGHZ) {
+                push(i);
+            }
+        }
+        run();
+        ArrayList<ResolvedNet> shown = null;
+        for (int k = 0; k < nMembers; k++) {
+            int i = members[k];
+            member[i] = false;
+            if (!sources[i] && nets.get(i).show(values[i])) {
+                if (shown == null) {
+                    shown = new ArrayList<>();
+                }
+                shown.add(nets.get(i));
+            }
+        }
+        return shown == null ? NONE : shown.toArray(NONE);
+    }
+
+    private void visit(int i) {
+        if (!member[i]) {
+            member[i] = true;
+            members[nMembers++] = i;
+        }
+    }
+
+    private void push(int i) {
+        int level = LEVEL[values[i]];
+        if (sizes[level] == buckets[level].length) {
+            buckets[level] = Arrays.copyOf(buckets[level], 2 * sizes[level]);
+        }
+        buckets[level][sizes[level]++] = i;
+    }
+
+    // a member is spread again when its value changes, only ever from a stronger level than the ones left
+    private void run() {
+        for (int level = buckets.length - 1; level >= 0; ) {
+            if (sizes[level] == 0) {
+                level--;
+                continue;
+            }
+            int i = buckets[level][--sizes[level]];
+            int v = values[i];
+            for (int e = first[i]; e < first[i + 1]; e++) {
+                int j = to[e];
+                if (!passes[e] || !member[j] || sources[j]) {
+                    continue;
+                }
+                int w = Resolution.resolve(Resolution.WIRE, values[j], via[e].transfer(v));
+                if (w != values[j]) {
+                    values[j] = w;
+                    push(j);
+                    level = Math.max(level, LEVEL[w]);
+                }
+            }
+        }
+    }
+}
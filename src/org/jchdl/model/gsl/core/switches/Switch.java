@@ -0,0 +1,168 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.core.switches;
+
+import org.jchdl.model.gsl.core.datatype.net.ResolvedNet;
+import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.meta.AtomicNode;
+import org.jchdl.model.gsl.core.meta.Stateful;
+import org.jchdl.model.gsl.core.strength.Resolution;
+import org.jchdl.model.gsl.core.strength.Strength;
+
+// A switch between two terminals, passing values from one to the other, or both ways if bidirectional.
+// The controls are the inputs of the node; the terminals are nets of a Channel, solved together.
+// A switch passes the values with their strength, supply being reduced to strong, or with a reduced
+// strength if resistive. A switch in an unknown state passes the value with a strength down to highz,
+// as Verilog does for an x control.
+public abstract class Switch extends AtomicNode implements Stateful {
+    public static final int OFF = 0;
+    public static final int UNKNOWN = 1;
+    public static final int ON = 2;
+
+    private static final int[] REDUCED = {0, 1, 1, 2, 2, 3, 5, 5};
+    // the code passed for a code, per resistive and state
+    private static final byte[][][] TRANSFER = new byte[2][3][Resolution.CODES];
+
+    static {
+        for (int r = 0; r < 2; r++) {
+            for (int code = 0; code < Resolution.CODES; code++) {
+                if ((code & 0xF) == 0xF || code >>> 4 == 0xF) {
+                    continue;
+                }
+                int lo = reduce(Resolution.lo(code), r == 1);
+                int hi = reduce(Resolution.hi(code), r == 1);
+                TRANSFER[r][OFF][code] = (byte) Resolution.HIGHZ;
+                TRANSFER[r][UNKNOWN][code] = (byte) Resolution.code(Math.min(lo, 0), Math.max(hi, 0));
+                TRANSFER[r][ON][code] = (byte) Resolution.code(lo, hi);
+            }
+        }
+    }
+
+    private ResolvedNet from;
+    private ResolvedNet to;
+    private boolean bidirectional;
+    private byte[][] transfer;
+    private int state = OFF;
+    private Channel channel;
+    // the channel is to propagate once the switch changed state
+    private boolean changed;
+
+    protected Switch(ResolvedNet to, ResolvedNet from, boolean bidirectional, boolean resistive, Wire... controls) {
+        this.from = from;
+        this.to = to;
+        this.bidirectional = bidirectional;
+        this.transfer = TRANSFER[resistive ? 1 : 0];
+        in(controls);
+        construct();
+        channel = Channel.connect(this);
+        getContext().add(this);
+    }
+
+    private static int reduce(int level, boolean resistive) {
+        int reduced = resistive ? REDUCED[Math.abs(level)] : Math.min(Math.abs(level), Strength.STRONG);
+        return level < 0 ? -reduced : reduced;
+    }
+
+    // OFF, UNKNOWN or ON, for the values of the controls
+    protected abstract int conduction();
+
+    int transfer(int code) {
+        return transfer[state][code] & 0xFF;
+    }
+
+    @Override
+    public void atomic() {
+        int now = conduction();
+        if (now != state) {
+            state = now;
+            channel.switched(this);
+            changed = true;
+        }
+    }
+
+    @Override
+    protected void propagateOutputs() {
+        if (changed) {
+            changed = false;
+            channel.propagate();
+        }
+    }
+
+    // deferred switches changing in a wave are solved at once in the next one
+    @Override
+    protected void propagateOutputs(int steps) {
+        if (changed) {
+            changed = false;
+            channel.propagate(steps);
+        }
+    }
+
+    @Override
+    public int stateSize() {
+        return 1;
+    }
+
+    @Override
+    public void save(long[] state, int at) {
+        state[at] = this.state;
+    }
+
+    @Override
+    public void load(long[] state, int at) {
+        this.state = (int) state[at];
+        changed = false;
+    }
+
+    public ResolvedNet from() {
+        return from;
+    }
+
+    public ResolvedNet to() {
+        return to;
+    }
+
+    ResolvedNet[] terminals() {
+        return new ResolvedNet[]{to, from};
+    }
+
+    public boolean isBidirectional() {
+        return bidirectional;
+    }
+
+    public int getState() {
+        return state;
+    }
+
+    public Channel getChannel() {
+        return channel;
+    }
+
+    void setChannel(Channel channel) {
+        this.channel = channel;
+    }
+}
@@ -27,6 +27,21 @@
 // THE POSSIBILITY OF SUCH DAMAGE.
 package org.jchdl.model.gsl.core.switches.bi;
 
-// NOT implemented
-public class Rtran {
-}
\ No newline at end of file
+import org.jchdl.model.gsl.core.datatype.net.ResolvedNet;
+
+// a resistive tran: strong values pass as pull, pull as weak
+public class Rtran extends Tran {
+
+    public Rtran(ResolvedNet a, ResolvedNet b) {
+        super(a, b, true);
+    }
+
+    @Override
+    public String primitive() {
+        return "rtran";
+    }
+
+    public static Rtran inst(ResolvedNet a, ResolvedNet b) {
+        return new Rtran(a, b);
+    }
+}
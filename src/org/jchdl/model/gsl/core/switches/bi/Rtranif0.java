@@ -27,7 +27,22 @@
 // THE POSSIBILITY OF SUCH DAMAGE.
 package org.jchdl.model.gsl.core.switches.bi;
 
-// NOT implemented
-public class Rtranif0 {
+import org.jchdl.model.gsl.core.datatype.net.ResolvedNet;
+import org.jchdl.model.gsl.core.datatype.net.Wire;
 
-}
\ No newline at end of file
+// a resistive tranif0: strong values pass as pull, pull as weak
+public class Rtranif0 extends Tranif0 {
+
+    public Rtranif0(ResolvedNet a, ResolvedNet b, Wire control) {
+        super(a, b, control, true);
+    }
+
+    @Override
+    public String primitive() {
+        return "rtranif0";
+    }
+
+    public static Rtranif0 inst(ResolvedNet a, ResolvedNet b, Wire control) {
+        return new Rtranif0(a, b, control);
+    }
+}
@@ -27,7 +27,22 @@
 // THE POSSIBILITY OF SUCH DAMAGE.
 package org.jchdl.model.gsl.core.switches.bi;
 
-// NOT implemented
-public class Rtranif1 {
+import org.jchdl.model.gsl.core.datatype.net.ResolvedNet;
+import org.jchdl.model.gsl.core.datatype.net.Wire;
 
-}
\ No newline at end of file
+// a resistive tranif1: strong values pass as pull, pull as weak
+public class Rtranif1 extends Tranif1 {
+
+    public Rtranif1(ResolvedNet a, ResolvedNet b, Wire control) {
+        super(a, b, control, true);
+    }
+
+    @Override
+    public String primitive() {
+        return "rtranif1";
+    }
+
+    public static Rtranif1 inst(ResolvedNet a, ResolvedNet b, Wire control) {
+        return new Rtranif1(a, b, control);
+    }
+}
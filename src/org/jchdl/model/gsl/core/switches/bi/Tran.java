@@ -27,7 +27,67 @@
 // THE POSSIBILITY OF SUCH DAMAGE.
 package org.jchdl.model.gsl.core.switches.bi;
 
-// NOT implemented
-public class Tran {
+import org.jchdl.model.gsl.core.datatype.net.ResolvedNet;
+import org.jchdl.model.gsl.core.datatype.net.Tri;
+import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.meta.PropagateManager;
+import org.jchdl.model.gsl.core.strength.Weak0;
+import org.jchdl.model.gsl.core.strength.Weak1;
+import org.jchdl.model.gsl.core.switches.Switch;
+import org.jchdl.model.gsl.core.value.Value;
 
-}
\ No newline at end of file
+// always connects a and b, both ways
+public class Tran extends Switch {
+
+    public Tran(ResolvedNet a, ResolvedNet b) {
+        this(a, b, false);
+    }
+
+    protected Tran(ResolvedNet a, ResolvedNet b, boolean resistive) {
+        super(a, b, true, resistive);
+    }
+
+    @Override
+    protected int conduction() {
+        return ON;
+    }
+
+    @Override
+    public String primitive() {
+        return "tran";
+    }
+
+    public static Tran inst(ResolvedNet a, ResolvedNet b) {
+        return new Tran(a, b);
+    }
+
+    // a chain of trans driven strong at one end and weak at the other
+    public static void main(String args[]) {
+        int n = 4096;
+        Tri[] nets = new Tri[n + 1];
+        for (int i = 0; i <= n; i++) {
+            nets[i] = new Tri();
+        }
+        for (int i = 0; i < n; i++) {
+            Tran.inst(nets[i], nets[i + 1]);
+        }
+        Wire strong = new Wire();
+        Wire weak = new Wire();
+        nets[0].assign(strong.getOutput());
+        nets[n].assign(weak.getOutput(), Weak0.inst(), Weak1.inst());
+
+        Value[][] vectors = {
+                {Value.V1, Value.V0},
+                {Value.Vz, Value.V0},
+                {Value.V0, Value.V1},
+                {Value.Vx, Value.Vz},
+        };
+        for (Value[] v : vectors) {
+            strong.assign(v[0]);
+            weak.assign(v[1]);
+            PropagateManager.propagateParallel(strong, weak);
+            System.out.println("strong: " + v[0] + ", weak: " + v[1] + " -> ends " + nets[0].strength()
+                    + " " + nets[n].strength() + ", middle " + nets[n / 2].strength());
+        }
+    }
+}
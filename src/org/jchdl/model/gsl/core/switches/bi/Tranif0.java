@@ -27,7 +27,34 @@
 // THE POSSIBILITY OF SUCH DAMAGE.
 package org.jchdl.model.gsl.core.switches.bi;
 
-// NOT implemented
-public class Tranif0 {
+import org.jchdl.model.gsl.core.datatype.net.ResolvedNet;
+import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.switches.Switch;
+import org.jchdl.model.gsl.core.value.Value;
 
-}
\ No newline at end of file
+// connects a and b, both ways, while the control is 0
+public class Tranif0 extends Switch {
+
+    public Tranif0(ResolvedNet a, ResolvedNet b, Wire control) {
+        this(a, b, control, false);
+    }
+
+    protected Tranif0(ResolvedNet a, ResolvedNet b, Wire control, boolean resistive) {
+        super(a, b, true, resistive, control);
+    }
+
+    @Override
+    protected int conduction() {
+        int control = in(0).get();
+        return control == Value.VALUE_0 ? ON : control == Value.VALUE_1 ? OFF : UNKNOWN;
+    }
+
+    @Override
+    public String primitive() {
+        return "tranif0";
+    }
+
+    public static Tranif0 inst(ResolvedNet a, ResolvedNet b, Wire control) {
+        return new Tranif0(a, b, control);
+    }
+}
@@ -27,7 +27,83 @@
 // THE POSSIBILITY OF SUCH DAMAGE.
 package org.jchdl.model.gsl.core.switches.bi;
 
-// NOT implemented
-public class Tranif1 {
+import org.jchdl.model.gsl.core.datatype.net.ResolvedNet;
+import org.jchdl.model.gsl.core.datatype.net.Supply0;
+import org.jchdl.model.gsl.core.datatype.net.Supply1;
+import org.jchdl.model.gsl.core.datatype.net.Tri;
+import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.meta.PropagateManager;
+import org.jchdl.model.gsl.core.switches.Switch;
+import org.jchdl.model.gsl.core.switches.mos.Rnmos;
+import org.jchdl.model.gsl.core.switches.mos.Rpmos;
+import org.jchdl.model.gsl.core.value.Value;
 
-}
\ No newline at end of file
+// connects a and b, both ways, while the control is 1
+public class Tranif1 extends Switch {
+
+    public Tranif1(ResolvedNet a, ResolvedNet b, Wire control) {
+        this(a, b, control, false);
+    }
+
+    protected Tranif1(ResolvedNet a, ResolvedNet b, Wire control, boolean resistive) {
+        super(a, b, true, resistive, control);
+    }
+
+    @Override
+    protected int conduction() {
+        int control = in(0).get();
+        return control == Value.VALUE_1 ? ON : control == Value.VALUE_0 ? OFF : UNKNOWN;
+    }
+
+    @Override
+    public String primitive() {
+        return "tranif1";
+    }
+
+    public static Tranif1 inst(ResolvedNet a, ResolvedNet b, Wire control) {
+        return new Tranif1(a, b, control);
+    }
+
+    // a 6T sram bitcell: two cross-coupled resistive inverters, accessed through tranif1 switches.
+    // the strong bitline drivers overpower the pull of the inverters to write the cell
+    public static void main(String args[]) {
+        Supply1 vdd = new Supply1();
+        Supply0 gnd = new Supply0();
+        Tri q = new Tri();
+        Tri qN = new Tri();
+        Rpmos.inst(q, vdd, qN);
+        Rnmos.inst(q, gnd, qN);
+        Rpmos.inst(qN, vdd, q);
+        Rnmos.inst(qN, gnd, q);
+
+        Wire wl = new Wire();
+        Wire d = new Wire();
+        Wire dN = new Wire();
+        Tri bl = new Tri();
+        Tri blN = new Tri();
+        bl.assign(d.getOutput());
+        blN.assign(dN.getOutput());
+        Tranif1.inst(bl, q, wl);
+        Tranif1.inst(blN, qN, wl);
+
+        String[] ops = {"write 1", "hold", "read", "write 0", "hold", "read"};
+        Value[][] vectors = {
+                {Value.V1, Value.V1, Value.V0},
+                {Value.V0, Value.Vz, Value.Vz},
+                {Value.V1, Value.Vz, Value.Vz},
+                {Value.V1, Value.V0, Value.V1},
+                {Value.V0, Value.Vz, Value.Vz},
+                {Value.V1, Value.Vz, Value.Vz},
+        };
+        PropagateManager.propagateParallel();
+        System.out.println("power on: q " + q + " " + q.strength() + ", qN " + qN + " " + qN.strength());
+        for (int i = 0; i < ops.length; i++) {
+            wl.assign(vectors[i][0]);
+            d.assign(vectors[i][1]);
+            dN.assign(vectors[i][2]);
+            PropagateManager.propagateParallel(wl, d, dN);
+            System.out.println(ops[i] + ": q " + q + " " + q.strength() + ", qN " + qN + " " + qN.strength()
+                    + ", bl " + bl + " " + bl.strength() + ", blN " + blN + " " + blN.strength());
+        }
+    }
+}
@@ -27,7 +27,73 @@
 // THE POSSIBILITY OF SUCH DAMAGE.
 package org.jchdl.model.gsl.core.switches.mos;
 
-// NOT implemented
-public class Cmos {
+import org.jchdl.model.gsl.core.datatype.net.ResolvedNet;
+import org.jchdl.model.gsl.core.datatype.net.Tri;
+import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.gate.no.Not;
+import org.jchdl.model.gsl.core.meta.PropagateManager;
+import org.jchdl.model.gsl.core.switches.Switch;
+import org.jchdl.model.gsl.core.value.Value;
 
-}
\ No newline at end of file
+// an nmos and a pmos in parallel: passes in to out while ncontrol is 1 or pcontrol is 0
+public class Cmos extends Switch {
+
+    public Cmos(ResolvedNet out, ResolvedNet in, Wire ncontrol, Wire pcontrol) {
+        this(out, in, ncontrol, pcontrol, false);
+    }
+
+    protected Cmos(ResolvedNet out, ResolvedNet in, Wire ncontrol, Wire pcontrol, boolean resistive) {
+        super(out, in, false, resistive, ncontrol, pcontrol);
+    }
+
+    @Override
+    protected int conduction() {
+        int n = in(0).get();
+        int p = in(1).get();
+        if (n == Value.VALUE_1 || p == Value.VALUE_0) {
+            return ON;
+        }
+        return n == Value.VALUE_0 && p == Value.VALUE_1 ? OFF : UNKNOWN;
+    }
+
+    @Override
+    public String primitive() {
+        return "cmos";
+    }
+
+    public static Cmos inst(ResolvedNet out, ResolvedNet in, Wire ncontrol, Wire pcontrol) {
+        return new Cmos(out, in, ncontrol, pcontrol);
+    }
+
+    // a 2:1 mux of two transmission gates
+    public static void main(String args[]) {
+        Wire a = new Wire();
+        Wire b = new Wire();
+        Wire sel = new Wire();
+        Wire selN = new Wire();
+        Tri inA = new Tri();
+        Tri inB = new Tri();
+        Tri out = new Tri();
+        inA.assign(a.getOutput());
+        inB.assign(b.getOutput());
+        Not.inst(selN, sel);
+        Cmos.inst(out, inA, selN, sel);
+        Cmos.inst(out, inB, sel, selN);
+
+        Value[][] vectors = {
+                {Value.V0, Value.V1, Value.V0},
+                {Value.V0, Value.V1, Value.V1},
+                {Value.V1, Value.V0, Value.V1},
+                {Value.V1, Value.V0, Value.V0},
+                {Value.V1, Value.V1, Value.Vx},
+                {Value.V1, Value.V0, Value.Vx},
+        };
+        for (Value[] v : vectors) {
+            a.assign(v[0]);
+            b.assign(v[1]);
+            sel.assign(v[2]);
+            PropagateManager.propagateParallel(a, b, sel);
+            System.out.println("a: " + v[0] + ", b: " + v[1] + ", sel: " + v[2] + " -> out: " + out + " " + out.strength());
+        }
+    }
+}
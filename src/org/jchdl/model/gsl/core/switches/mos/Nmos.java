@@ -27,7 +27,34 @@
 // THE POSSIBILITY OF SUCH DAMAGE.
 package org.jchdl.model.gsl.core.switches.mos;
 
-// NOT implemented
-public class Nmos {
+import org.jchdl.model.gsl.core.datatype.net.ResolvedNet;
+import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.switches.Switch;
+import org.jchdl.model.gsl.core.value.Value;
 
-}
\ No newline at end of file
+// passes in to out while the control is 1
+public class Nmos extends Switch {
+
+    public Nmos(ResolvedNet out, ResolvedNet in, Wire control) {
+        this(out, in, control, false);
+    }
+
+    protected Nmos(ResolvedNet out, ResolvedNet in, Wire control, boolean resistive) {
+        super(out, in, false, resistive, control);
+    }
+
+    @Override
+    protected int conduction() {
+        int control = in(0).get();
+        return control == Value.VALUE_1 ? ON : control == Value.VALUE_0 ? OFF : UNKNOWN;
+    }
+
+    @Override
+    public String primitive() {
+        return "nmos";
+    }
+
+    public static Nmos inst(ResolvedNet out, ResolvedNet in, Wire control) {
+        return new Nmos(out, in, control);
+    }
+}
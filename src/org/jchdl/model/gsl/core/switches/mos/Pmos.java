@@ -27,7 +27,54 @@
 // THE POSSIBILITY OF SUCH DAMAGE.
 package org.jchdl.model.gsl.core.switches.mos;
 
-// NOT implemented
-public class Pmos {
+import org.jchdl.model.gsl.core.datatype.net.ResolvedNet;
+import org.jchdl.model.gsl.core.datatype.net.Supply0;
+import org.jchdl.model.gsl.core.datatype.net.Supply1;
+import org.jchdl.model.gsl.core.datatype.net.Tri;
+import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.meta.PropagateManager;
+import org.jchdl.model.gsl.core.switches.Switch;
+import org.jchdl.model.gsl.core.value.Value;
 
-}
\ No newline at end of file
+// passes in to out while the control is 0
+public class Pmos extends Switch {
+
+    public Pmos(ResolvedNet out, ResolvedNet in, Wire control) {
+        this(out, in, control, false);
+    }
+
+    protected Pmos(ResolvedNet out, ResolvedNet in, Wire control, boolean resistive) {
+        super(out, in, false, resistive, control);
+    }
+
+    @Override
+    protected int conduction() {
+        int control = in(0).get();
+        return control == Value.VALUE_0 ? ON : control == Value.VALUE_1 ? OFF : UNKNOWN;
+    }
+
+    @Override
+    public String primitive() {
+        return "pmos";
+    }
+
+    public static Pmos inst(ResolvedNet out, ResolvedNet in, Wire control) {
+        return new Pmos(out, in, control);
+    }
+
+    // a cmos inverter
+    public static void main(String args[]) {
+        Supply1 vdd = new Supply1();
+        Supply0 gnd = new Supply0();
+        Wire in = new Wire();
+        Tri out = new Tri();
+        Pmos.inst(out, vdd, in);
+        Nmos.inst(out, gnd, in);
+
+        for (Value value : new Value[]{Value.V0, Value.V1, Value.Vx, Value.Vz}) {
+            in.assign(value);
+            PropagateManager.propagateParallel(in);
+            System.out.println("in: " + value + " -> out: " + out + " " + out.strength());
+        }
+    }
+}
@@ -27,7 +27,22 @@
 // THE POSSIBILITY OF SUCH DAMAGE.
 package org.jchdl.model.gsl.core.switches.mos;
 
-// NOT implemented
-public class Rcmos {
+import org.jchdl.model.gsl.core.datatype.net.ResolvedNet;
+import org.jchdl.model.gsl.core.datatype.net.Wire;
 
-}
\ No newline at end of file
+// a resistive cmos: strong in gives pull out, pull gives weak
+public class Rcmos extends Cmos {
+
+    public Rcmos(ResolvedNet out, ResolvedNet in, Wire ncontrol, Wire pcontrol) {
+        super(out, in, ncontrol, pcontrol, true);
+    }
+
+    @Override
+    public String primitive() {
+        return "rcmos";
+    }
+
+    public static Rcmos inst(ResolvedNet out, ResolvedNet in, Wire ncontrol, Wire pcontrol) {
+        return new Rcmos(out, in, ncontrol, pcontrol);
+    }
+}
@@ -27,7 +27,22 @@
 // THE POSSIBILITY OF SUCH DAMAGE.
 package org.jchdl.model.gsl.core.switches.mos;
 
-// NOT implemented
-public class Rnmos {
+import org.jchdl.model.gsl.core.datatype.net.ResolvedNet;
+import org.jchdl.model.gsl.core.datatype.net.Wire;
 
-}
\ No newline at end of file
+// a resistive nmos: strong in gives pull out, pull gives weak
+public class Rnmos extends Nmos {
+
+    public Rnmos(ResolvedNet out, ResolvedNet in, Wire control) {
+        super(out, in, control, true);
+    }
+
+    @Override
+    public String primitive() {
+        return "rnmos";
+    }
+
+    public static Rnmos inst(ResolvedNet out, ResolvedNet in, Wire control) {
+        return new Rnmos(out, in, control);
+    }
+}
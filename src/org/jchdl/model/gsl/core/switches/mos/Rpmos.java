@@ -27,7 +27,22 @@
 // THE POSSIBILITY OF SUCH DAMAGE.
 package org.jchdl.model.gsl.core.switches.mos;
 
-// NOT implemented
-public class Rpmos {
+import org.jchdl.model.gsl.core.datatype.net.ResolvedNet;
+import org.jchdl.model.gsl.core.datatype.net.Wire;
 
-}
\ No newline at end of file
+// a resistive pmos: strong in gives pull out, pull gives weak
+public class Rpmos extends Pmos {
+
+    public Rpmos(ResolvedNet out, ResolvedNet in, Wire control) {
+        super(out, in, control, true);
+    }
+
+    @Override
+    public String primitive() {
+        return "rpmos";
+    }
+
+    public static Rpmos inst(ResolvedNet out, ResolvedNet in, Wire control) {
+        return new Rpmos(out, in, control);
+    }
+}
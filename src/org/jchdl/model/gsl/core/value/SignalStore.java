@@ -0,0 +1,165 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.core.value;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+// 4-state values of many signals, packed 2 bits per signal into pages of longs.
+// A signal is identified by the int returned from allocate().
+public class SignalStore {
+    private static final int SIGNALS_PER_WORD = 32;
+    private static final int PAGE_WORDS = 1024;
+    private static final int PAGE_SIGNALS = PAGE_WORDS * SIGNALS_PER_WORD;
+    private static final int PAGE_SHIFT = 15;
+    // every signal X
+    private static final long WORD_X = 0xAAAAAAAAAAAAAAAAL;
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private long[][] pages = new long[16][];
+    private int nSignals = 0;
+    // set while signals are written by several threads, the words are then updated by compare-and-set
+    private boolean concurrent = false;
+
+    public int allocate() {
+        int id = nSignals;
+        int page = id >>> PAGE_SHIFT;
+        if (page == pages.length) {
+            long[][] newPages = new long[pages.length * 2][];
+            System.arraycopy(pages, 0, newPages, 0, pages.length);
+            pages = newPages;
+        }
+        if (pages[page] == null) {
+            pages[page] = new long[PAGE_WORDS];
+            Arrays.fill(pages[page], WORD_X);
+        }
+        nSignals++;
+        return id;
+    }
+
+    public int size() {
+        return nSignals;
+    }
+
+    public int get(int id) {
+        long word = pages[id >>> PAGE_SHIFT][(id >>> 5) & (PAGE_WORDS - 1)];
+        return (int) (word >>> ((id & 31) << 1)) & 0x03;
+    }
+
+    public void set(int id, int v) {
+        long[] page = pages[id >>> PAGE_SHIFT];
+        int w = (id >>> 5) & (PAGE_WORDS - 1);
+        int shift = (id & 31) << 1;
+        if (concurrent) {
+            long word;
+            do {
+                word = (long) WORDS.getVolatile(page, w);
+            } while (!WORDS.compareAndSet(page, w, word, (word & ~(0x03L << shift)) | ((long) v << shift)));
+        } else {
+            page[w] = (page[w] & ~(0x03L << shift)) | ((long) v << shift);
+        }
+    }
+
+    public void setConcurrent(boolean concurrent) {
+        this.concurrent = concurrent;
+    }
+
+    public void fill(int v) {
+        long word = 0;
+        for (int i = 0; i < SIGNALS_PER_WORD; i++) {
+            word |= (long) v << (i << 1);
+        }
+        for (long[] page : pages) {
+            if (page != null) {
+                Arrays.fill(page, word);
+            }
+        }
+    }
+
+    private int nWords() {
+        return (nSignals + SIGNALS_PER_WORD - 1) / SIGNALS_PER_WORD;
+    }
+
+    // all values, 32 signals per long
+    public long[] snapshot() {
+        long[] snapshot = new long[nWords()];
+        snapshot(snapshot, 0, snapshot.length);
+        return snapshot;
+    }
+
+    // the first length longs of a snapshot, signals allocated since are left out
+    public void snapshot(long[] snapshot, int at, int length) {
+        int nWords = Math.min(length, nWords());
+        for (int from = 0; from < nWords; from += PAGE_WORDS) {
+            int n = Math.min(PAGE_WORDS, nWords - from);
+            System.arraycopy(pages[from / PAGE_WORDS], 0, snapshot, at + from, n);
+        }
+    }
+
+    // whole words of 32 signals: signals allocated after the snapshot was taken keep their values,
+    // unless they share its last word
+    public void restore(long[] snapshot) {
+        restore(snapshot, 0, snapshot.length * SIGNALS_PER_WORD);
+    }
+
+    // the first nSignals signals, from the longs of a snapshot starting at at.
+    // the signals allocated after them keep their values, also those in the last word they share.
+    public void restore(long[] snapshot, int at, int nSignals) {
+        nSignals = Math.min(nSignals, this.nSignals);
+        int nWords = nSignals / SIGNALS_PER_WORD;
+        for (int from = 0; from < nWords; from += PAGE_WORDS) {
+            int n = Math.min(PAGE_WORDS, nWords - from);
+            System.arraycopy(snapshot, at + from, pages[from / PAGE_WORDS], 0, n);
+        }
+        int rest = nSignals % SIGNALS_PER_WORD;
+        if (rest != 0) {
+            long[] page = pages[nWords / PAGE_WORDS];
+            int w = nWords % PAGE_WORDS;
+            long mask = (1L << (rest << 1)) - 1;
+            page[w] = (page[w] & ~mask) | (snapshot[at + nWords] & mask);
+        }
+    }
+
+    // longs of a snapshot
+    public int snapshotSize() {
+        return nWords();
+    }
+
+    // number of signals whose value differs from the snapshot
+    public int compare(long[] snapshot) {
+        int nWords = Math.min(snapshot.length, nWords());
+        int diff = 0;
+        for (int i = 0; i < nWords; i++) {
+            long x = pages[i / PAGE_WORDS][i % PAGE_WORDS] ^ snapshot[i];
+            // one bit per differing signal
+            diff += Long.bitCount((x | (x >>> 1)) & 0x5555555555555555L);
+        }
+        return diff;
+    }
+}
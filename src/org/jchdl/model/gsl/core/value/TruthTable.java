@@ -0,0 +1,192 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.core.value;
+
+import java.util.Random;
+
+// 4-state truth tables of the primitive gates.
+// two-input tables are indexed by (in1 << 2) | in2, one-input tables by in.
+// a z on an input reads as x, so a result is never z, but for the tri-state tables:
+// those are indexed by (in << 2) | control, and give z while the control disables the gate.
+public class TruthTable {
+    public static final int[] AND = {
+            Value.VALUE_0, Value.VALUE_0, Value.VALUE_0, Value.VALUE_0,
+            Value.VALUE_0, Value.VALUE_1, Value.VALUE_X, Value.VALUE_X,
+            Value.VALUE_0, Value.VALUE_X, Value.VALUE_X, Value.VALUE_X,
+            Value.VALUE_0, Value.VALUE_X, Value.VALUE_X, Value.VALUE_X,
+    };
+    public static final int[] OR = {
+            Value.VALUE_0, Value.VALUE_1, Value.VALUE_X, Value.VALUE_X,
+            Value.VALUE_1, Value.VALUE_1, Value.VALUE_1, Value.VALUE_1,
+            Value.VALUE_X, Value.VALUE_1, Value.VALUE_X, Value.VALUE_X,
+            Value.VALUE_X, Value.VALUE_1, Value.VALUE_X, Value.VALUE_X,
+    };
+    public static final int[] XOR = {
+            Value.VALUE_0, Value.VALUE_1, Value.VALUE_X, Value.VALUE_X,
+            Value.VALUE_1, Value.VALUE_0, Value.VALUE_X, Value.VALUE_X,
+            Value.VALUE_X, Value.VALUE_X, Value.VALUE_X, Value.VALUE_X,
+            Value.VALUE_X, Value.VALUE_X, Value.VALUE_X, Value.VALUE_X,
+    };
+    public static final int[] NAND = {
+            Value.VALUE_1, Value.VALUE_1, Value.VALUE_1, Value.VALUE_1,
+            Value.VALUE_1, Value.VALUE_0, Value.VALUE_X, Value.VALUE_X,
+            Value.VALUE_1, Value.VALUE_X, Value.VALUE_X, Value.VALUE_X,
+            Value.VALUE_1, Value.VALUE_X, Value.VALUE_X, Value.VALUE_X,
+    };
+    public static final int[] NOR = {
+            Value.VALUE_1, Value.VALUE_0, Value.VALUE_X, Value.VALUE_X,
+            Value.VALUE_0, Value.VALUE_0, Value.VALUE_0, Value.VALUE_0,
+            Value.VALUE_X, Value.VALUE_0, Value.VALUE_X, Value.VALUE_X,
+            Value.VALUE_X, Value.VALUE_0, Value.VALUE_X, Value.VALUE_X,
+    };
+    public static final int[] XNOR = {
+            Value.VALUE_1, Value.VALUE_0, Value.VALUE_X, Value.VALUE_X,
+            Value.VALUE_0, Value.VALUE_1, Value.VALUE_X, Value.VALUE_X,
+            Value.VALUE_X, Value.VALUE_X, Value.VALUE_X, Value.VALUE_X,
+            Value.VALUE_X, Value.VALUE_X, Value.VALUE_X, Value.VALUE_X,
+    };
+    public static final int[] NOT = {
+            Value.VALUE_1, Value.VALUE_0, Value.VALUE_X, Value.VALUE_X,
+    };
+    public static final int[] BUF = {
+            Value.VALUE_0, Value.VALUE_1, Value.VALUE_X, Value.VALUE_X,
+    };
+    public static final int[] BUFIF0 = {
+            Value.VALUE_0, Value.VALUE_Z, Value.VALUE_X, Value.VALUE_X,
+            Value.VALUE_1, Value.VALUE_Z, Value.VALUE_X, Value.VALUE_X,
+            Value.VALUE_X, Value.VALUE_Z, Value.VALUE_X, Value.VALUE_X,
+            Value.VALUE_X, Value.VALUE_Z, Value.VALUE_X, Value.VALUE_X,
+    };
+    public static final int[] BUFIF1 = {
+            Value.VALUE_Z, Value.VALUE_0, Value.VALUE_X, Value.VALUE_X,
+            Value.VALUE_Z, Value.VALUE_1, Value.VALUE_X, Value.VALUE_X,
+            Value.VALUE_Z, Value.VALUE_X, Value.VALUE_X, Value.VALUE_X,
+            Value.VALUE_Z, Value.VALUE_X, Value.VALUE_X, Value.VALUE_X,
+    };
+    public static final int[] NOTIF0 = {
+            Value.VALUE_1, Value.VALUE_Z, Value.VALUE_X, Value.VALUE_X,
+            Value.VALUE_0, Value.VALUE_Z, Value.VALUE_X, Value.VALUE_X,
+            Value.VALUE_X, Value.VALUE_Z, Value.VALUE_X, Value.VALUE_X,
+            Value.VALUE_X, Value.VALUE_Z, Value.VALUE_X, Value.VALUE_X,
+    };
+    public static final int[] NOTIF1 = {
+            Value.VALUE_Z, Value.VALUE_1, Value.VALUE_X, Value.VALUE_X,
+            Value.VALUE_Z, Value.VALUE_0, Value.VALUE_X, Value.VALUE_X,
+            Value.VALUE_Z, Value.VALUE_X, Value.VALUE_X, Value.VALUE_X,
+            Value.VALUE_Z, Value.VALUE_X, Value.VALUE_X, Value.VALUE_X,
+    };
+
+    public static int index(int in1, int in2) {
+        return (in1 << 2) | in2;
+    }
+
+    public static int lookup(int[] table, int in1, int in2) {
+        return table[(in1 << 2) | in2];
+    }
+
+    // n-input reduction with an associative table (AND, OR, XOR)
+    public static int reduce(int[] table, int... values) {
+        return reduce(table, values, 0, values.length);
+    }
+
+    public static int reduce(int[] table, int[] values, int from, int to) {
+        int v = BUF[values[from]];
+        for (int i = from + 1; i < to; i++) {
+            v = table[(v << 2) | values[i]];
+        }
+        return v;
+    }
+
+    // values[nets[i]] for i in [from, to), as used by flattened netlists
+    public static int reduce(int[] table, int[] values, int[] nets, int from, int to) {
+        int v = BUF[values[nets[from]]];
+        for (int i = from + 1; i < to; i++) {
+            v = table[(v << 2) | values[nets[i]]];
+        }
+        return v;
+    }
+
+    // the nested switch the gates used before
+    private static int and(int in1, int in2) {
+        switch (in1) {
+            case Value.VALUE_0:
+                return Value.VALUE_0;
+            case Value.VALUE_1:
+                switch (in2) {
+                    case Value.VALUE_0:
+                        return Value.VALUE_0;
+                    case Value.VALUE_1:
+                        return Value.VALUE_1;
+                    default:
+                        return Value.VALUE_X;
+                }
+            default:
+                switch (in2) {
+                    case Value.VALUE_0:
+                        return Value.VALUE_0;
+                    default:
+                        return Value.VALUE_X;
+                }
+        }
+    }
+
+    // random stimulus, half of it x or z, so that the switch cannot be predicted
+    public static void main(String[] args) {
+        int size = 1 << 20;
+        int rounds = 50;
+        int[] in1 = new int[size];
+        int[] in2 = new int[size];
+        Random random = new Random(1);
+        for (int i = 0; i < size; i++) {
+            in1[i] = random.nextInt(4);
+            in2[i] = random.nextInt(4);
+        }
+
+        long checksum = 0;
+        long switchTime = 0;
+        long tableTime = 0;
+        for (int r = 0; r < rounds; r++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < size; i++) {
+                checksum += and(in1[i], in2[i]);
+            }
+            long middle = System.nanoTime();
+            for (int i = 0; i < size; i++) {
+                checksum -= AND[(in1[i] << 2) | in2[i]];
+            }
+            long end = System.nanoTime();
+            // the first rounds warm up
+            if (r >= rounds / 5) {
+                switchTime += middle - start;
+                tableTime += end - middle;
+            }
+        }
+        System.out.println("switch: " + switchTime / 1000000 + " ms, table: " + tableTime / 1000000
+                + " ms, checksum: " + checksum);
+    }
+}
@@ -0,0 +1,82 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.example.bench;
+
+import org.jchdl.model.gsl.core.datatype.helper.WireVec;
+import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.netlist.BitParallelEvaluator;
+import org.jchdl.model.gsl.operator.arithmetic.Add;
+
+// an 8-bit Add checked exhaustively by BitParallelEvaluator
+public class BitParallelBench {
+    // exhaustive check of an 8-bit adder: 2^17 vectors, 64 per evaluation
+    public static void main(String[] args) {
+        int nBits = 8;
+        WireVec in1 = new WireVec(nBits);
+        WireVec in2 = new WireVec(nBits);
+        WireVec sum = new WireVec(nBits);
+        Wire cin = new Wire();
+        Wire cout = new Wire();
+        BitParallelEvaluator evaluator = new BitParallelEvaluator(Add.inst(sum, cout, in1, in2, cin));
+
+        long start = System.nanoTime();
+        int nVectors = 1 << (2 * nBits + 1);
+        int errors = 0;
+        long[] lanes1 = new long[BitParallelEvaluator.LANES];
+        long[] lanes2 = new long[BitParallelEvaluator.LANES];
+        long[] lanesC = new long[BitParallelEvaluator.LANES];
+        for (int v = 0; v < nVectors; v += BitParallelEvaluator.LANES) {
+            for (int l = 0; l < BitParallelEvaluator.LANES; l++) {
+                int vector = v + l;
+                lanes1[l] = vector & 0xff;
+                lanes2[l] = vector >> nBits & 0xff;
+                lanesC[l] = vector >> (2 * nBits) & 1;
+            }
+            evaluator.assign(in1, lanes1);
+            evaluator.assign(in2, lanes2);
+            long c = 0;
+            for (int l = 0; l < BitParallelEvaluator.LANES; l++) {
+                c |= lanesC[l] << l;
+            }
+            evaluator.assign(cin, c, 0);
+            evaluator.evaluate();
+
+            long[] sums = evaluator.values(sum);
+            long couts = evaluator.planeA(cout);
+            long known = evaluator.known(sum) & ~evaluator.planeB(cout);
+            for (int l = 0; l < BitParallelEvaluator.LANES; l++) {
+                long actual = sums[l] | (couts >>> l & 1) << nBits;
+                if ((known >>> l & 1) == 0 || actual != lanes1[l] + lanes2[l] + lanesC[l]) {
+                    errors++;
+                }
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.println(nVectors + " vectors in " + elapsed / 1000000 + " ms, errors: " + errors);
+    }
+}
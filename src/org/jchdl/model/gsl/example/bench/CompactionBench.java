@@ -0,0 +1,107 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.example.bench;
+
+import org.jchdl.model.gsl.core.datatype.helper.WireVec;
+import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.meta.SimulationContext;
+import org.jchdl.model.gsl.core.netlist.Compaction;
+import org.jchdl.model.gsl.core.value.Value;
+import org.jchdl.model.gsl.operator.arithmetic.Mul;
+
+import java.util.Arrays;
+import java.util.Random;
+
+// heap and speed of Mul_8 copies, elaborated and compacted
+public class CompactionBench {
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long[] run(WireVec out, WireVec in1, WireVec in2, int nBits, long seed, int nVectors) {
+        Random random = new Random(seed);
+        long[] results = new long[nVectors];
+        for (int v = 0; v < nVectors; v++) {
+            int a = random.nextInt(1 << nBits);
+            int b = random.nextInt(1 << nBits);
+            for (int i = 0; i < nBits; i++) {
+                in1.wire(i).assign((a >> i & 1) == 1 ? Value.V1 : Value.V0);
+                in2.wire(i).assign((b >> i & 1) == 1 ? Value.V1 : Value.V0);
+            }
+            SimulationContext.current().propagateParallel(in1, in2);
+            for (int i = 0; i < out.nBits(); i++) {
+                results[v] |= (long) out.wire(i).getValue().v << (2 * i);
+            }
+        }
+        return results;
+    }
+
+    public static void main(String[] args) {
+        int nBits = 8;
+        int nCopies = 20;
+        int nVectors = 2000;
+        boolean[] compact = {false, true};
+        long[][] results = new long[2][];
+        for (int k = 0; k < 2; k++) {
+            long before = usedHeap();
+            Object[] copies = new Object[nCopies];
+            WireVec out = null;
+            WireVec in1 = null;
+            WireVec in2 = null;
+            Compaction compaction = null;
+            for (int c = 0; c < nCopies; c++) {
+                in1 = new WireVec(nBits);
+                in2 = new WireVec(nBits);
+                out = new WireVec(2 * nBits);
+                Mul mul = Mul.inst(out, new Wire(), in1, in2);
+                copies[c] = mul;
+                if (compact[k]) {
+                    compaction = Compaction.compact(mul, true);
+                }
+            }
+            SimulationContext.current().propagateParallel();
+            long heap = usedHeap() - before;
+
+            long start = System.nanoTime();
+            results[k] = run(out, in1, in2, nBits, 1, nVectors);
+            long elapsed = System.nanoTime() - start;
+            System.out.println((compact[k] ? "compacted" : "elaborated") + ": " + heap / nCopies / 1024 + " KB per Mul_"
+                    + nBits + ", " + nVectors + " vectors in " + elapsed / 1000000 + " ms"
+                    + (compaction == null ? "" : ", ports " + compaction.nPortsBefore() + " -> " + compaction.nPortsAfter()
+                    + ", " + compaction.names().size() + " names"));
+            if (compaction != null) {
+                System.out.println("Mul_8.Add_16_0.sum[0]: " + compaction.value("Mul_8.Add_16_0.sum[0]"));
+            }
+        }
+        System.out.println("same results: " + Arrays.equals(results[0], results[1]));
+    }
+}
@@ -0,0 +1,85 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.example.bench;
+
+import org.jchdl.model.gsl.core.datatype.helper.WireVec;
+import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.meta.SimulationContext;
+import org.jchdl.model.gsl.core.value.Value;
+import org.jchdl.model.gsl.operator.arithmetic.Add;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// independent adders simulated on separate threads, each in its own SimulationContext
+public class ContextBench {
+    private static void assign(WireVec vec, long bits) {
+        for (int i = 0; i < vec.nBits(); i++) {
+            vec.wire(i).assign((bits >> i & 1) == 1 ? Value.V1 : Value.V0);
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int nThreads = Runtime.getRuntime().availableProcessors();
+        int nBits = 16;
+        AtomicInteger errors = new AtomicInteger();
+        Thread[] threads = new Thread[nThreads];
+        for (int t = 0; t < nThreads; t++) {
+            long seed = t;
+            threads[t] = new Thread(() -> {
+                SimulationContext context = new SimulationContext();
+                SimulationContext.setCurrent(context);
+                WireVec in1 = new WireVec(nBits);
+                WireVec in2 = new WireVec(nBits);
+                WireVec sum = new WireVec(nBits);
+                Wire cin = new Wire(Value.V0);
+                Wire cout = new Wire();
+                Add.inst(sum, cout, in1, in2, cin);
+
+                Random random = new Random(seed);
+                for (int i = 0; i < 2000; i++) {
+                    long a = random.nextInt(1 << nBits);
+                    long b = random.nextInt(1 << nBits);
+                    assign(in1, a);
+                    assign(in2, b);
+                    context.propagateParallel(in1, in2, cin);
+                    long expected = (a + b) & ((1 << nBits) - 1);
+                    if (org.jchdl.model.gsl.core.datatype.var.Integer.toInteger(sum) != expected) {
+                        errors.incrementAndGet();
+                    }
+                }
+                SimulationContext.setCurrent(null);
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        System.out.println(nThreads + " contexts, errors: " + errors.get());
+    }
+}
@@ -0,0 +1,85 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.example.bench;
+
+import org.jchdl.model.gsl.core.datatype.helper.WireVec;
+import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.meta.PropagateManager;
+import org.jchdl.model.gsl.core.netlist.FrozenEvaluator;
+import org.jchdl.model.gsl.core.netlist.Netlist;
+import org.jchdl.model.gsl.core.value.Value;
+import org.jchdl.model.gsl.sequential.Counter;
+
+// a Counter_16 clocked through its ports and through FrozenEvaluator
+public class FrozenBench {
+    // a gate-level counter clocked through the ports and through the arrays of its frozen netlist
+    public static void main(String[] args) {
+        int nBits = 16;
+        int nCycles = 20000;
+        long[][] counts = new long[2][nCycles];
+        long[] ns = new long[2];
+        for (int k = 0; k < 2; k++) {
+            WireVec out = new WireVec(nBits);
+            Wire clk = new Wire();
+            Wire clr = new Wire();
+            Counter counter = Counter.inst(out, clk, clr);
+            FrozenEvaluator evaluator = k == 1 ? new FrozenEvaluator(counter) : null;
+
+            clr.assign(Value.V0);
+            clk.assign(Value.V0);
+            if (evaluator != null) {
+                evaluator.apply();
+            } else {
+                PropagateManager.propagateParallel(clk, clr);
+            }
+            long start = System.nanoTime();
+            for (int c = 0; c < nCycles; c++) {
+                if (c == 1) {
+                    clr.assign(Value.V1);
+                }
+                for (Value edge : new Value[]{Value.V1, Value.V0}) {
+                    clk.assign(edge);
+                    if (evaluator != null) {
+                        evaluator.apply();
+                    } else {
+                        PropagateManager.propagateParallel(clk, clr);
+                    }
+                }
+                counts[k][c] = org.jchdl.model.gsl.core.datatype.var.Integer.toInteger(out);
+            }
+            ns[k] = System.nanoTime() - start;
+            if (evaluator != null) {
+                Netlist netlist = evaluator.getNetlist();
+                System.out.println("Counter_" + nBits + ": " + netlist.nGates() + " gates, " + netlist.nNets() + " nets, "
+                        + evaluator.getEvaluations() / nCycles + " evaluations per cycle");
+            }
+        }
+        System.out.println(nCycles + " cycles: ports " + ns[0] / 1000000 + " ms, frozen " + ns[1] / 1000000 + " ms");
+        System.out.println("last count " + counts[1][nCycles - 1] + ", same counts: " + java.util.Arrays.equals(counts[0], counts[1]));
+    }
+}
@@ -0,0 +1,80 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.example.bench;
+
+import org.jchdl.model.gsl.core.datatype.helper.WireVec;
+import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.meta.ProfileReport;
+import org.jchdl.model.gsl.core.meta.Profiler;
+import org.jchdl.model.gsl.core.meta.PropagateManager;
+import org.jchdl.model.gsl.core.value.Value;
+import org.jchdl.model.gsl.operator.arithmetic.Add;
+import org.jchdl.model.gsl.operator.conditional.Mux;
+
+import java.util.Random;
+
+// a mux tree and an adder run under the profiler
+public class ProfilerBench {
+    // a mux tree selecting among the data inputs, sum = data + data
+    private static Wire muxTree(WireVec data, WireVec sel, int from, int n, int level) {
+        if (n == 1) {
+            return data.wire(from);
+        }
+        Wire out = new Wire();
+        Mux.inst(out, muxTree(data, sel, from, n / 2, level - 1), muxTree(data, sel, from + n / 2, n / 2, level - 1), sel.wire(level));
+        return out;
+    }
+
+    public static void main(String[] args) {
+        if (!Profiler.ENABLED) {
+            System.out.println("profiling is off, run with -Djchdl.gsl.profile=true");
+            return;
+        }
+        WireVec data = new WireVec(16);
+        WireVec sel = new WireVec(4);
+        Wire out = muxTree(data, sel, 0, 16, 3);
+        WireVec sum = new WireVec(16);
+        Add.inst(sum, new Wire(), data, data, new Wire(Value.V0));
+
+        Random random = new Random(1);
+        for (int v = 0; v < 2000; v++) {
+            data.assign(random.nextInt(1 << 16));
+            sel.assign(random.nextInt(16));
+            // a select bit going unknown now and then makes the tree thrash between X and known values
+            if (random.nextInt(4) == 0) {
+                sel.wire(random.nextInt(4)).assign(Value.Vx);
+            }
+            PropagateManager.propagateParallel(data, sel);
+        }
+        ProfileReport report = Profiler.snapshot();
+        System.out.print(report.toString(8));
+        String csv = report.toCsv();
+        System.out.print(csv.substring(0, csv.indexOf('\n', csv.indexOf('\n') + 1) + 1));
+        System.out.println("out: " + out);
+    }
+}
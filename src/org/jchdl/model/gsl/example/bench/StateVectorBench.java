@@ -0,0 +1,94 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.example.bench;
+
+import org.jchdl.model.gsl.core.datatype.helper.WireVec;
+import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.meta.PropagateManager;
+import org.jchdl.model.gsl.core.netlist.StateVector;
+import org.jchdl.model.gsl.core.value.Value;
+import org.jchdl.model.gsl.sequential.Clock;
+import org.jchdl.model.gsl.sequential.Counter;
+import org.jchdl.model.gsl.sequential.Register;
+import org.jchdl.model.gsl.sequential.Sequential;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// tests started from one reset state with StateVector, with gate-accurate and behavioral cells
+public class StateVectorBench {
+    // a counter loading a register, reset once and restored before each test
+    private static void run() throws IOException {
+        WireVec count = new WireVec(8);
+        WireVec out = new WireVec(8);
+        Wire clk = new Wire();
+        Wire clr = new Wire();
+        Wire oe = new Wire();
+        Counter.inst(count, clk, clr);
+        Register.inst(out, clk, oe, count);
+
+        clr.assign(Value.V0);
+        oe.assign(Value.V1);
+        PropagateManager.propagateParallel(clr, oe);
+        Clock.tick(clk, 1);
+        clr.assign(Value.V1);
+        PropagateManager.propagateParallel(clr);
+
+        StateVector vector = StateVector.of(clk, clr, oe);
+        long[] reset = vector.snapshot();
+        System.out.println(vector.nPorts() + " ports, " + vector.nStateful() + " stateful, " + vector.size() + " longs");
+        System.out.println("reset: count " + count + ", out " + out);
+
+        for (int test = 1; test <= 3; test++) {
+            vector.restore(reset);
+            Clock.tick(clk, 5 * test);
+            System.out.println("test " + test + ": count " + count + ", out " + out
+                    + ", " + vector.compare(reset) + " signals changed");
+        }
+        vector.restore(reset);
+        System.out.println("restored: count " + count + ", out " + out + ", " + vector.compare(reset) + " signals changed");
+
+        Path file = Files.createTempFile("state", ".bin");
+        Clock.tick(clk, 7);
+        StateVector.save(vector.snapshot(), file);
+        vector.restore(reset);
+        vector.restore(StateVector.load(file));
+        Files.delete(file);
+        Clock.tick(clk, 1);
+        System.out.println("loaded after 7 ticks, 1 more: count " + count + ", out " + out);
+    }
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("# gates");
+        run();
+        System.out.println("\n# behavioral");
+        Sequential.setBehavioral(true);
+        run();
+    }
+}
@@ -0,0 +1,101 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.example.bench;
+
+import org.jchdl.model.gsl.core.datatype.helper.WireVec;
+import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.meta.SimulationContext;
+import org.jchdl.model.gsl.core.netlist.Template;
+import org.jchdl.model.gsl.operator.arithmetic.Mul;
+
+import java.util.Arrays;
+import java.util.Random;
+
+// Mul_8 copies built by elaboration and from a template
+public class TemplateBench {
+    // collects until the used heap settles: a few System.gc() calls may leave
+    // much of the previous design behind and make the difference negative
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 50; i++) {
+            System.gc();
+            long now = runtime.totalMemory() - runtime.freeMemory();
+            if (Math.abs(used - now) < 64 * 1024) {
+                return Math.min(used, now);
+            }
+            used = now;
+        }
+        return used;
+    }
+
+    public static void main(String[] args) {
+        int nBits = 8;
+        int nCopies = 200;
+        int nVectors = 200;
+        long[][] results = new long[2][nVectors];
+        for (int k = 0; k < 2; k++) {
+            boolean copy = k == 1;
+            SimulationContext.setCurrent(new SimulationContext());
+            Template.setEnabled(copy);
+            WireVec[] in1 = new WireVec[nCopies];
+            WireVec[] in2 = new WireVec[nCopies];
+            WireVec[] out = new WireVec[nCopies];
+            long before = usedHeap();
+            long start = System.nanoTime();
+            for (int c = 0; c < nCopies; c++) {
+                in1[c] = new WireVec(nBits);
+                in2[c] = new WireVec(nBits);
+                out[c] = new WireVec(2 * nBits);
+                Mul.inst(out[c], new Wire(), in1[c], in2[c]);
+            }
+            long elapsed = System.nanoTime() - start;
+            SimulationContext.current().propagateParallel();
+            long heap = usedHeap() - before;
+
+            Random random = new Random(1);
+            long simulation = System.nanoTime();
+            for (int v = 0; v < nVectors; v++) {
+                int c = random.nextInt(nCopies);
+                in1[c].assign(random.nextInt(1 << nBits));
+                in2[c].assign(random.nextInt(1 << nBits));
+                SimulationContext.current().propagateParallel(in1[c], in2[c]);
+                for (int i = 0; i < 2 * nBits; i++) {
+                    results[k][v] |= (long) out[c].wire(i).getValue().v << (2 * i);
+                }
+            }
+            simulation = System.nanoTime() - simulation;
+            System.out.println((copy ? "copied" : "elaborated") + ": " + nCopies + " x Mul_" + nBits
+                    + " built in " + elapsed / 1000000 + " ms, " + heap / nCopies / 1024 + " KB each, "
+                    + nVectors + " vectors in " + simulation / 1000000 + " ms"
+                    + (copy ? ", templates: " + Template.size() : ""));
+        }
+        SimulationContext.setCurrent(null);
+        System.out.println("same results: " + Arrays.equals(results[0], results[1]));
+    }
+}
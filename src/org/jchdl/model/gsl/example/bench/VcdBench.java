@@ -0,0 +1,95 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.example.bench;
+
+import org.jchdl.model.gsl.core.datatype.helper.WireVec;
+import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.dump.VcdWriter;
+import org.jchdl.model.gsl.core.meta.SimulationContext;
+import org.jchdl.model.gsl.operator.arithmetic.Mul;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+// the cost of dumping every wire of a Mul to a VCD file with VcdWriter
+public class VcdBench {
+    // vectors per second through a Mul, simulated alone or dumped
+    private static double run(Path file, int nBits, int nVectors) throws IOException {
+        SimulationContext.setCurrent(new SimulationContext());
+        WireVec in1 = new WireVec(nBits);
+        WireVec in2 = new WireVec(nBits);
+        WireVec out = new WireVec(2 * nBits);
+        in1.setName("in1");
+        in2.setName("in2");
+        out.setName("out");
+        Mul mul = Mul.inst(out, new Wire(), in1, in2);
+        VcdWriter vcd = null;
+        if (file != null) {
+            vcd = new VcdWriter(file);
+            vcd.add(in1);
+            vcd.add(in2);
+            vcd.add(out);
+            vcd.add(mul);
+        }
+        Random random = new Random(1);
+        long start = System.nanoTime();
+        for (int v = 0; v < nVectors; v++) {
+            if (vcd != null) {
+                vcd.setTime(v * 10L);
+            }
+            in1.assign(random.nextInt(1 << nBits));
+            in2.assign(random.nextInt(1 << nBits));
+            SimulationContext.current().propagateParallel(in1, in2);
+        }
+        if (vcd != null) {
+            vcd.close();
+        }
+        long elapsed = System.nanoTime() - start;
+        SimulationContext.setCurrent(null);
+        return nVectors * 1e9 / elapsed;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path file = Files.createTempFile("mul", ".vcd");
+        int nBits = 8;
+        int nVectors = 5000;
+        double plain = 0;
+        double dumped = 0;
+        for (int i = 0; i < 4; i++) {
+            plain = Math.max(plain, run(null, nBits, nVectors));
+            dumped = Math.max(dumped, run(file, nBits, nVectors));
+        }
+        System.out.printf("vectors/s: %.0f, dumped: %.0f (%.0f%%)%n", plain, dumped, 100 * dumped / plain);
+        for (String line : Files.readAllLines(file).subList(0, 12)) {
+            System.out.println(line);
+        }
+        Files.delete(file);
+    }
+}
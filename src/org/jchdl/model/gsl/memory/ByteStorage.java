@@ -0,0 +1,94 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.memory;
+
+import java.util.Arrays;
+
+// 2-state storage of words up to 8 bits, one byte each
+public class ByteStorage extends Storage {
+    private final byte[] words;
+
+    public ByteStorage(int width, int depth) {
+        super(width, depth);
+        if (width > 8) {
+            throw new IllegalArgumentException("width " + width + " > 8");
+        }
+        words = new byte[depth];
+    }
+
+    @Override
+    public boolean isFourState() {
+        return false;
+    }
+
+    @Override
+    public int get(int address, int bit) {
+        return words[address] >>> bit & 1;
+    }
+
+    @Override
+    public void set(int address, int bit, int value) {
+        words[address] = (byte) (words[address] & ~(1 << bit) | known(value) << bit);
+    }
+
+    @Override
+    public long getWord(int address) {
+        return words[address] & 0xff;
+    }
+
+    @Override
+    public void setWord(int address, long word) {
+        words[address] = (byte) (word & mask());
+    }
+
+    @Override
+    public long footprint() {
+        return words.length;
+    }
+
+    // eight words per long
+    @Override
+    public int stateSize() {
+        return (depth + 7) / 8;
+    }
+
+    @Override
+    public void save(long[] state, int at) {
+        Arrays.fill(state, at, at + stateSize(), 0L);
+        for (int i = 0; i < depth; i++) {
+            state[at + (i >>> 3)] |= (words[i] & 0xffL) << ((i & 7) << 3);
+        }
+    }
+
+    @Override
+    public void load(long[] state, int at) {
+        for (int i = 0; i < depth; i++) {
+            words[i] = (byte) (state[at + (i >>> 3)] >>> ((i & 7) << 3));
+        }
+    }
+}
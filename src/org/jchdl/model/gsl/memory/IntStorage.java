@@ -0,0 +1,95 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.memory;
+
+// 2-state storage of words up to 32 bits, one int each
+public class IntStorage extends Storage {
+    private final int[] words;
+
+    public IntStorage(int width, int depth) {
+        super(width, depth);
+        if (width > 32) {
+            throw new IllegalArgumentException("width " + width + " > 32");
+        }
+        words = new int[depth];
+    }
+
+    @Override
+    public boolean isFourState() {
+        return false;
+    }
+
+    @Override
+    public int get(int address, int bit) {
+        return words[address] >>> bit & 1;
+    }
+
+    @Override
+    public void set(int address, int bit, int value) {
+        words[address] = words[address] & ~(1 << bit) | known(value) << bit;
+    }
+
+    @Override
+    public long getWord(int address) {
+        return words[address] & 0xffffffffL;
+    }
+
+    @Override
+    public void setWord(int address, long word) {
+        words[address] = (int) (word & mask());
+    }
+
+    @Override
+    public long footprint() {
+        return (long) words.length * 4;
+    }
+
+    // two words per long
+    @Override
+    public int stateSize() {
+        return (depth + 1) / 2;
+    }
+
+    @Override
+    public void save(long[] state, int at) {
+        for (int i = 0; i < depth; i += 2) {
+            long word = words[i] & 0xffffffffL;
+            if (i + 1 < depth) {
+                word |= (long) words[i + 1] << 32;
+            }
+            state[at + (i >>> 1)] = word;
+        }
+    }
+
+    @Override
+    public void load(long[] state, int at) {
+        for (int i = 0; i < depth; i++) {
+            words[i] = (int) (state[at + (i >>> 1)] >>> ((i & 1) << 5));
+        }
+    }
+}
@@ -0,0 +1,108 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.memory;
+
+import org.jchdl.model.gsl.core.io.Input;
+import org.jchdl.model.gsl.core.value.Value;
+import org.jchdl.model.gsl.sequential.atomic.ClockedNode;
+
+// Memory as one atomic node over a Storage: reading drives the data outputs from the storage,
+// a word at an unknown or out of range address reads x, as in verilog.
+public abstract class Memory extends ClockedNode {
+    protected Storage storage;
+    protected int width;
+    protected int nAddressBits;
+
+    protected Memory(Storage storage, int width, int nAddressBits) {
+        if (storage.getWidth() != width) {
+            throw new IllegalArgumentException("data width " + width + " != storage width " + storage.getWidth());
+        }
+        if (nAddressBits > 62 || nAddressBits < 31 && storage.getDepth() > 1 << nAddressBits) {
+            throw new IllegalArgumentException("depth " + storage.getDepth() + " needs more than " + nAddressBits + " address bits");
+        }
+        this.storage = storage;
+        this.width = width;
+        this.nAddressBits = nAddressBits;
+    }
+
+    public Storage getStorage() {
+        return storage;
+    }
+
+    // the address on the inputs from first, -1 if unknown or out of range
+    protected int address(int first) {
+        Input[] inputs = inputs();
+        long address = 0;
+        for (int i = nAddressBits - 1; i >= 0; i--) {
+            int v = inputs[first + i].get();
+            if (v > Value.VALUE_1) {
+                return -1;
+            }
+            address = address << 1 | v;
+        }
+        return address < storage.getDepth() ? (int) address : -1;
+    }
+
+    protected void read(int address) {
+        if (address < 0) {
+            drive(Value.VALUE_X);
+            return;
+        }
+        for (int i = 0; i < width; i++) {
+            out(i).set(storage.get(address, i));
+        }
+    }
+
+    protected void drive(int value) {
+        for (int i = 0; i < width; i++) {
+            out(i).set(value);
+        }
+    }
+
+    @Override
+    public int stateSize() {
+        return super.stateSize() + storage.stateSize();
+    }
+
+    @Override
+    public void save(long[] state, int at) {
+        super.save(state, at);
+        storage.save(state, at + super.stateSize());
+    }
+
+    @Override
+    public void load(long[] state, int at) {
+        super.load(state, at);
+        storage.load(state, at + super.stateSize());
+    }
+
+    @Override
+    public String getName() {
+        return this.getClass().getSimpleName() + "_" + width + "x" + storage.getDepth();
+    }
+}
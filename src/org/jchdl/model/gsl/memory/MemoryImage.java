@@ -0,0 +1,177 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.memory;
+
+import org.jchdl.model.gsl.core.value.Value;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Loads memory contents from image files, mapped read-only into memory rather than read into the heap.
+//   hex: as verilog $readmemh, whitespace separated hex words, with x/z digits, '_' separators,
+//        '@address' to move on and // or /* */ comments
+//   binary: raw words of (width + 7) / 8 bytes each, little-endian, from address 0
+// both return the number of words loaded.
+public class MemoryImage {
+
+    private static MappedByteBuffer map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    public static int loadBinary(Storage storage, Path path) throws IOException {
+        MappedByteBuffer buffer = map(path);
+        int width = storage.getWidth();
+        int bytes = (width + 7) / 8;
+        long words = Math.min(storage.getDepth(), buffer.limit() / bytes);
+        for (int address = 0; address < words; address++) {
+            int base = address * bytes;
+            if (width <= 64) {
+                long word = 0;
+                for (int i = 0; i < bytes; i++) {
+                    word |= (buffer.get(base + i) & 0xffL) << (i * 8);
+                }
+                storage.setWord(address, word);
+            } else {
+                for (int bit = 0; bit < width; bit++) {
+                    storage.set(address, bit, buffer.get(base + bit / 8) >>> (bit & 7) & 1);
+                }
+            }
+        }
+        return (int) words;
+    }
+
+    public static int loadHex(Storage storage, Path path) throws IOException {
+        MappedByteBuffer buffer = map(path);
+        int limit = buffer.limit();
+        int address = 0;
+        int words = 0;
+        int p = 0;
+        while (p < limit) {
+            int c = buffer.get(p);
+            if (c <= ' ') {
+                p++;
+            } else if (c == '/' && p + 1 < limit && buffer.get(p + 1) == '/') {
+                while (p < limit && buffer.get(p) != '\n') {
+                    p++;
+                }
+            } else if (c == '/' && p + 1 < limit && buffer.get(p + 1) == '*') {
+                p += 2;
+                while (p + 1 < limit && !(buffer.get(p) == '*' && buffer.get(p + 1) == '/')) {
+                    p++;
+                }
+                p += 2;
+            } else {
+                int start = c == '@' ? p + 1 : p;
+                int end = start;
+                while (end < limit && buffer.get(end) > ' ' && buffer.get(end) != '/') {
+                    end++;
+                }
+                if (c == '@') {
+                    address = (int) parse(buffer, start, end, path);
+                } else {
+                    if (address >= storage.getDepth()) {
+                        throw new IOException(path + ": address " + Integer.toHexString(address) + " beyond depth " + storage.getDepth());
+                    }
+                    word(storage, address++, buffer, start, end, path);
+                    words++;
+                }
+                p = end;
+            }
+        }
+        return words;
+    }
+
+    private static int digit(int c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        c |= 0x20;
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        return -1;
+    }
+
+    private static long parse(MappedByteBuffer buffer, int start, int end, Path path) throws IOException {
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            int c = buffer.get(i);
+            if (c != '_') {
+                int d = digit(c);
+                if (d < 0) {
+                    throw new IOException(path + ": bad hex digit '" + (char) c + "' at " + i);
+                }
+                value = value << 4 | d;
+            }
+        }
+        return value;
+    }
+
+    // one word, digits from the right; a word of plain hex digits up to 64 bits is stored at once
+    private static void word(Storage storage, int address, MappedByteBuffer buffer, int start, int end, Path path) throws IOException {
+        int width = storage.getWidth();
+        boolean plain = width <= 64;
+        for (int i = start; i < end && plain; i++) {
+            int c = buffer.get(i);
+            plain = c == '_' || digit(c) >= 0;
+        }
+        if (plain) {
+            storage.setWord(address, parse(buffer, start, end, path));
+            return;
+        }
+        int bit = 0;
+        for (int i = end - 1; i >= start; i--) {
+            int c = buffer.get(i);
+            if (c == '_') {
+                continue;
+            }
+            int d = digit(c);
+            int v;
+            if (d >= 0) {
+                v = -1;
+            } else if ((c | 0x20) == 'x') {
+                v = Value.VALUE_X;
+            } else if ((c | 0x20) == 'z') {
+                v = Value.VALUE_Z;
+            } else {
+                throw new IOException(path + ": bad hex digit '" + (char) c + "' at " + i);
+            }
+            for (int k = 0; k < 4 && bit < width; k++, bit++) {
+                storage.set(address, bit, v < 0 ? d >>> k & 1 : v);
+            }
+        }
+        for (; bit < width; bit++) {
+            storage.set(address, bit, Value.VALUE_0);
+        }
+    }
+}
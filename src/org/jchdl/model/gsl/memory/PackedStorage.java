@@ -0,0 +1,152 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.memory;
+
+import org.jchdl.model.gsl.core.value.Value;
+
+import java.util.Arrays;
+
+// words packed into longs, as many whole words per long as fit, or whole longs per word when wider
+// than 64 bits. 4-state storage keeps a second plane:
+//   value  0 1 x z
+//   lo     0 1 0 1
+//   hi     0 0 1 1
+public class PackedStorage extends Storage {
+    private final int perLong;
+    private final int longsPerWord;
+    private final long[] lo;
+    private final long[] hi;
+
+    public PackedStorage(int width, int depth, boolean fourState) {
+        super(width, depth);
+        if (width <= 64) {
+            perLong = 64 / width;
+            longsPerWord = 1;
+            lo = new long[(depth + perLong - 1) / perLong];
+        } else {
+            perLong = 1;
+            longsPerWord = (width + 63) / 64;
+            lo = new long[depth * longsPerWord];
+        }
+        if (fourState) {
+            hi = new long[lo.length];
+            Arrays.fill(hi, -1L);
+        } else {
+            hi = null;
+        }
+    }
+
+    @Override
+    public boolean isFourState() {
+        return hi != null;
+    }
+
+    // bit position of a bit in the planes
+    private long position(int address, int bit) {
+        if (longsPerWord == 1) {
+            return (long) (address / perLong) * 64 + (address % perLong) * width + bit;
+        }
+        return (long) address * longsPerWord * 64 + bit;
+    }
+
+    @Override
+    public int get(int address, int bit) {
+        long p = position(address, bit);
+        int i = (int) (p >>> 6);
+        int l = (int) (lo[i] >>> p) & 1;
+        return hi == null ? l : l | (int) (hi[i] >>> p & 1) << 1;
+    }
+
+    @Override
+    public void set(int address, int bit, int value) {
+        long p = position(address, bit);
+        int i = (int) (p >>> 6);
+        long m = 1L << p;
+        if (hi == null) {
+            lo[i] = known(value) != 0 ? lo[i] | m : lo[i] & ~m;
+            return;
+        }
+        lo[i] = (value & 1) != 0 ? lo[i] | m : lo[i] & ~m;
+        hi[i] = (value & 2) != 0 ? hi[i] | m : hi[i] & ~m;
+    }
+
+    @Override
+    public long getWord(int address) {
+        long p = position(address, 0);
+        int i = (int) (p >>> 6);
+        long word = lo[i] >>> p;
+        if (hi != null) {
+            word &= ~(hi[i] >>> p);
+        }
+        return longsPerWord == 1 ? word & mask() : word;
+    }
+
+    @Override
+    public void setWord(int address, long word) {
+        long p = position(address, 0);
+        int i = (int) (p >>> 6);
+        long m = (longsPerWord == 1 ? mask() : -1L) << p;
+        lo[i] = lo[i] & ~m | word << p & m;
+        if (hi != null) {
+            hi[i] &= ~m;
+        }
+        for (int j = 1; j < longsPerWord; j++) {
+            lo[i + j] = 0;
+            if (hi != null) {
+                hi[i + j] = 0;
+            }
+        }
+    }
+
+    @Override
+    public long footprint() {
+        return (long) lo.length * 8 * (hi != null ? 2 : 1);
+    }
+
+    // the planes as they are
+    @Override
+    public int stateSize() {
+        return lo.length * (hi != null ? 2 : 1);
+    }
+
+    @Override
+    public void save(long[] state, int at) {
+        System.arraycopy(lo, 0, state, at, lo.length);
+        if (hi != null) {
+            System.arraycopy(hi, 0, state, at + lo.length, hi.length);
+        }
+    }
+
+    @Override
+    public void load(long[] state, int at) {
+        System.arraycopy(state, at, lo, 0, lo.length);
+        if (hi != null) {
+            System.arraycopy(state, at + lo.length, hi, 0, hi.length);
+        }
+    }
+}
@@ -27,5 +27,143 @@
 // THE POSSIBILITY OF SUCH DAMAGE.
 package org.jchdl.model.gsl.memory;
 
-public class Ram {
+import org.jchdl.model.gsl.core.datatype.helper.WireVec;
+import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.meta.PropagateManager;
+import org.jchdl.model.gsl.core.value.TruthTable;
+import org.jchdl.model.gsl.core.value.Value;
+
+// Single port RAM: din is written at addr on posedge clk while cs and we are high.
+// asynchronous read: dout = mem[addr] while cs is high, z while it is low.
+// synchronous read: dout <= mem[addr] on posedge clk while cs is high, the word before the write.
+// writes to an unknown address are dropped; in 4-state storage, an unknown cs, we or clock edge
+// turns the bits a write would have changed to x.
+public class Ram extends Memory {
+    private static final int CLK = 0;
+    private static final int CS = 1;
+    private static final int WE = 2;
+    private static final int ADDR = 3;
+
+    private boolean syncRead;
+
+    public Ram(WireVec dout, Wire clk, Wire cs, Wire we, WireVec addr, WireVec din, Storage storage, boolean syncRead) {
+        super(storage, din.nBits(), addr.nBits());
+        if (dout.nBits() != din.nBits()) {
+            throw new IllegalArgumentException("dout " + dout.nBits() + " bits, din " + din.nBits() + " bits");
+        }
+        this.syncRead = syncRead;
+        in(clk);
+        in(cs);
+        in(we);
+        in(addr.wires());
+        in(din.wires());
+        out(dout.wires());
+        construct();
+    }
+
+    // storage for every address, up to 30 address bits
+    public Ram(WireVec dout, Wire clk, Wire cs, Wire we, WireVec addr, WireVec din, boolean syncRead) {
+        this(dout, clk, cs, we, addr, din, Storage.inst(din.nBits(), depth(addr)), syncRead);
+    }
+
+    private static int depth(WireVec addr) {
+        if (addr.nBits() > 30) {
+            throw new IllegalArgumentException("address " + addr.nBits() + " bits > 30, give the Storage explicitly");
+        }
+        return 1 << addr.nBits();
+    }
+
+    public boolean isSyncRead() {
+        return syncRead;
+    }
+
+    @Override
+    public void atomic() {
+        int edge = posedge(in(CLK).get());
+        int cs = in(CS).get();
+        int address = address(ADDR);
+        if (edge != Value.VALUE_0) {
+            if (syncRead && cs != Value.VALUE_0) {
+                if (edge == Value.VALUE_1 && cs == Value.VALUE_1) {
+                    read(address);
+                } else {
+                    drive(Value.VALUE_X);
+                }
+            }
+            int write = TruthTable.lookup(TruthTable.AND, TruthTable.lookup(TruthTable.AND, edge, cs), in(WE).get());
+            if (write != Value.VALUE_0 && address >= 0) {
+                write(address, write == Value.VALUE_1);
+            }
+        }
+        if (!syncRead) {
+            if (cs == Value.VALUE_1) {
+                read(address);
+            } else {
+                drive(cs == Value.VALUE_0 ? Value.VALUE_Z : Value.VALUE_X);
+            }
+        }
+    }
+
+    private void write(int address, boolean certain) {
+        int din = ADDR + nAddressBits;
+        for (int i = 0; i < width; i++) {
+            int v = TruthTable.BUF[in(din + i).get()];
+            if (!certain && storage.get(address, i) != v) {
+                v = Value.VALUE_X;
+            }
+            storage.set(address, i, v);
+        }
+    }
+
+    @Override
+    public String primitive() {
+        return "ram";
+    }
+
+    public static Ram inst(WireVec dout, Wire clk, Wire cs, Wire we, WireVec addr, WireVec din) {
+        return new Ram(dout, clk, cs, we, addr, din, false);
+    }
+
+    public static Ram inst(WireVec dout, Wire clk, Wire cs, Wire we, WireVec addr, WireVec din, Storage storage, boolean syncRead) {
+        return new Ram(dout, clk, cs, we, addr, din, storage, syncRead);
+    }
+
+    private static void tick(Wire clk) {
+        clk.assign(Value.V0);
+        PropagateManager.propagateParallel(clk);
+        clk.assign(Value.V1);
+        PropagateManager.propagateParallel(clk);
+    }
+
+    public static void main(String[] args) {
+        WireVec dout = new WireVec(8);
+        WireVec addr = new WireVec(16);
+        WireVec din = new WireVec(8);
+        Wire clk = new Wire();
+        Wire cs = new Wire();
+        Wire we = new Wire();
+
+        Ram ram = Ram.inst(dout, clk, cs, we, addr, din);
+        System.out.println(ram.getName() + ", storage: " + ram.getStorage().footprint() + " bytes");
+
+        cs.assign(Value.V1);
+        we.assign(Value.V1);
+        for (int i = 0; i < 4; i++) {
+            addr.assign(0x1000 + i);
+            din.assign(0xa0 + i);
+            PropagateManager.propagateParallel(cs, we, addr, din);
+            tick(clk);
+        }
+
+        we.assign(Value.V0);
+        for (int i = 0; i < 5; i++) {
+            addr.assign(0x1000 + i);
+            PropagateManager.propagateParallel(we, addr);
+            System.out.println("mem[" + Integer.toHexString(0x1000 + i) + "]: " + dout);
+        }
+
+        cs.assign(Value.V0);
+        PropagateManager.propagateParallel(cs);
+        System.out.println("cs = 0: " + dout);
+    }
 }
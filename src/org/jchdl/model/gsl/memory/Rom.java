@@ -27,5 +27,116 @@
 // THE POSSIBILITY OF SUCH DAMAGE.
 package org.jchdl.model.gsl.memory;
 
-public class Rom {
+import org.jchdl.model.gsl.core.datatype.helper.WireVec;
+import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.meta.PropagateManager;
+import org.jchdl.model.gsl.core.value.Value;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// ROM over a Storage filled beforehand, e.g. from an image file, see MemoryImage.
+// asynchronous read: dout = mem[addr] while cs is high, z while it is low.
+// synchronous read: dout <= mem[addr] on posedge clk while cs is high.
+public class Rom extends Memory {
+    private boolean syncRead;
+
+    // clk is null for asynchronous read
+    private Rom(Storage storage, WireVec dout, Wire clk, Wire cs, WireVec addr) {
+        super(storage, dout.nBits(), addr.nBits());
+        this.syncRead = clk != null;
+        if (syncRead) {
+            in(clk);
+        }
+        in(cs);
+        in(addr.wires());
+        out(dout.wires());
+        construct();
+    }
+
+    public Rom(WireVec dout, Wire cs, WireVec addr, Storage storage) {
+        this(storage, dout, null, cs, addr);
+    }
+
+    public Rom(WireVec dout, Wire clk, Wire cs, WireVec addr, Storage storage) {
+        this(storage, dout, clk, cs, addr);
+    }
+
+    public boolean isSyncRead() {
+        return syncRead;
+    }
+
+    @Override
+    public void atomic() {
+        int first = syncRead ? 1 : 0;
+        int cs = in(first).get();
+        if (syncRead) {
+            int edge = posedge(in(0).get());
+            if (edge != Value.VALUE_0 && cs != Value.VALUE_0) {
+                if (edge == Value.VALUE_1 && cs == Value.VALUE_1) {
+                    read(address(2));
+                } else {
+                    drive(Value.VALUE_X);
+                }
+            }
+            return;
+        }
+        if (cs == Value.VALUE_1) {
+            read(address(1));
+        } else {
+            drive(cs == Value.VALUE_0 ? Value.VALUE_Z : Value.VALUE_X);
+        }
+    }
+
+    @Override
+    public String primitive() {
+        return "rom";
+    }
+
+    public static Rom inst(WireVec dout, Wire cs, WireVec addr, Storage storage) {
+        return new Rom(dout, cs, addr, storage);
+    }
+
+    public static Rom inst(WireVec dout, Wire clk, Wire cs, WireVec addr, Storage storage) {
+        return new Rom(dout, clk, cs, addr, storage);
+    }
+
+    public static void main(String[] args) throws IOException {
+        // 64 KB image: word i = i * 7 mod 256
+        Path hex = Files.createTempFile("rom", ".hex");
+        Path bin = Files.createTempFile("rom", ".bin");
+        StringBuilder sb = new StringBuilder("// 64 KB test image\n@0000\n");
+        byte[] bytes = new byte[1 << 16];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) (i * 7);
+            sb.append(String.format("%02x", i * 7 & 0xff)).append((i & 15) == 15 ? '\n' : ' ');
+        }
+        sb.append("@fff0 xx 1z\n");
+        Files.write(hex, sb.toString().getBytes());
+        Files.write(bin, bytes);
+
+        Storage fourState = Storage.inst(8, 1 << 16, true);
+        Storage twoState = Storage.inst(8, 1 << 16, false);
+        System.out.println("hex words: " + MemoryImage.loadHex(fourState, hex)
+                + ", 4-state storage: " + fourState.footprint() + " bytes");
+        System.out.println("binary words: " + MemoryImage.loadBinary(twoState, bin)
+                + ", 2-state storage: " + twoState.footprint() + " bytes");
+        Files.delete(hex);
+        Files.delete(bin);
+
+        WireVec dout4 = new WireVec(8);
+        WireVec dout2 = new WireVec(8);
+        WireVec addr = new WireVec(16);
+        Wire cs = new Wire();
+        Rom.inst(dout4, cs, addr, fourState);
+        Rom.inst(dout2, cs, addr, twoState);
+
+        cs.assign(Value.V1);
+        for (int address : new int[]{0, 1, 0x1234, 0xffef, 0xfff0, 0xfff1}) {
+            addr.assign(address);
+            PropagateManager.propagateParallel(cs, addr);
+            System.out.println("rom[" + Integer.toHexString(address) + "]: 4-state " + dout4 + ", 2-state " + dout2);
+        }
+    }
 }
@@ -0,0 +1,119 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.memory;
+
+import org.jchdl.model.gsl.core.meta.SimulationContext;
+import org.jchdl.model.gsl.core.value.Value;
+
+// Contents of a memory of depth words of width bits, kept in primitive arrays instead of nets.
+// 4-state storage packs two bit planes in long[], 2-state storage keeps words in byte[], int[]
+// or long[] and stores x and z as 0. Unwritten words read x in 4-state, 0 in 2-state.
+// inst(width, depth) picks 4-state or 2-state after the choice of the current SimulationContext.
+public abstract class Storage {
+    protected final int width;
+    protected final int depth;
+
+    protected Storage(int width, int depth) {
+        if (width <= 0 || depth <= 0) {
+            throw new IllegalArgumentException("width " + width + ", depth " + depth);
+        }
+        this.width = width;
+        this.depth = depth;
+    }
+
+    public static boolean isXTracking() {
+        return SimulationContext.current().isXTracking();
+    }
+
+    // storage created by inst in the current context from now on is 4-state or 2-state
+    public static void setXTracking(boolean xTracking) {
+        SimulationContext.current().setXTracking(xTracking);
+    }
+
+    public static Storage inst(int width, int depth) {
+        return inst(width, depth, isXTracking());
+    }
+
+    public static Storage inst(int width, int depth, boolean fourState) {
+        if (fourState || width > 32) {
+            return new PackedStorage(width, depth, fourState);
+        }
+        if (width <= 8) {
+            return new ByteStorage(width, depth);
+        }
+        return new IntStorage(width, depth);
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public abstract boolean isFourState();
+
+    // value of a bit: Value.VALUE_0, 1, X or Z
+    public abstract int get(int address, int bit);
+
+    public abstract void set(int address, int bit, int value);
+
+    // bits [0, 64) of a word, x and z read as 0
+    public abstract long getWord(int address);
+
+    // bits [0, 64) of a word, the bits above the width are dropped
+    public abstract void setWord(int address, long word);
+
+    // size of the arrays in bytes
+    public abstract long footprint();
+
+    // the contents as longs, for core.meta.Stateful
+    public abstract int stateSize();
+
+    public abstract void save(long[] state, int at);
+
+    public abstract void load(long[] state, int at);
+
+    protected long mask() {
+        return width >= 64 ? -1L : (1L << width) - 1;
+    }
+
+    // 2-state storage keeps x and z as 0
+    protected static int known(int value) {
+        return value == Value.VALUE_1 ? 1 : 0;
+    }
+
+    public String toString(int address) {
+        StringBuilder sb = new StringBuilder(width);
+        for (int i = width - 1; i >= 0; i--) {
+            sb.append("01xz".charAt(get(address, i)));
+        }
+        return sb.toString();
+    }
+}
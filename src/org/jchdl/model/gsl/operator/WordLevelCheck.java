@@ -0,0 +1,260 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.operator;
+
+import org.jchdl.model.gsl.core.datatype.helper.WireVec;
+import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.meta.PropagateManager;
+import org.jchdl.model.gsl.core.meta.SimulationContext;
+import org.jchdl.model.gsl.core.value.Value;
+import org.jchdl.model.gsl.operator.arithmetic.Add;
+import org.jchdl.model.gsl.operator.arithmetic.Div;
+import org.jchdl.model.gsl.operator.arithmetic.Mul;
+import org.jchdl.model.gsl.operator.arithmetic.MulC2;
+import org.jchdl.model.gsl.operator.arithmetic.Rem;
+import org.jchdl.model.gsl.operator.arithmetic.Sub;
+import org.jchdl.model.gsl.operator.relational.Ge;
+import org.jchdl.model.gsl.operator.relational.Gt;
+import org.jchdl.model.gsl.operator.relational.Le;
+import org.jchdl.model.gsl.operator.relational.Lt;
+import org.jchdl.model.gsl.operator.shift.ArithmeticRight;
+import org.jchdl.model.gsl.operator.shift.LogicalLeft;
+import org.jchdl.model.gsl.operator.shift.LogicalRight;
+import org.jchdl.verification.gsl.Equivalence;
+
+import java.util.Random;
+
+// checks the word-level operators against their netlists: both are constructed on the same
+// input wires and their outputs compared, over all the inputs of narrow operators and random ones
+// of wide operators. the shifts are also given x and z bits, which they move exactly.
+public class WordLevelCheck {
+    private static final Value[] VALUES = {Value.V0, Value.V1, Value.Vx, Value.Vz};
+
+    // an operator: the widths of its inputs and outputs and its construction
+    public abstract static class Operator {
+        private String name;
+        private int[] in;
+        private int[] out;
+        private boolean fourState;
+
+        public Operator(String name, int[] in, int[] out, boolean fourState) {
+            this.name = name;
+            this.in = in;
+            this.out = out;
+            this.fourState = fourState;
+        }
+
+        public Operator(String name, int[] in, int[] out) {
+            this(name, in, out, false);
+        }
+
+        public abstract void inst(WireVec[] out, WireVec[] in);
+    }
+
+    // mismatching output bits over the vectors tried, all of them up to 2^16 vectors
+    public static String check(Operator op, long seed, int vectors) {
+        WireVec[] in = Equivalence.vecs(op.in);
+        WireVec[] gate = Equivalence.vecs(op.out);
+        WireVec[] word = Equivalence.vecs(op.out);
+        boolean saved = WordLevel.isEnabled();
+        try {
+            WordLevel.setEnabled(false);
+            op.inst(gate, in);
+            WordLevel.setEnabled(true);
+            op.inst(word, in);
+        } finally {
+            WordLevel.setEnabled(saved);
+        }
+
+        int nBits = Equivalence.bits(op.in);
+        boolean exhaustive = !op.fourState && nBits <= 16;
+        long n = exhaustive ? 1L << nBits : vectors;
+        Random random = new Random(seed);
+        long mismatches = 0;
+        // the ripple netlists of wide operators take many waves to settle
+        SimulationContext context = SimulationContext.current();
+        int settleWaves = context.getSettleWaves();
+        context.setSettleWaves(1 << 20);
+        try {
+            for (long v = 0; v < n; v++) {
+                int bit = 0;
+                for (WireVec vec : in) {
+                    for (Wire wire : vec.wires()) {
+                        if (exhaustive) {
+                            wire.assign(VALUES[(int) (v >>> bit++) & 1]);
+                        } else {
+                            wire.assign(VALUES[random.nextInt(op.fourState ? 4 : 2)]);
+                        }
+                    }
+                }
+                PropagateManager.add(in[0], in);
+                PropagateManager.propagateParallel();
+                for (int i = 0; i < gate.length; i++) {
+                    for (int j = 0; j < gate[i].nBits(); j++) {
+                        if (gate[i].wire(j).getValue().v != word[i].wire(j).getValue().v) {
+                            mismatches++;
+                        }
+                    }
+                }
+            }
+        } finally {
+            context.setSettleWaves(settleWaves);
+        }
+        return op.name + ": " + n + (exhaustive ? " vectors (all), " : " vectors, ") + mismatches + " mismatches";
+    }
+
+    private static Operator[] operators(int n) {
+        return new Operator[]{
+                new Operator("Add_" + n, new int[]{n, n, 1}, new int[]{n, 1}) {
+                    @Override
+                    public void inst(WireVec[] out, WireVec[] in) {
+                        Add.inst(out[0], out[1].wire(0), in[0], in[1], in[2].wire(0));
+                    }
+                },
+                new Operator("Sub_" + n, new int[]{n, n}, new int[]{n}) {
+                    @Override
+                    public void inst(WireVec[] out, WireVec[] in) {
+                        Sub.inst(out[0], in[0], in[1]);
+                    }
+                },
+                new Operator("Mul_" + n, new int[]{n, n}, new int[]{2 * n, 1}) {
+                    @Override
+                    public void inst(WireVec[] out, WireVec[] in) {
+                        Mul.inst(out[0], out[1].wire(0), in[0], in[1]);
+                    }
+                },
+                new Operator("MulC2_" + n, new int[]{n, n}, new int[]{2 * n, 1}) {
+                    @Override
+                    public void inst(WireVec[] out, WireVec[] in) {
+                        MulC2.inst(out[0], out[1].wire(0), in[0], in[1]);
+                    }
+                },
+                new Operator("Div_" + n, new int[]{n, n}, new int[]{n, n}) {
+                    @Override
+                    public void inst(WireVec[] out, WireVec[] in) {
+                        Div.inst(out[0], out[1], in[0], in[1]);
+                    }
+                },
+                new Operator("Rem_" + n, new int[]{n, n}, new int[]{n}) {
+                    @Override
+                    public void inst(WireVec[] out, WireVec[] in) {
+                        Rem.inst(out[0], in[0], in[1]);
+                    }
+                },
+                new Operator("Lt_" + n, new int[]{n, n}, new int[]{1}) {
+                    @Override
+                    public void inst(WireVec[] out, WireVec[] in) {
+                        Lt.inst(out[0].wire(0), in[0], in[1]);
+                    }
+                },
+                new Operator("Gt_" + n, new int[]{n, n}, new int[]{1}) {
+                    @Override
+                    public void inst(WireVec[] out, WireVec[] in) {
+                        Gt.inst(out[0].wire(0), in[0], in[1]);
+                    }
+                },
+                new Operator("Ge_" + n, new int[]{n, n}, new int[]{1}) {
+                    @Override
+                    public void inst(WireVec[] out, WireVec[] in) {
+                        Ge.inst(out[0].wire(0), in[0], in[1]);
+                    }
+                },
+                new Operator("Le_" + n, new int[]{n, n}, new int[]{1}) {
+                    @Override
+                    public void inst(WireVec[] out, WireVec[] in) {
+                        Le.inst(out[0].wire(0), in[0], in[1]);
+                    }
+                },
+                new Operator("LogicalLeft_" + n, new int[]{n}, new int[]{n}, true) {
+                    @Override
+                    public void inst(WireVec[] out, WireVec[] in) {
+                        LogicalLeft.inst(out[0], in[0], 3);
+                    }
+                },
+                new Operator("LogicalRight_" + n, new int[]{n}, new int[]{n}, true) {
+                    @Override
+                    public void inst(WireVec[] out, WireVec[] in) {
+                        LogicalRight.inst(out[0], in[0], 3);
+                    }
+                },
+                new Operator("ArithmeticRight_" + n, new int[]{n}, new int[]{n}, true) {
+                    @Override
+                    public void inst(WireVec[] out, WireVec[] in) {
+                        ArithmeticRight.inst(out[0], in[0], 3);
+                    }
+                },
+        };
+    }
+
+    // evaluations per second of an operator built at bit or word level
+    private static double speed(Operator op, boolean wordLevel, int vectors) {
+        SimulationContext context = new SimulationContext();
+        context.setSettleWaves(1 << 20);
+        SimulationContext.setCurrent(context);
+        WireVec[] in = Equivalence.vecs(op.in);
+        try {
+            WordLevel.setEnabled(wordLevel);
+            op.inst(Equivalence.vecs(op.out), in);
+            Random random = new Random(1);
+            long start = System.nanoTime();
+            for (int v = 0; v < vectors; v++) {
+                for (WireVec vec : in) {
+                    vec.assign(random.nextLong());
+                }
+                PropagateManager.add(in[0], in);
+                PropagateManager.propagateParallel();
+            }
+            long ns = System.nanoTime() - start;
+            return vectors * 1e9 / ns;
+        } finally {
+            SimulationContext.setCurrent(null);
+        }
+    }
+
+    public static void main(String[] args) {
+        for (Operator op : operators(6)) {
+            System.out.println(check(op, 6, 4096));
+        }
+        // past 64 bits: the multipliers work on twice the operand width.
+        // the netlists of the dividers glitch too much to settle in reasonable time there
+        Operator[] wide = operators(66);
+        Operator[] half = operators(33);
+        for (Operator op : new Operator[]{wide[0], wide[1], half[2], half[3], wide[6], wide[8]}) {
+            System.out.println(check(op, 66, 20));
+        }
+
+        System.out.println("\n# evaluations/s: bit level, word level");
+        for (Operator op : new Operator[]{operators(32)[0], operators(16)[2], operators(8)[4], operators(32)[6]}) {
+            speed(op, false, 50);
+            speed(op, true, 2000);
+            double bit = speed(op, false, 200);
+            double word = speed(op, true, 100000);
+            System.out.printf("%-10s %10.0f %10.0f  %6.0fx%n", op.name, bit, word, word / bit);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.operator;
+
+import org.jchdl.model.gsl.core.io.Input;
+import org.jchdl.model.gsl.core.meta.AtomicNode;
+import org.jchdl.model.gsl.core.value.Value;
+
+import java.math.BigInteger;
+
+// Operator evaluated on whole words: operands of up to 64 bits are computed with long arithmetic,
+// wider ones with BigInteger limbs. an operand with an x or z bit makes every output x.
+public abstract class WordNode extends AtomicNode {
+
+    public static long mask(int nBits) {
+        return nBits >= 64 ? -1L : (1L << nBits) - 1;
+    }
+
+    public static BigInteger bigMask(int nBits) {
+        return BigInteger.ONE.shiftLeft(nBits).subtract(BigInteger.ONE);
+    }
+
+    // inputs [from, from + nBits) are all 0 or 1
+    protected boolean known(int from, int nBits) {
+        Input[] inputs = inputs();
+        for (int i = from; i < from + nBits; i++) {
+            if (inputs[i].get() > Value.VALUE_1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    protected boolean known() {
+        return known(0, nIn());
+    }
+
+    // inputs [from, from + nBits) as an unsigned word, nBits <= 64
+    protected long word(int from, int nBits) {
+        Input[] inputs = inputs();
+        long word = 0;
+        for (int i = nBits - 1; i >= 0; i--) {
+            word = word << 1 | inputs[from + i].get();
+        }
+        return word;
+    }
+
+    protected BigInteger big(int from, int nBits) {
+        Input[] inputs = inputs();
+        byte[] bytes = new byte[nBits / 8 + 1];
+        for (int i = 0; i < nBits; i++) {
+            if (inputs[from + i].get() == Value.VALUE_1) {
+                bytes[bytes.length - 1 - i / 8] |= 1 << (i % 8);
+            }
+        }
+        return new BigInteger(bytes);
+    }
+
+    // outputs [from, from + nBits) from the low bits of word
+    protected void drive(int from, int nBits, long word) {
+        for (int i = 0; i < nBits; i++) {
+            out(from + i).set((int) (word >>> i) & 1);
+        }
+    }
+
+    protected void drive(int from, int nBits, BigInteger word) {
+        for (int i = 0; i < nBits; i++) {
+            out(from + i).set(word.testBit(i) ? Value.VALUE_1 : Value.VALUE_0);
+        }
+    }
+
+    protected void fill(int value) {
+        for (int i = 0; i < nOut(); i++) {
+            out(i).set(value);
+        }
+    }
+}
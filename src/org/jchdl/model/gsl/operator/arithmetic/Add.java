@@ -31,6 +31,7 @@ import org.jchdl.model.gsl.core.datatype.helper.WireVec;
 import org.jchdl.model.gsl.core.datatype.net.Wire;
 import org.jchdl.model.gsl.core.meta.Node;
 import org.jchdl.model.gsl.core.value.Value;
+import org.jchdl.model.gsl.operator.WordLevel;
 
 // treat operands as plain bits
 public class Add extends Node {
@@ -60,6 +61,11 @@ public class Add extends Node {
 
         sum = new WireVec(outputs(0, nBits));
 
+        if (WordLevel.isEnabled()) {
+            org.jchdl.model.gsl.operator.arithmetic.atomic.Add.inst(sum, new Wire(out(-1)), in1, in2, cin);
+            return;
+        }
+
         cout = cin;
         for (int i = 0; i < nBits; i++) {
             Wire coutNext = new Wire();
@@ -69,6 +75,11 @@ public class Add extends Node {
         cout.connect(out(-1));
     }
 
+    @Override
+    public Object templateKey() {
+        return WordLevel.isEnabled() ? null : nBits;
+    }
+
     @Override
     public String getName() {
         return this.getClass().getSimpleName() + "_" + nBits;
@@ -33,6 +33,7 @@ import org.jchdl.model.gsl.core.datatype.net.Wire;
 import org.jchdl.model.gsl.core.meta.Node;
 import org.jchdl.model.gsl.core.meta.PropagateManager;
 import org.jchdl.model.gsl.core.value.Value;
+import org.jchdl.model.gsl.operator.WordLevel;
 import org.jchdl.model.gsl.operator.concat.Concat;
 import org.jchdl.model.gsl.operator.conditional.Conditional;
 import org.jchdl.model.gsl.operator.relational.Ge;
@@ -62,6 +63,15 @@ public class Div extends Node {
 
     @Override
     public void logic() {
+        if (WordLevel.isEnabled()) {
+            in1 = new WireVec(inputs(0, nBits));
+            in2 = new WireVec(inputs(nBits, 2 * nBits));
+            out = new WireVec(outputs(0, nBits));
+            rem = new WireVec(outputs(nBits, 2 * nBits));
+            org.jchdl.model.gsl.operator.arithmetic.atomic.Div.inst(out, rem, in1, in2);
+            return;
+        }
+
         int nDoubleBits = 2 * nBits;
         // 0. pad higher bits.
         in1 = new WireVec(inputs(0, nBits));
@@ -109,6 +119,11 @@ public class Div extends Node {
         Assign.inst(rem.wires(), in1d.wires(nBits, 2 * nBits));
     }
 
+    @Override
+    public Object templateKey() {
+        return WordLevel.isEnabled() ? null : nBits;
+    }
+
     @Override
     public String getName() {
         return this.getClass().getSimpleName() + "_" + nBits;
@@ -33,6 +33,7 @@ import org.jchdl.model.gsl.core.gate.ni.atomic.And;
 import org.jchdl.model.gsl.core.meta.Node;
 import org.jchdl.model.gsl.core.meta.PropagateManager;
 import org.jchdl.model.gsl.core.value.Value;
+import org.jchdl.model.gsl.operator.WordLevel;
 import org.jchdl.model.gsl.operator.concat.Concat;
 import org.jchdl.model.gsl.operator.shift.LogicalLeft;
 
@@ -60,6 +61,15 @@ public class Mul extends Node {
 
     @Override
     public void logic() {
+        if (WordLevel.isEnabled()) {
+            in1 = new WireVec(inputs(0, nBits));
+            in2 = new WireVec(inputs(nBits, 2 * nBits));
+            out = new WireVec(outputs(0, nResultBits));
+            cout = new Wire(out(-1));
+            org.jchdl.model.gsl.operator.arithmetic.atomic.Mul.inst(out, cout, in1, in2);
+            return;
+        }
+
         in1 = new WireVec(inputs(0, nBits));
         WireVec pad1 = WireVec.pulledDown(nBits);
         WireVec in1Padded = new WireVec(nResultBits);
@@ -94,6 +104,11 @@ public class Mul extends Node {
         out = sum;
     }
 
+    @Override
+    public Object templateKey() {
+        return WordLevel.isEnabled() ? null : nBits;
+    }
+
     @Override
     public String getName() {
         return this.getClass().getSimpleName() + "_" + nBits;
@@ -34,6 +34,7 @@ import org.jchdl.model.gsl.core.gate.ni.atomic.Xor;
 import org.jchdl.model.gsl.core.meta.Node;
 import org.jchdl.model.gsl.core.meta.PropagateManager;
 import org.jchdl.model.gsl.core.value.Value;
+import org.jchdl.model.gsl.operator.WordLevel;
 import org.jchdl.model.gsl.operator.arithmetic.code.ComplementTwo;
 import org.jchdl.model.gsl.operator.concat.Concat;
 import org.jchdl.model.gsl.operator.concat.Replicate;
@@ -65,6 +66,15 @@ public class MulC2 extends Node {
 
     @Override
     public void logic() {
+        if (WordLevel.isEnabled()) {
+            in1 = new WireVec(inputs(0, nBits));
+            in2 = new WireVec(inputs(nBits, 2 * nBits));
+            out = new WireVec(outputs(0, nResultBits));
+            cout = new Wire(out(-1));
+            org.jchdl.model.gsl.operator.arithmetic.atomic.MulC2.inst(out, cout, in1, in2);
+            return;
+        }
+
         // 0. pad in1 with its sign bit
         in1 = new WireVec(inputs(0, nBits));
         Wire sign1 = in1.wire(-1);
@@ -136,6 +146,11 @@ public class MulC2 extends Node {
         cout.connect(out(-1));
     }
 
+    @Override
+    public Object templateKey() {
+        return WordLevel.isEnabled() ? null : nBits;
+    }
+
     @Override
     public String getName() {
         return this.getClass().getSimpleName() + "_" + nBits;
@@ -31,6 +31,7 @@ import org.jchdl.model.gsl.core.datatype.helper.WireVec;
 import org.jchdl.model.gsl.core.meta.Node;
 import org.jchdl.model.gsl.core.meta.PropagateManager;
 import org.jchdl.model.gsl.core.value.Value;
+import org.jchdl.model.gsl.operator.WordLevel;
 
 public class Rem extends Node {
     private int nBits = 0;
@@ -49,6 +50,11 @@ public class Rem extends Node {
         WireVec in1 = new WireVec(inputs(0, nBits));
         WireVec in2 = new WireVec(inputs(nBits, 2 * nBits));
 
+        if (WordLevel.isEnabled()) {
+            org.jchdl.model.gsl.operator.arithmetic.atomic.Rem.inst(new WireVec(outputs()), in1, in2);
+            return;
+        }
+
         WireVec div = WireVec.toGround(nBits);
         WireVec rem = new WireVec(nBits);
         rem.connect(outputs());
@@ -56,6 +62,11 @@ public class Rem extends Node {
         Div.inst(div, rem, in1, in2);
     }
 
+    @Override
+    public Object templateKey() {
+        return WordLevel.isEnabled() ? null : nBits;
+    }
+
     public static Rem inst(WireVec out, WireVec in1, WireVec in2) {
         return new Rem(out, in1, in2);
     }
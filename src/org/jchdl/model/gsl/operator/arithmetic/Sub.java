@@ -32,6 +32,7 @@ import org.jchdl.model.gsl.core.datatype.net.Wire;
 import org.jchdl.model.gsl.core.meta.Node;
 import org.jchdl.model.gsl.core.meta.PropagateManager;
 import org.jchdl.model.gsl.core.value.Value;
+import org.jchdl.model.gsl.operator.WordLevel;
 import org.jchdl.model.gsl.operator.arithmetic.code.ComplementTwo;
 
 // using two's complement code, treat MSB as the sign bit.
@@ -59,6 +60,11 @@ public class Sub extends Node {
         in2 = new WireVec(inputs(nBits, 2*nBits));
         out = new WireVec(outputs(0, nBits));
 
+        if (WordLevel.isEnabled()) {
+            org.jchdl.model.gsl.operator.arithmetic.atomic.Sub.inst(out, in1, in2);
+            return;
+        }
+
         WireVec in2c2 = new WireVec(nBits);
         ComplementTwo.inst(in2c2, in2);
 
@@ -67,6 +73,11 @@ public class Sub extends Node {
         Add.inst(out, cout, in1, in2c2, cin);
     }
 
+    @Override
+    public Object templateKey() {
+        return WordLevel.isEnabled() ? null : nBits;
+    }
+
     @Override
     public String getName() {
         return this.getClass().getSimpleName() + "_" + nBits;
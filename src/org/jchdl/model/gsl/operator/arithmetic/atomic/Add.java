@@ -0,0 +1,80 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.operator.arithmetic.atomic;
+
+import org.jchdl.model.gsl.core.datatype.helper.WireVec;
+import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.value.Value;
+import org.jchdl.model.gsl.operator.WordNode;
+
+import java.math.BigInteger;
+
+// {cout, sum} = in1 + in2 + cin
+public class Add extends WordNode {
+    private int nBits;
+
+    public Add(WireVec sum, Wire cout, WireVec in1, WireVec in2, Wire cin) {
+        nBits = in1.nBits();
+        in(in1.wires());
+        in(in2.wires());
+        in(cin);
+        out(sum.wires());
+        out(cout);
+        construct();
+    }
+
+    @Override
+    public void atomic() {
+        if (!known()) {
+            fill(Value.VALUE_X);
+            return;
+        }
+        int cin = in(-1).get();
+        if (nBits < 64) {
+            long sum = word(0, nBits) + word(nBits, nBits) + cin;
+            drive(0, nBits + 1, sum);
+        } else {
+            BigInteger sum = big(0, nBits).add(big(nBits, nBits)).add(BigInteger.valueOf(cin));
+            drive(0, nBits + 1, sum);
+        }
+    }
+
+    @Override
+    public String primitive() {
+        return "add";
+    }
+
+    @Override
+    public String getName() {
+        return this.getClass().getSimpleName() + "_" + nBits;
+    }
+
+    public static Add inst(WireVec sum, Wire cout, WireVec in1, WireVec in2, Wire cin) {
+        return new Add(sum, cout, in1, in2, cin);
+    }
+}
@@ -0,0 +1,117 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.operator.arithmetic.atomic;
+
+import org.jchdl.model.gsl.core.datatype.helper.WireVec;
+import org.jchdl.model.gsl.core.value.Value;
+import org.jchdl.model.gsl.operator.WordNode;
+
+import java.math.BigInteger;
+
+// restoring division on 2n bits, step by step as the netlist of arithmetic.Div:
+// {rem, out} starts as {0, in1}, each step shifts it left and, when the difference with {in2, 0}
+// has its top bit clear, takes the difference plus one.
+// out is the quotient and rem the remainder while in2 < 2^(n-1), as for the netlist.
+public class Div extends WordNode {
+    private int nBits;
+    private boolean remOnly;
+
+    public Div(WireVec out, WireVec rem, WireVec in1, WireVec in2) {
+        this(out, rem, in1, in2, false);
+    }
+
+    // with remOnly, the outputs are the remainder alone, see Rem
+    protected Div(WireVec out, WireVec rem, WireVec in1, WireVec in2, boolean remOnly) {
+        nBits = in1.nBits();
+        this.remOnly = remOnly;
+        in(in1.wires());
+        in(in2.wires());
+        if (!remOnly) {
+            out(out.wires());
+        }
+        out(rem.wires());
+        construct();
+    }
+
+    @Override
+    public void atomic() {
+        if (!known()) {
+            fill(Value.VALUE_X);
+            return;
+        }
+        int nDoubleBits = 2 * nBits;
+        if (nDoubleBits <= 64) {
+            long mask = mask(nDoubleBits);
+            long top = 1L << (nDoubleBits - 1);
+            long x = word(0, nBits);
+            long d = word(nBits, nBits) << nBits;
+            for (int i = 0; i < nBits; i++) {
+                x = x << 1 & mask;
+                long diff = x - d & mask;
+                if ((diff & top) == 0) {
+                    x = diff + 1 & mask;
+                }
+            }
+            if (remOnly) {
+                drive(0, nBits, x >>> nBits);
+            } else {
+                drive(0, nDoubleBits, x);
+            }
+        } else {
+            BigInteger mask = bigMask(nDoubleBits);
+            BigInteger x = big(0, nBits);
+            BigInteger d = big(nBits, nBits).shiftLeft(nBits);
+            for (int i = 0; i < nBits; i++) {
+                x = x.shiftLeft(1).and(mask);
+                BigInteger diff = x.subtract(d).and(mask);
+                if (!diff.testBit(nDoubleBits - 1)) {
+                    x = diff.add(BigInteger.ONE).and(mask);
+                }
+            }
+            if (remOnly) {
+                drive(0, nBits, x.shiftRight(nBits));
+            } else {
+                drive(0, nDoubleBits, x);
+            }
+        }
+    }
+
+    @Override
+    public String primitive() {
+        return "div";
+    }
+
+    @Override
+    public String getName() {
+        return this.getClass().getSimpleName() + "_" + nBits;
+    }
+
+    public static Div inst(WireVec out, WireVec rem, WireVec in1, WireVec in2) {
+        return new Div(out, rem, in1, in2);
+    }
+}
@@ -0,0 +1,99 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.operator.arithmetic.atomic;
+
+import org.jchdl.model.gsl.core.datatype.helper.WireVec;
+import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.value.Value;
+import org.jchdl.model.gsl.operator.WordNode;
+
+import java.math.BigInteger;
+
+// out = in1 * in2 of unsigned operands, modulo 2^width(out).
+// cout is 0: the partial sums of the netlist never carry out of the result.
+public class Mul extends WordNode {
+    private int nBits;
+    private int nResultBits;
+    private boolean signed;
+
+    // with signed, in1 and in2 are two's complement, see MulC2
+    protected Mul(WireVec out, Wire cout, WireVec in1, WireVec in2, boolean signed) {
+        nBits = in1.nBits();
+        nResultBits = out.nBits();
+        this.signed = signed;
+        in(in1.wires());
+        in(in2.wires());
+        out(out.wires());
+        out(cout);
+        construct();
+    }
+
+    public Mul(WireVec out, Wire cout, WireVec in1, WireVec in2) {
+        this(out, cout, in1, in2, false);
+    }
+
+    @Override
+    public void atomic() {
+        if (!known()) {
+            fill(Value.VALUE_X);
+            return;
+        }
+        if (nBits <= 64 && nResultBits <= 64) {
+            long in1 = word(0, nBits);
+            long in2 = word(nBits, nBits);
+            if (signed && nBits < 64) {
+                in1 = in1 << (64 - nBits) >> (64 - nBits);
+                in2 = in2 << (64 - nBits) >> (64 - nBits);
+            }
+            drive(0, nResultBits, in1 * in2);
+        } else {
+            BigInteger in1 = big(0, nBits);
+            BigInteger in2 = big(nBits, nBits);
+            if (signed) {
+                in1 = in1.testBit(nBits - 1) ? in1.subtract(BigInteger.ONE.shiftLeft(nBits)) : in1;
+                in2 = in2.testBit(nBits - 1) ? in2.subtract(BigInteger.ONE.shiftLeft(nBits)) : in2;
+            }
+            drive(0, nResultBits, in1.multiply(in2));
+        }
+        out(-1).set(Value.VALUE_0);
+    }
+
+    @Override
+    public String primitive() {
+        return "mul";
+    }
+
+    @Override
+    public String getName() {
+        return this.getClass().getSimpleName() + "_" + nBits;
+    }
+
+    public static Mul inst(WireVec out, Wire cout, WireVec in1, WireVec in2) {
+        return new Mul(out, cout, in1, in2);
+    }
+}
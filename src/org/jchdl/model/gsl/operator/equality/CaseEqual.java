@@ -50,10 +50,10 @@ public class CaseEqual extends AtomicNode {
         for (int i = 0; i < nBits; i++) {
             Input input1 = in(i);
             Input input2 = in(i + nBits);
-            if (input1.value.equals(input2.value)) {
-                out(0).value.v = Value.VALUE_1;
+            if (input1.get() == input2.get()) {
+                out(0).set(Value.VALUE_1);
             } else {
-                out(0).value.v = Value.VALUE_0;
+                out(0).set(Value.VALUE_0);
                 break;
             }
         }
@@ -48,8 +48,8 @@ public class LogicalEqual extends AtomicNode {
     @Override
     public void atomic() {
         for (Input input : inputs()) {
-            if (input.value.equals(Value.Vx) || input.value.equals(Value.Vz)) {
-                out(0).value.v = Value.VALUE_X;
+            if (input.get() == Value.VALUE_X || input.get() == Value.VALUE_Z) {
+                out(0).set(Value.VALUE_X);
                 return;
             }
         }
@@ -57,10 +57,10 @@ public class LogicalEqual extends AtomicNode {
         for (int i = 0; i < nBits; i++) {
             Input input1 = in(i);
             Input input2 = in(i + nBits);
-            if (input1.value.equals(input2.value)) {
-                out(0).value.v = Value.VALUE_1;
+            if (input1.get() == input2.get()) {
+                out(0).set(Value.VALUE_1);
             } else {
-                out(0).value.v = Value.VALUE_0;
+                out(0).set(Value.VALUE_0);
                 break;
             }
         }
@@ -33,6 +33,7 @@ import org.jchdl.model.gsl.core.gate.no.Not;
 import org.jchdl.model.gsl.core.meta.Node;
 import org.jchdl.model.gsl.core.meta.PropagateManager;
 import org.jchdl.model.gsl.core.value.Value;
+import org.jchdl.model.gsl.operator.WordLevel;
 import org.jchdl.model.gsl.operator.arithmetic.Sub;
 
 public class Ge extends Node {
@@ -56,12 +57,22 @@ public class Ge extends Node {
         in2 = new WireVec(inputs(nBits, 2 * nBits));
         out = new Wire(out(0));
 
+        if (WordLevel.isEnabled()) {
+            org.jchdl.model.gsl.operator.relational.atomic.Ge.inst(out, in1, in2);
+            return;
+        }
+
         WireVec out1 = WireVec.toGround(nBits);
         Sub.inst(out1, in1, in2);
 
         Not.inst(out, out1.wire(-1));
     }
 
+    @Override
+    public Object templateKey() {
+        return WordLevel.isEnabled() ? null : nBits;
+    }
+
     public static Ge inst(Wire out, WireVec in1, WireVec in2) {
         return new Ge(out, in1, in2);
     }
@@ -30,6 +30,7 @@ package org.jchdl.model.gsl.operator.relational;
 import org.jchdl.model.gsl.core.datatype.helper.WireVec;
 import org.jchdl.model.gsl.core.datatype.net.Wire;
 import org.jchdl.model.gsl.core.meta.Node;
+import org.jchdl.model.gsl.operator.WordLevel;
 import org.jchdl.model.gsl.operator.arithmetic.Sub;
 
 public class Gt extends Node {
@@ -48,12 +49,22 @@ public class Gt extends Node {
         WireVec in1 = new WireVec(inputs(0, nBits));
         WireVec in2 = new WireVec(inputs(nBits, 2 * nBits));
 
+        if (WordLevel.isEnabled()) {
+            org.jchdl.model.gsl.operator.relational.atomic.Gt.inst(new Wire(out(0)), in1, in2);
+            return;
+        }
+
         WireVec out1 = WireVec.toGround(nBits);
         Sub.inst(out1, in2, in1);
 
         out1.wire(-1).connect(out(0));
     }
 
+    @Override
+    public Object templateKey() {
+        return WordLevel.isEnabled() ? null : nBits;
+    }
+
     public static Gt inst(Wire out, WireVec in1, WireVec in2) {
         return new Gt(out, in1, in2);
     }
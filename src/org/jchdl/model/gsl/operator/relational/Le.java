@@ -31,6 +31,7 @@ import org.jchdl.model.gsl.core.datatype.helper.WireVec;
 import org.jchdl.model.gsl.core.datatype.net.Wire;
 import org.jchdl.model.gsl.core.gate.no.Not;
 import org.jchdl.model.gsl.core.meta.Node;
+import org.jchdl.model.gsl.operator.WordLevel;
 import org.jchdl.model.gsl.operator.arithmetic.Sub;
 
 public class Le extends Node {
@@ -48,6 +49,12 @@ public class Le extends Node {
     public void logic() {
         WireVec in1 = new WireVec(inputs(0, nBits));
         WireVec in2 = new WireVec(inputs(nBits, 2 * nBits));
+
+        if (WordLevel.isEnabled()) {
+            org.jchdl.model.gsl.operator.relational.atomic.Le.inst(new Wire(out(0)), in1, in2);
+            return;
+        }
+
         Wire out = new Wire();
         out.connect(out(0));
 
@@ -57,6 +64,11 @@ public class Le extends Node {
         Not.inst(out, out1.wire(-1));
     }
 
+    @Override
+    public Object templateKey() {
+        return WordLevel.isEnabled() ? null : nBits;
+    }
+
     public static Le inst(Wire out, WireVec in1, WireVec in2) {
         return new Le(out, in1, in2);
     }
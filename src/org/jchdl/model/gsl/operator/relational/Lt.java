@@ -30,6 +30,7 @@ package org.jchdl.model.gsl.operator.relational;
 import org.jchdl.model.gsl.core.datatype.helper.WireVec;
 import org.jchdl.model.gsl.core.datatype.net.Wire;
 import org.jchdl.model.gsl.core.meta.Node;
+import org.jchdl.model.gsl.operator.WordLevel;
 import org.jchdl.model.gsl.operator.arithmetic.Sub;
 
 public class Lt extends Node {
@@ -48,12 +49,22 @@ public class Lt extends Node {
         WireVec in1 = new WireVec(inputs(0, nBits));
         WireVec in2 = new WireVec(inputs(nBits, 2 * nBits));
 
+        if (WordLevel.isEnabled()) {
+            org.jchdl.model.gsl.operator.relational.atomic.Lt.inst(new Wire(out(0)), in1, in2);
+            return;
+        }
+
         WireVec out1 = WireVec.toGround(nBits);
         Sub.inst(out1, in1, in2);
 
         out1.wire(-1).connect(out(0));
     }
 
+    @Override
+    public Object templateKey() {
+        return WordLevel.isEnabled() ? null : nBits;
+    }
+
     public static Lt inst(Wire out, WireVec in1, WireVec in2) {
         return new Lt(out, in1, in2);
     }
@@ -0,0 +1,75 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.operator.relational.atomic;
+
+import org.jchdl.model.gsl.core.datatype.helper.WireVec;
+import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.value.Value;
+import org.jchdl.model.gsl.operator.WordNode;
+
+// relation from the top bit of a difference modulo 2^n, as the netlists built on Sub:
+// it orders the operands while they differ by less than 2^(n-1).
+public abstract class Relation extends WordNode {
+    private int nBits;
+
+    public Relation(Wire out, WireVec in1, WireVec in2) {
+        nBits = in1.nBits();
+        in(in1.wires());
+        in(in2.wires());
+        out(out);
+        construct();
+    }
+
+    // in2 - in1 instead of in1 - in2
+    protected abstract boolean swapped();
+
+    // the top bit clear instead of set
+    protected abstract boolean inverted();
+
+    @Override
+    public void atomic() {
+        if (!known()) {
+            out(0).set(Value.VALUE_X);
+            return;
+        }
+        int first = swapped() ? nBits : 0;
+        int second = nBits - first;
+        boolean top;
+        if (nBits <= 64) {
+            top = (word(first, nBits) - word(second, nBits) >>> (nBits - 1) & 1) != 0;
+        } else {
+            top = big(first, nBits).subtract(big(second, nBits)).testBit(nBits - 1);
+        }
+        out(0).set(top != inverted() ? Value.VALUE_1 : Value.VALUE_0);
+    }
+
+    @Override
+    public String getName() {
+        return this.getClass().getSimpleName() + "_" + nBits;
+    }
+}
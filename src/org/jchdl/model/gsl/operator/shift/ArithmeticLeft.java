@@ -30,6 +30,7 @@ package org.jchdl.model.gsl.operator.shift;
 import org.jchdl.model.gsl.assign.Assign;
 import org.jchdl.model.gsl.core.datatype.helper.WireVec;
 import org.jchdl.model.gsl.core.gate.ni.And;
+import org.jchdl.model.gsl.operator.WordLevel;
 
 public class ArithmeticLeft extends Shifter {
 
@@ -39,6 +40,11 @@ public class ArithmeticLeft extends Shifter {
 
     @Override
     public void shift(WireVec out, WireVec in) {
+        if (WordLevel.isEnabled()) {
+            org.jchdl.model.gsl.operator.shift.atomic.ArithmeticLeft.inst(out, in, nShiftBits);
+            return;
+        }
+
         int nLeftBits = nBits - nShiftBits;
         // pad shift
         WireVec pad = WireVec.pulledDown(nShiftBits);
@@ -35,6 +35,7 @@ import org.jchdl.model.gsl.core.gate.ni.Or;
 import org.jchdl.model.gsl.core.meta.Ground;
 import org.jchdl.model.gsl.core.meta.PropagateManager;
 import org.jchdl.model.gsl.core.value.Value;
+import org.jchdl.model.gsl.operator.WordLevel;
 
 public class ArithmeticRight extends Shifter {
 
@@ -44,6 +45,11 @@ public class ArithmeticRight extends Shifter {
 
     @Override
     public void shift(WireVec out, WireVec in) {
+        if (WordLevel.isEnabled()) {
+            org.jchdl.model.gsl.operator.shift.atomic.ArithmeticRight.inst(out, in, nShiftBits);
+            return;
+        }
+
         int nLeftBits = nBits - nShiftBits;
         // pad shift: in[0, nShiftBits) discarded
         WireVec in2 = WireVec.pulledDown(nShiftBits);
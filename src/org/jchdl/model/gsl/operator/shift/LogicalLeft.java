@@ -32,6 +32,7 @@ import org.jchdl.model.gsl.core.datatype.helper.WireVec;
 import org.jchdl.model.gsl.core.gate.ni.And;
 import org.jchdl.model.gsl.core.meta.PropagateManager;
 import org.jchdl.model.gsl.core.value.Value;
+import org.jchdl.model.gsl.operator.WordLevel;
 
 public class LogicalLeft extends Shifter {
     public LogicalLeft(WireVec out, WireVec in, int nShiftBits) {
@@ -40,6 +41,11 @@ public class LogicalLeft extends Shifter {
 
     @Override
     public void shift(WireVec out, WireVec in) {
+        if (WordLevel.isEnabled()) {
+            org.jchdl.model.gsl.operator.shift.atomic.LogicalLeft.inst(out, in, nShiftBits);
+            return;
+        }
+
         int nLeftBits = nBits - nShiftBits;
         // pad shift
         WireVec pad = WireVec.pulledDown(nShiftBits);
@@ -33,6 +33,7 @@ import org.jchdl.model.gsl.core.datatype.net.Wire;
 import org.jchdl.model.gsl.core.gate.ni.And;
 import org.jchdl.model.gsl.core.meta.PropagateManager;
 import org.jchdl.model.gsl.core.value.Value;
+import org.jchdl.model.gsl.operator.WordLevel;
 
 public class LogicalRight extends Shifter {
 
@@ -42,6 +43,11 @@ public class LogicalRight extends Shifter {
 
     @Override
     public void shift(WireVec out, WireVec in) {
+        if (WordLevel.isEnabled()) {
+            org.jchdl.model.gsl.operator.shift.atomic.LogicalRight.inst(out, in, nShiftBits);
+            return;
+        }
+
         int nLeftBits = nBits - nShiftBits;
         // pad shift
         WireVec pad = WireVec.pulledDown(nShiftBits);
@@ -29,6 +29,7 @@ package org.jchdl.model.gsl.operator.shift;
 
 import org.jchdl.model.gsl.core.datatype.helper.WireVec;
 import org.jchdl.model.gsl.core.meta.Node;
+import org.jchdl.model.gsl.operator.WordLevel;
 
 public abstract class Shifter extends Node {
     protected int nBits;
@@ -54,6 +55,11 @@ public abstract class Shifter extends Node {
         shift(out, in);
     }
 
+    @Override
+    public Object templateKey() {
+        return WordLevel.isEnabled() ? null : nShiftBits;
+    }
+
     @Override
     public String getName() {
         return this.getClass().getSimpleName() + "_" + nShiftBits;
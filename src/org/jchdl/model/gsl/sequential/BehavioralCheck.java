@@ -0,0 +1,307 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.sequential;
+
+import org.jchdl.model.gsl.core.datatype.helper.WireVec;
+import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.meta.PropagateManager;
+import org.jchdl.model.gsl.core.meta.SimulationContext;
+import org.jchdl.model.gsl.core.value.Value;
+import org.jchdl.model.gsl.sequential.ff.DFlipFlop;
+import org.jchdl.model.gsl.sequential.ff.JKFlipFlop;
+import org.jchdl.model.gsl.sequential.ff.SRFlipFlop;
+import org.jchdl.model.gsl.sequential.ff.ToggleFlipFlop;
+import org.jchdl.model.gsl.sequential.latch.DLatch;
+import org.jchdl.model.gsl.sequential.latch.SRLatch;
+
+import java.util.Random;
+
+// checks the behavioral models of the sequential cells against the gate-accurate ones:
+// both are constructed on the same input wires, driven with random stimuli over clock cycles,
+// and their outputs compared after every change.
+public class BehavioralCheck {
+    private static final Value[] VALUES = {Value.V0, Value.V1, Value.Vx};
+
+    // a sequential cell: its construction and the stimuli it is legal to apply
+    public abstract static class Cell {
+        private String name;
+        private int nIn;
+        private int nOut;
+
+        public Cell(String name, int nIn, int nOut) {
+            this.name = name;
+            this.nIn = nIn;
+            this.nOut = nOut;
+        }
+
+        // clk is null for the latches
+        public abstract void inst(WireVec out, Wire clk, WireVec in);
+
+        public boolean clocked() {
+            return true;
+        }
+
+        // new input values while the clock is at clk, x on a tenth of the data inputs
+        public void stimulus(Random random, WireVec in, int clk) {
+            for (Wire wire : in.wires()) {
+                wire.assign(VALUES[random.nextInt(10) == 0 ? 2 : random.nextInt(2)]);
+            }
+        }
+    }
+
+    private Cell cell;
+    private Wire clk;
+    private WireVec in;
+    private WireVec gate;
+    private WireVec behavioral;
+    private long compares = 0;
+    private long mismatches = 0;
+    private String first;
+
+    public BehavioralCheck(Cell cell) {
+        this.cell = cell;
+        clk = cell.clocked() ? new Wire() : null;
+        in = new WireVec(cell.nIn);
+        gate = new WireVec(cell.nOut);
+        behavioral = new WireVec(cell.nOut);
+
+        boolean saved = Sequential.isBehavioral();
+        try {
+            Sequential.setBehavioral(false);
+            cell.inst(gate, clk, in);
+            Sequential.setBehavioral(true);
+            cell.inst(behavioral, clk, in);
+        } finally {
+            Sequential.setBehavioral(saved);
+        }
+    }
+
+    private void compare(String when) {
+        compares++;
+        for (int i = 0; i < cell.nOut; i++) {
+            Value g = gate.wire(i).getValue();
+            Value b = behavioral.wire(i).getValue();
+            if (g.v != b.v) {
+                if (mismatches++ == 0) {
+                    first = when + ": out[" + i + "] gate " + g + " behavioral " + b;
+                }
+            }
+        }
+    }
+
+    private void apply(Random random, int level, int cycle) {
+        cell.stimulus(random, in, level);
+        PropagateManager.propagateParallel(in);
+        compare("cycle " + cycle + " inputs at clk " + level);
+    }
+
+    // cycles of: inputs, rising edge, inputs, falling edge
+    public BehavioralCheck run(long seed, int cycles) {
+        Random random = new Random(seed);
+        if (clk != null) {
+            clk.assign(Value.V0);
+            PropagateManager.propagateParallel(clk);
+        }
+        for (int cycle = 0; cycle < cycles; cycle++) {
+            apply(random, Value.VALUE_0, cycle);
+            if (clk != null) {
+                clk.assign(Value.V1);
+                PropagateManager.propagateParallel(clk);
+                compare("cycle " + cycle + " posedge");
+            }
+            apply(random, Value.VALUE_1, cycle);
+            if (clk != null) {
+                clk.assign(Value.V0);
+                PropagateManager.propagateParallel(clk);
+                compare("cycle " + cycle + " negedge");
+            }
+        }
+        return this;
+    }
+
+    public long getCompares() {
+        return compares;
+    }
+
+    public long getMismatches() {
+        return mismatches;
+    }
+
+    @Override
+    public String toString() {
+        return cell.name + ": " + compares + " compares, " + mismatches + " mismatches"
+                + (first != null ? ", first at " + first : "");
+    }
+
+    // inputs only change when the gate-accurate ripple counter would see no clock edge from them:
+    // clr rises while clk is high and falls while it is low
+    private static class CounterCell extends Cell {
+        CounterCell(int nBits) {
+            super("Counter_" + nBits, 1, nBits);
+        }
+
+        @Override
+        public void inst(WireVec out, Wire clk, WireVec in) {
+            Counter.inst(out, clk, in.wire(0));
+        }
+
+        @Override
+        public void stimulus(Random random, WireVec in, int clk) {
+            if (random.nextInt(16) == 0) {
+                in.wire(0).assign(clk == Value.VALUE_1 ? Value.V1 : Value.V0);
+            }
+        }
+    }
+
+    private static Cell[] cells() {
+        return new Cell[]{
+                new Cell("DFlipFlop", 1, 2) {
+                    @Override
+                    public void inst(WireVec out, Wire clk, WireVec in) {
+                        DFlipFlop.inst(out.wire(0), out.wire(1), clk, in.wire(0));
+                    }
+                },
+                new Cell("JKFlipFlop", 2, 2) {
+                    @Override
+                    public void inst(WireVec out, Wire clk, WireVec in) {
+                        JKFlipFlop.inst(out.wire(0), out.wire(1), clk, in.wire(0), in.wire(1));
+                    }
+                },
+                new Cell("SRFlipFlop", 2, 2) {
+                    @Override
+                    public void inst(WireVec out, Wire clk, WireVec in) {
+                        SRFlipFlop.inst(out.wire(0), out.wire(1), clk, in.wire(0), in.wire(1));
+                    }
+                },
+                new Cell("ToggleFlipFlop", 2, 2) {
+                    @Override
+                    public void inst(WireVec out, Wire clk, WireVec in) {
+                        ToggleFlipFlop.inst(out.wire(0), out.wire(1), clk, in.wire(0), in.wire(1));
+                    }
+                },
+                new Cell("DLatch", 2, 2) {
+                    @Override
+                    public void inst(WireVec out, Wire clk, WireVec in) {
+                        DLatch.inst(out.wire(0), out.wire(1), in.wire(0), in.wire(1));
+                    }
+
+                    @Override
+                    public boolean clocked() {
+                        return false;
+                    }
+
+                    // e or d at a time: closing the gates while d changes races them into oscillation
+                    @Override
+                    public void stimulus(Random random, WireVec in, int clk) {
+                        if (random.nextBoolean()) {
+                            in.wire(0).assign(VALUES[random.nextInt(2)]);
+                        } else {
+                            in.wire(1).assign(VALUES[random.nextInt(10) == 0 ? 2 : random.nextInt(2)]);
+                        }
+                    }
+                },
+                // set and reset are never released together, the gates would oscillate
+                new Cell("SRLatch", 2, 2) {
+                    @Override
+                    public void inst(WireVec out, Wire clk, WireVec in) {
+                        SRLatch.inst(out.wire(0), out.wire(1), in.wire(0), in.wire(1));
+                    }
+
+                    @Override
+                    public boolean clocked() {
+                        return false;
+                    }
+
+                    @Override
+                    public void stimulus(Random random, WireVec in, int clk) {
+                        int v = random.nextInt(3);
+                        in.wire(0).assign(v == 1 ? Value.V1 : Value.V0);
+                        in.wire(1).assign(v == 2 ? Value.V1 : Value.V0);
+                    }
+                },
+                new Cell("Register_8", 9, 8) {
+                    @Override
+                    public void inst(WireVec out, Wire clk, WireVec in) {
+                        Register.inst(out, clk, in.wire(0), new WireVec(in.wires(1)));
+                    }
+                },
+                new Cell("Shifter_8", 1, 9) {
+                    @Override
+                    public void inst(WireVec out, Wire clk, WireVec in) {
+                        Shifter.inst(out.wire(8), new WireVec(out.wires(0, 8)), clk, in.wire(0));
+                    }
+                },
+                new CounterCell(8),
+        };
+    }
+
+    // cycles per second of a design of n copies of a cell, run by a virtual clock
+    private static double speed(Cell cell, int copies, boolean behavioral, int cycles) {
+        SimulationContext context = new SimulationContext();
+        context.setBehavioral(behavioral);
+        SimulationContext.setCurrent(context);
+        Wire clk = new Wire();
+        WireVec in = new WireVec(cell.nIn);
+        for (int i = 0; i < copies; i++) {
+            cell.inst(new WireVec(cell.nOut), clk, in);
+        }
+        Random random = new Random(1);
+        cell.stimulus(random, in, Value.VALUE_0);
+        PropagateManager.propagateParallel(in);
+        Clock clock = new Clock(clk, 10);
+        clock.run(1);
+        cell.stimulus(random, in, Value.VALUE_1);
+        PropagateManager.propagateParallel(in);
+        long start = System.nanoTime();
+        clock.run(cycles);
+        long ns = System.nanoTime() - start;
+        SimulationContext.setCurrent(null);
+        return cycles * 1e9 / ns;
+    }
+
+    public static void main(String[] args) {
+        long mismatches = 0;
+        for (Cell cell : cells()) {
+            BehavioralCheck check = new BehavioralCheck(cell).run(2018, 2000);
+            mismatches += check.getMismatches();
+            System.out.println(check);
+        }
+        System.out.println("mismatches: " + mismatches);
+
+        System.out.println("\n# cycles/s, 32 copies: gate-accurate, behavioral");
+        Cell[] cells = cells();
+        for (Cell cell : new Cell[]{cells[0], cells[6], cells[7], cells[8]}) {
+            int cycles = 2000;
+            speed(cell, 32, false, cycles / 10);
+            speed(cell, 32, true, cycles / 10);
+            double gate = speed(cell, 32, false, cycles);
+            double behavioral = speed(cell, 32, true, cycles);
+            System.out.printf("%-12s %10.0f %10.0f  %5.1fx%n", cell.name, gate, behavioral, behavioral / gate);
+        }
+    }
+}
@@ -29,27 +29,110 @@ package org.jchdl.model.gsl.sequential;
 
 import org.jchdl.model.gsl.core.datatype.net.Wire;
 import org.jchdl.model.gsl.core.meta.AtomicNode;
+import org.jchdl.model.gsl.core.meta.Generator;
+import org.jchdl.model.gsl.core.meta.Port;
 import org.jchdl.model.gsl.core.meta.PropagateManager;
+import org.jchdl.model.gsl.core.meta.SimulationContext;
 import org.jchdl.model.gsl.core.value.Value;
 
-public class Clock extends AtomicNode {
+// Clock source in simulation time: its edges are transitions on the timing wheel of its context,
+// so clocked designs run as fast as they evaluate. Several clocks make several clock domains.
+// the output is low from construction until the first rising edge at phase,
+// then high for `high` out of every `period` time units.
+public class Clock extends AtomicNode implements Generator {
     private long period;
+    private long high;
+    private long phase;
+    // time of the next rising edge
+    private long rise;
+    private long cycles = 0;
 
+    // period of 2: 1 low, 1 high
     public Clock(Wire out) {
+        this(out, 2);
+    }
+
+    // 50% duty cycle, first rising edge after half a period
+    public Clock(Wire out, long period) {
+        this(out, period, period / 2, period - period / 2);
+    }
+
+    public Clock(Wire out, long period, long high, long phase) {
+        if (period <= 0 || high <= 0 || high >= period || phase < 0) {
+            throw new IllegalArgumentException("period " + period + ", high " + high + ", phase " + phase);
+        }
+        this.period = period;
+        this.high = high;
+        this.phase = phase;
         out(out);
         construct();
+
+        SimulationContext context = getContext();
+        this.rise = context.getTime() + phase;
+        // the low output is settled now rather than left queued for the next propagation,
+        // so the clock is to be constructed after the logic it drives
+        out(0).set(Value.VALUE_0);
+        out(0).propagate();
+        if (phase == 0) {
+            // the first rising edge is now, it reaches the loads like the low value
+            out(0).set(Value.VALUE_1);
+            out(0).propagate();
+            transitioned(out(0), Value.VALUE_1);
+        } else {
+            context.transition(out(0), Value.VALUE_1, phase);
+        }
     }
 
+    public static Clock inst(Wire out, long period) {
+        return new Clock(out, period);
+    }
+
+    public static Clock inst(Wire out, long period, long high, long phase) {
+        return new Clock(out, period, high, phase);
+    }
+
+    // the output is driven by the scheduler, there is nothing to evaluate
     @Override
     public void atomic() {
-        try {
-            Thread.sleep(period);
-            out(0).value.v = Value.VALUE_0;
-
-            Thread.sleep(period);
-            out(0).value.v = Value.VALUE_1;
-        } catch (InterruptedException e) {
-            e.printStackTrace();
+    }
+
+    @Override
+    public void transitioned(Port port, int value) {
+        SimulationContext context = getContext();
+        if (value == Value.VALUE_1) {
+            cycles++;
+            rise += period;
+            context.transition(port, Value.VALUE_0, high);
+        } else {
+            context.transition(port, Value.VALUE_1, rise - context.getTime());
+        }
+    }
+
+    public long getPeriod() {
+        return period;
+    }
+
+    public long getHigh() {
+        return high;
+    }
+
+    public long getPhase() {
+        return phase;
+    }
+
+    // rising edges so far
+    public long getCycles() {
+        return cycles;
+    }
+
+    public long getNextRise() {
+        return rise;
+    }
+
+    // run through n more rising edges, stopping once the last one has settled
+    public void run(long n) {
+        if (n > 0) {
+            getContext().runUntil(rise + (n - 1) * period);
         }
     }
 
@@ -58,24 +141,19 @@ public class Clock extends AtomicNode {
         return "clk";
     }
 
-    public static void tick(Wire clk, Wire q, Wire nq, int n) throws InterruptedException {
-        long millis = 1000;
+    public static void tick(Wire clk, Wire q, Wire nq, int n) {
         for (int i = 0; i < n; i++) {
-            Thread.sleep(millis);
-
             clk.assign(Value.V0);
             PropagateManager.propagateParallel(clk);
             System.out.println("c = 0, q => " + q.getValue().toString() + " nq => " + nq.getValue().toString());
 
-            Thread.sleep(millis);
-
             clk.assign(Value.V1);
             PropagateManager.propagateParallel(clk);
             System.out.println("c = 1, q => " + q.getValue().toString() + " nq => " + nq.getValue().toString());
         }
     }
 
-    public static void tick(Wire clk, int n) throws InterruptedException {
+    public static void tick(Wire clk, int n) {
         for (int i = 0; i < n; i++) {
             clk.assign(Value.V0);
             PropagateManager.propagateParallel(clk);
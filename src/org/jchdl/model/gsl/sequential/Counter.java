@@ -57,6 +57,11 @@ public class Counter extends Node {
         clr = new Wire(in(1));
         out = new WireVec(outputs());
 
+        if (Sequential.isBehavioral()) {
+            org.jchdl.model.gsl.sequential.atomic.Counter.inst(out, clk, clr);
+            return;
+        }
+
         Wire nqPrev = new Wire(in(0));
         for (int i = 0; i < nBits; i++) {
             Wire q = out.wire(i);
@@ -81,17 +86,18 @@ public class Counter extends Node {
         return new Counter(out, clk, clr);
     }
 
-    public static void main(String[] args) throws InterruptedException {
+    public static void main(String[] args) {
         WireVec out = new WireVec(8);
         Wire clk = new Wire();
         Wire clr = new Wire();
 
         Counter.inst(out, clk, clr);
+        Clock clock = Clock.inst(clk, 10);
 
         System.out.println("\n# clr = 0");
         clr.assign(Value.V0);
         PropagateManager.propagateParallel(clr);
-        Clock.tick(clk, 1);
+        clock.run(1);
         System.out.println("out: " + out);
 
         System.out.println("\n# clr = 1");
@@ -100,10 +106,16 @@ public class Counter extends Node {
         System.out.println("out: " + out);
 
         System.out.println("\n# counting...");
-        for (;;) {
-            Thread.sleep(1000);
-            Clock.tick(clk, 1);
-            System.out.println("out: " + out);
+        for (int i = 0; i < 20; i++) {
+            clock.run(1);
+            System.out.println("t = " + PropagateManager.getTime() + ", out: " + out);
         }
+
+        int cycles = 100000;
+        long start = System.nanoTime();
+        clock.run(cycles);
+        long ns = System.nanoTime() - start;
+        System.out.println("\n# " + cycles + " cycles: " + ns / 1000000 + " ms, " + (long) (cycles * 1e9 / ns) + " cycles/s");
+        System.out.println("out: " + out);
     }
 }
@@ -59,6 +59,11 @@ public class Register extends Node {
         in = new WireVec(inputs(2));
         out = new WireVec(outputs());
 
+        if (Sequential.isBehavioral()) {
+            org.jchdl.model.gsl.sequential.atomic.Register.inst(out, clk, oe, in);
+            return;
+        }
+
         for (int i = 0; i < nBits; i++) {
             Wire q = new Wire();
             Wire nq = Wire.toGround();
@@ -77,7 +82,7 @@ public class Register extends Node {
         return new Register(out, clk, oe, in);
     }
 
-    public static void main(String args[]) throws InterruptedException {
+    public static void main(String args[]) {
         Wire clk = new Wire();
         Wire oe = new Wire();
         WireVec in1 = new WireVec(8);
@@ -59,6 +59,11 @@ public class Shifter extends Node {
         dpo = new WireVec(outputs(0, nBits));
         dso = new Wire(out(-1));
 
+        if (Sequential.isBehavioral()) {
+            org.jchdl.model.gsl.sequential.atomic.Shifter.inst(dso, dpo, clk, dsi);
+            return;
+        }
+
         Wire qPrev = dsi;
         for (int i = 0; i < nBits; i++) {
             Wire q = dpo.wire(i);
@@ -78,7 +83,7 @@ public class Shifter extends Node {
         return new Shifter(dso, dpo, clk, dsi);
     }
 
-    public static void main(String args[]) throws InterruptedException {
+    public static void main(String args[]) {
         Wire clk = new Wire();
         Wire dsi = new Wire();
         Wire dso = new Wire();
@@ -0,0 +1,82 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.sequential.atomic;
+
+import org.jchdl.model.gsl.core.meta.AtomicNode;
+import org.jchdl.model.gsl.core.meta.Stateful;
+import org.jchdl.model.gsl.core.value.Value;
+
+// base of the behavioral sequential primitives: remembers the clock of the last evaluation
+// to tell a clock edge from the other input changes, with the x handling of verilog udps:
+// a possible edge (0 -> x/z, x/z -> 1) keeps the state only where it agrees with the new one.
+public abstract class ClockedNode extends AtomicNode implements Stateful {
+    private int clkPrev = Value.VALUE_X;
+
+    // VALUE_1 on a rising edge, VALUE_0 on none, VALUE_X on a possible one
+    protected int posedge(int clk) {
+        int prev = clkPrev;
+        clkPrev = clk;
+        if (prev == clk) {
+            return Value.VALUE_0;
+        }
+        if (prev == Value.VALUE_0 && clk == Value.VALUE_1) {
+            return Value.VALUE_1;
+        }
+        if (prev == Value.VALUE_0 || clk == Value.VALUE_1) {
+            return Value.VALUE_X;
+        }
+        return Value.VALUE_0;
+    }
+
+    // the clock of the last evaluation, then the state of sub-classes
+    @Override
+    public int stateSize() {
+        return 1;
+    }
+
+    @Override
+    public void save(long[] state, int at) {
+        state[at] = clkPrev;
+    }
+
+    @Override
+    public void load(long[] state, int at) {
+        clkPrev = (int) state[at];
+    }
+
+    // state after an edge, from the current state q and the state next loaded by a rising edge
+    protected static int latch(int edge, int q, int next) {
+        if (edge == Value.VALUE_1) {
+            return next;
+        }
+        if (edge == Value.VALUE_0 || q == next) {
+            return q;
+        }
+        return Value.VALUE_X;
+    }
+}
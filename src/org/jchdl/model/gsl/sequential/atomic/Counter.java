@@ -0,0 +1,120 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.sequential.atomic;
+
+import org.jchdl.model.gsl.core.datatype.helper.WireVec;
+import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.meta.Stateful;
+import org.jchdl.model.gsl.core.value.Value;
+
+import java.util.Arrays;
+
+// behavioral counter: on posedge clk out <= 0 while clr is low, out + 1 while it is high.
+// the increment carries x upwards from the lowest unknown bit to the next known 0.
+public class Counter extends ClockedNode {
+    private int nBits;
+    private int[] q;
+    private int[] next;
+
+    public Counter(WireVec out, Wire clk, Wire clr) {
+        nBits = out.nBits();
+        q = new int[nBits];
+        next = new int[nBits];
+        Arrays.fill(q, Value.VALUE_X);
+        in(clk);
+        in(clr);
+        out(out.wires());
+        construct();
+    }
+
+    @Override
+    public void atomic() {
+        int edge = posedge(in(0).get());
+        if (edge != Value.VALUE_0) {
+            int clr = in(1).get();
+            int carry = Value.VALUE_1;
+            for (int i = 0; i < nBits; i++) {
+                int counted;
+                if (carry == Value.VALUE_0) {
+                    counted = q[i];
+                } else if (carry == Value.VALUE_1 && q[i] < Value.VALUE_X) {
+                    counted = q[i] ^ 1;
+                    carry = q[i];
+                } else {
+                    // a possible carry: a known 0 bit stops it
+                    counted = Value.VALUE_X;
+                    carry = q[i] == Value.VALUE_0 ? Value.VALUE_0 : Value.VALUE_X;
+                }
+                if (clr == Value.VALUE_0) {
+                    next[i] = Value.VALUE_0;
+                } else if (clr == Value.VALUE_1) {
+                    next[i] = counted;
+                } else {
+                    next[i] = counted == Value.VALUE_0 ? Value.VALUE_0 : Value.VALUE_X;
+                }
+            }
+            for (int i = 0; i < nBits; i++) {
+                q[i] = latch(edge, q[i], next[i]);
+            }
+        }
+        for (int i = 0; i < nBits; i++) {
+            out(i).set(q[i]);
+        }
+    }
+
+    @Override
+    public int stateSize() {
+        return super.stateSize() + Stateful.words(nBits);
+    }
+
+    @Override
+    public void save(long[] state, int at) {
+        super.save(state, at);
+        Stateful.pack(q, state, at + super.stateSize());
+    }
+
+    @Override
+    public void load(long[] state, int at) {
+        super.load(state, at);
+        Stateful.unpack(state, at + super.stateSize(), q);
+    }
+
+    @Override
+    public String primitive() {
+        return "counter";
+    }
+
+    @Override
+    public String getName() {
+        return this.getClass().getSimpleName() + "_" + nBits;
+    }
+
+    public static Counter inst(WireVec out, Wire clk, Wire clr) {
+        return new Counter(out, clk, clr);
+    }
+}
@@ -0,0 +1,94 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.sequential.atomic;
+
+import org.jchdl.model.gsl.core.datatype.helper.WireVec;
+import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.meta.Stateful;
+import org.jchdl.model.gsl.core.value.TruthTable;
+import org.jchdl.model.gsl.core.value.Value;
+
+import java.util.Arrays;
+
+// behavioral register: q <= in on posedge clk, out = q & oe, evaluated as one node for all bits
+public class Register extends ClockedNode {
+    private int nBits;
+    private int[] q;
+
+    public Register(WireVec out, Wire clk, Wire oe, WireVec in) {
+        nBits = in.nBits();
+        q = new int[nBits];
+        Arrays.fill(q, Value.VALUE_X);
+        in(clk);
+        in(oe);
+        in(in.wires());
+        out(out.wires());
+        construct();
+    }
+
+    @Override
+    public void atomic() {
+        int edge = posedge(in(0).get());
+        int oe = in(1).get();
+        for (int i = 0; i < nBits; i++) {
+            q[i] = latch(edge, q[i], TruthTable.BUF[in(2 + i).get()]);
+            out(i).set(TruthTable.lookup(TruthTable.AND, q[i], oe));
+        }
+    }
+
+    @Override
+    public int stateSize() {
+        return super.stateSize() + Stateful.words(nBits);
+    }
+
+    @Override
+    public void save(long[] state, int at) {
+        super.save(state, at);
+        Stateful.pack(q, state, at + super.stateSize());
+    }
+
+    @Override
+    public void load(long[] state, int at) {
+        super.load(state, at);
+        Stateful.unpack(state, at + super.stateSize(), q);
+    }
+
+    @Override
+    public String primitive() {
+        return "register";
+    }
+
+    @Override
+    public String getName() {
+        return this.getClass().getSimpleName() + "_" + nBits;
+    }
+
+    public static Register inst(WireVec out, Wire clk, Wire oe, WireVec in) {
+        return new Register(out, clk, oe, in);
+    }
+}
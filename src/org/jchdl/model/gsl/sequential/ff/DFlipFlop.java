@@ -32,6 +32,7 @@ import org.jchdl.model.gsl.core.gate.no.Not;
 import org.jchdl.model.gsl.core.meta.Node;
 import org.jchdl.model.gsl.core.meta.PropagateManager;
 import org.jchdl.model.gsl.core.value.Value;
+import org.jchdl.model.gsl.sequential.Sequential;
 import org.jchdl.model.gsl.sequential.latch.DLatch;
 
 public class DFlipFlop extends Node {
@@ -55,6 +56,11 @@ public class DFlipFlop extends Node {
         q = new Wire(out(0));
         nq = new Wire(out(1));
 
+        if (Sequential.isBehavioral()) {
+            org.jchdl.model.gsl.sequential.ff.atomic.DFlipFlop.inst(q, nq, clk, d);
+            return;
+        }
+
         Wire nclk = new Wire();
         Not.inst(nclk, clk);
 
@@ -68,7 +74,7 @@ public class DFlipFlop extends Node {
         return new DFlipFlop(q, nq, clk, d);
     }
 
-    public static void main(String[] args) throws InterruptedException {
+    public static void main(String[] args) {
         Wire clk = new Wire();
         Wire d = new Wire();
         Wire q = new Wire();
@@ -76,10 +82,7 @@ public class DFlipFlop extends Node {
 
         DFlipFlop.inst(q, nq, clk, d);
 
-        long millis = 1000;
-        while (true) {
-            Thread.sleep(millis);
-
+        for (int i = 0; i < 2; i++) {
             d.assign(Value.V0);
             PropagateManager.propagateParallel(d);
             System.out.println("d => 0, q => " + q.getValue().toString());
@@ -88,14 +91,10 @@ public class DFlipFlop extends Node {
             PropagateManager.propagateParallel(clk);
             System.out.println("c => 0, q => " + q.getValue().toString());
 
-            Thread.sleep(millis);
-
             clk.assign(Value.V1);
             PropagateManager.propagateParallel(clk);
             System.out.println("c => 1, q => " + q.getValue().toString());
 
-            Thread.sleep(millis);
-
             d.assign(Value.V1);
             PropagateManager.propagateParallel(d);
             System.out.println("d => 1, q => " + q.getValue().toString());
@@ -104,8 +103,6 @@ public class DFlipFlop extends Node {
             PropagateManager.propagateParallel(clk);
             System.out.println("c => 0, q => " + q.getValue().toString());
 
-            Thread.sleep(millis);
-
             clk.assign(Value.V1);
             PropagateManager.propagateParallel(clk);
             System.out.println("c => 1, q => " + q.getValue().toString());
@@ -35,6 +35,7 @@ import org.jchdl.model.gsl.core.meta.Node;
 import org.jchdl.model.gsl.core.meta.PropagateManager;
 import org.jchdl.model.gsl.core.value.Value;
 import org.jchdl.model.gsl.sequential.Clock;
+import org.jchdl.model.gsl.sequential.Sequential;
 
 public class JKFlipFlop extends Node {
     public JKFlipFlop(Wire q, Wire nq, Wire clk, Wire j, Wire k) {
@@ -54,6 +55,11 @@ public class JKFlipFlop extends Node {
         Wire q = new Wire(out(0));
         Wire nq = new Wire(out(1));
 
+        if (Sequential.isBehavioral()) {
+            org.jchdl.model.gsl.sequential.ff.atomic.JKFlipFlop.inst(q, nq, clk, j, k);
+            return;
+        }
+
         Wire nk = new Wire();
         Not.inst(nk, k);
 
@@ -73,7 +79,7 @@ public class JKFlipFlop extends Node {
         return new JKFlipFlop(q, nq, clk, j, k);
     }
 
-    public static void main(String[] args) throws InterruptedException {
+    public static void main(String[] args) {
         Wire clk = new Wire();
         Wire j = new Wire();
         Wire k = new Wire();
@@ -32,6 +32,7 @@ import org.jchdl.model.gsl.core.meta.Node;
 import org.jchdl.model.gsl.core.meta.PropagateManager;
 import org.jchdl.model.gsl.core.value.Value;
 import org.jchdl.model.gsl.sequential.Clock;
+import org.jchdl.model.gsl.sequential.Sequential;
 
 public class SRFlipFlop extends Node {
     public SRFlipFlop(Wire q, Wire nq, Wire clk, Wire s, Wire r) {
@@ -49,6 +50,11 @@ public class SRFlipFlop extends Node {
         Wire q = new Wire(out(0));
         Wire nq = new Wire(out(1));
 
+        if (Sequential.isBehavioral()) {
+            org.jchdl.model.gsl.sequential.ff.atomic.SRFlipFlop.inst(q, nq, clk, s, r);
+            return;
+        }
+
         JKFlipFlop.inst(q, nq, clk, s, r);
     }
 
@@ -56,7 +62,7 @@ public class SRFlipFlop extends Node {
         return new SRFlipFlop(q, nq, clk, s,  r);
     }
 
-    public static void main(String[] args) throws InterruptedException {
+    public static void main(String[] args) {
         Wire clk = new Wire();
         Wire s = new Wire();
         Wire r = new Wire();
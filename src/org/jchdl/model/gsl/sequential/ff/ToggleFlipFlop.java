@@ -34,6 +34,7 @@ import org.jchdl.model.gsl.core.meta.Node;
 import org.jchdl.model.gsl.core.meta.PropagateManager;
 import org.jchdl.model.gsl.core.value.Value;
 import org.jchdl.model.gsl.sequential.Clock;
+import org.jchdl.model.gsl.sequential.Sequential;
 
 public class ToggleFlipFlop extends Node {
     public ToggleFlipFlop(Wire q, Wire nq, Wire clk, Wire t, Wire clr) {
@@ -51,6 +52,11 @@ public class ToggleFlipFlop extends Node {
         Wire q = new Wire(out(0));
         Wire nq = new Wire(out(1));
 
+        if (Sequential.isBehavioral()) {
+            org.jchdl.model.gsl.sequential.ff.atomic.ToggleFlipFlop.inst(q, nq, clk, t, clr);
+            return;
+        }
+
         Wire wXor = new Wire();
         Xor.inst(wXor, t, q);
 
@@ -64,7 +70,7 @@ public class ToggleFlipFlop extends Node {
         return new ToggleFlipFlop(q, nq, clk, t, clr);
     }
 
-    public static void main(String[] args) throws InterruptedException {
+    public static void main(String[] args) {
         Wire clk = new Wire();
         Wire t = new Wire();
         Wire clr = new Wire();
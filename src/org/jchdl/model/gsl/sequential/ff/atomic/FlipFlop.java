@@ -0,0 +1,73 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.sequential.ff.atomic;
+
+import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.value.TruthTable;
+import org.jchdl.model.gsl.core.value.Value;
+import org.jchdl.model.gsl.sequential.atomic.ClockedNode;
+
+// behavioral rising edge flip-flop with outputs q and nq = ~q, clocked by the first input.
+// sub-classes give the state loaded by a rising edge from the other inputs and the current state.
+public abstract class FlipFlop extends ClockedNode {
+    private int q = Value.VALUE_X;
+
+    public FlipFlop(Wire q, Wire nq, Wire[] inWires) {
+        in(inWires);
+        out(q);
+        out(nq);
+        construct();
+    }
+
+    protected abstract int next(int q);
+
+    @Override
+    public void atomic() {
+        int edge = posedge(in(0).get());
+        q = latch(edge, q, next(q));
+        out(0).set(q);
+        out(1).set(TruthTable.NOT[q]);
+    }
+
+    @Override
+    public int stateSize() {
+        return super.stateSize() + 1;
+    }
+
+    @Override
+    public void save(long[] state, int at) {
+        super.save(state, at);
+        state[at + super.stateSize()] = q;
+    }
+
+    @Override
+    public void load(long[] state, int at) {
+        super.load(state, at);
+        q = (int) state[at + super.stateSize()];
+    }
+}
@@ -34,6 +34,7 @@ import org.jchdl.model.gsl.core.gate.no.Not;
 import org.jchdl.model.gsl.core.meta.Node;
 import org.jchdl.model.gsl.core.meta.PropagateManager;
 import org.jchdl.model.gsl.core.value.Value;
+import org.jchdl.model.gsl.sequential.Sequential;
 
 public class DLatch extends Node {
     private Wire e;
@@ -56,6 +57,11 @@ public class DLatch extends Node {
         q = new Wire(out(0));
         nq = new Wire(out(1));
 
+        if (Sequential.isBehavioral()) {
+            org.jchdl.model.gsl.sequential.latch.atomic.DLatch.inst(q, nq, e, d);
+            return;
+        }
+
         Wire nd = new Wire();
         Not.inst(nd, d);
 
@@ -30,8 +30,10 @@ package org.jchdl.model.gsl.sequential.latch;
 import org.jchdl.model.gsl.core.datatype.net.Wire;
 import org.jchdl.model.gsl.core.gate.ni.atomic.Nor;
 import org.jchdl.model.gsl.core.meta.Node;
+import org.jchdl.model.gsl.core.meta.OscillationException;
 import org.jchdl.model.gsl.core.meta.PropagateManager;
 import org.jchdl.model.gsl.core.value.Value;
+import org.jchdl.model.gsl.sequential.Sequential;
 
 public class SRLatch extends Node {
     private Wire set;
@@ -54,6 +56,11 @@ public class SRLatch extends Node {
         q = new Wire(out(0));
         nq = new Wire(out(1));
 
+        if (Sequential.isBehavioral()) {
+            org.jchdl.model.gsl.sequential.latch.atomic.SRLatch.inst(q, nq, set, reset);
+            return;
+        }
+
         Nor.inst(q, reset, nq);
         Nor.inst(nq, set, q);
     }
@@ -78,6 +85,20 @@ public class SRLatch extends Node {
         System.out.println(" q: " + q);
         System.out.println("nq: " + nq);
 
+        // set and reset released together: q and nq keep chasing each other
+        q.setName("q");
+        nq.setName("nq");
+        set.assign(Value.V1);
+        reset.assign(Value.V1);
+        PropagateManager.propagateParallel(set, reset);
+        set.assign(Value.V0);
+        reset.assign(Value.V0);
+        try {
+            PropagateManager.propagateParallel(set, reset);
+        } catch (OscillationException e) {
+            System.out.println(e.getMessage());
+        }
+
         latch.toVerilog();
     }
 }
@@ -0,0 +1,85 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.sequential.latch.atomic;
+
+import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.meta.AtomicNode;
+import org.jchdl.model.gsl.core.meta.Stateful;
+import org.jchdl.model.gsl.core.value.TruthTable;
+import org.jchdl.model.gsl.core.value.Value;
+
+// behavioral level-sensitive d latch: q follows d while e is high, nq = ~q.
+// with e unknown q is kept where it agrees with d, x otherwise.
+public class DLatch extends AtomicNode implements Stateful {
+    private int q = Value.VALUE_X;
+
+    public DLatch(Wire q, Wire nq, Wire e, Wire d) {
+        in(e);
+        in(d);
+        out(q);
+        out(nq);
+        construct();
+    }
+
+    @Override
+    public void atomic() {
+        int e = in(0).get();
+        int d = TruthTable.BUF[in(1).get()];
+        if (e == Value.VALUE_1) {
+            q = d;
+        } else if (e != Value.VALUE_0 && q != d) {
+            q = Value.VALUE_X;
+        }
+        out(0).set(q);
+        out(1).set(TruthTable.NOT[q]);
+    }
+
+    @Override
+    public int stateSize() {
+        return 1;
+    }
+
+    @Override
+    public void save(long[] state, int at) {
+        state[at] = q;
+    }
+
+    @Override
+    public void load(long[] state, int at) {
+        q = (int) state[at];
+    }
+
+    @Override
+    public String primitive() {
+        return "dlatch";
+    }
+
+    public static DLatch inst(Wire q, Wire nq, Wire e, Wire d) {
+        return new DLatch(q, nq, e, d);
+    }
+}
@@ -0,0 +1,100 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.gsl.sequential.latch.atomic;
+
+import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.meta.AtomicNode;
+import org.jchdl.model.gsl.core.meta.Stateful;
+import org.jchdl.model.gsl.core.value.TruthTable;
+import org.jchdl.model.gsl.core.value.Value;
+
+// behavioral sr latch of two cross-coupled nor gates, settled inside one evaluation:
+// q = ~(reset | nq), nq = ~(set | q). where the gates would keep chasing each other,
+// after set and reset are released together, both outputs go x instead.
+public class SRLatch extends AtomicNode implements Stateful {
+    private int q = Value.VALUE_X;
+    private int nq = Value.VALUE_X;
+
+    public SRLatch(Wire q, Wire nq, Wire set, Wire reset) {
+        in(set);
+        in(reset);
+        out(q);
+        out(nq);
+        construct();
+    }
+
+    @Override
+    public void atomic() {
+        int set = in(0).get();
+        int reset = in(1).get();
+        // both gates switch together as they would in the netlist: a stable state is reached
+        // in at most three rounds, a race keeps alternating
+        for (int i = 0; ; i++) {
+            int q1 = TruthTable.lookup(TruthTable.NOR, reset, nq);
+            int nq1 = TruthTable.lookup(TruthTable.NOR, set, q);
+            if (q1 == q && nq1 == nq) {
+                break;
+            }
+            q = q1;
+            nq = nq1;
+            if (i == 3) {
+                q = Value.VALUE_X;
+                nq = Value.VALUE_X;
+                break;
+            }
+        }
+        out(0).set(q);
+        out(1).set(nq);
+    }
+
+    // q and nq in one long
+    @Override
+    public int stateSize() {
+        return 1;
+    }
+
+    @Override
+    public void save(long[] state, int at) {
+        state[at] = q | nq << 2;
+    }
+
+    @Override
+    public void load(long[] state, int at) {
+        q = (int) state[at] & 0x03;
+        nq = (int) (state[at] >>> 2) & 0x03;
+    }
+
+    @Override
+    public String primitive() {
+        return "srlatch";
+    }
+
+    public static SRLatch inst(Wire q, Wire nq, Wire set, Wire reset) {
+        return new SRLatch(q, nq, set, reset);
+    }
+}
@@ -27,12 +27,24 @@
 // THE POSSIBILITY OF SUCH DAMAGE.
 package org.jchdl.model.rtl.core.meta;
 
+import org.jchdl.model.rtl.core.wave.WaveWriter;
+
 import java.util.ArrayList;
 import java.util.Arrays;
 
 public class PropagateManager {
     private static Module topModule;
     private static ArrayList<Propagatable> propagatables = new ArrayList<>(128);
+    private static WaveWriter waveWriter;
+
+    // samples the signals of the writer after each delta, null to stop
+    public static void setWaveWriter(WaveWriter writer) {
+        waveWriter = writer;
+    }
+
+    public static WaveWriter getWaveWriter() {
+        return waveWriter;
+    }
 
     public static void add(Propagatable p1, Propagatable... ps) {
         propagatables.add(p1);
@@ -55,6 +67,12 @@ public class PropagateManager {
             for (Propagatable p : ps) {
                 p.propagate();
             }
+            if (waveWriter != null) {
+                waveWriter.delta();
+            }
+        }
+        if (waveWriter != null) {
+            waveWriter.step();
         }
     }
 
@@ -0,0 +1,161 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.rtl.core.wave;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.TreeMap;
+
+// Exports the steps from..to of a wave file as VCD, one VCD time unit per step.
+// The values before step from are dumped first; the deltas of a step share its time.
+// Names are split at '.' into scopes; aliases share the id of their signal.
+public class VcdExporter {
+    private static class Scope {
+        private TreeMap<String, Scope> scopes = new TreeMap<>();
+        private ArrayList<String[]> vars = new ArrayList<>();
+    }
+
+    private WaveReader reader;
+    private Writer out;
+    private String[] ids;
+    private long time = -1;
+
+    private VcdExporter(WaveReader reader, Writer out) {
+        this.reader = reader;
+        this.out = out;
+        ids = new String[reader.nSignals()];
+        for (int s = 0; s < ids.length; s++) {
+            ids[s] = id(s);
+        }
+    }
+
+    // printable ids, '!' to '~'
+    private static String id(int n) {
+        StringBuilder sb = new StringBuilder(4);
+        do {
+            sb.append((char) ('!' + n % 94));
+            n /= 94;
+        } while (n > 0);
+        return sb.toString();
+    }
+
+    public static void export(WaveReader reader, Path file, long from, long to) throws IOException {
+        try (Writer out = new BufferedWriter(Files.newBufferedWriter(file), 1 << 16)) {
+            new VcdExporter(reader, out).export(from, to);
+        }
+    }
+
+    public static void export(WaveReader reader, Path file) throws IOException {
+        export(reader, file, 0, reader.nSteps() - 1);
+    }
+
+    private void export(long from, long to) throws IOException {
+        out.write("$timescale 1ns $end\n");
+        Scope top = new Scope();
+        for (int s = 0; s < ids.length; s++) {
+            for (String name : reader.names(s)) {
+                String[] path = name.split("\\.");
+                Scope scope = top;
+                for (int i = 0; i < path.length - 1; i++) {
+                    scope = scope.scopes.computeIfAbsent(path[i], k -> new Scope());
+                }
+                scope.vars.add(new String[]{Integer.toString(reader.width(s)), ids[s], path[path.length - 1]});
+            }
+        }
+        declare(top, null);
+        out.write("$enddefinitions $end\n");
+
+        WaveReader.Snapshot snapshot = reader.snapshot(from - 1);
+        out.write("#" + Math.max(from, 0) + "\n$dumpvars\n");
+        long[] value = new long[1];
+        for (int s = 0; s < ids.length; s++) {
+            int w = WaveFormat.nWords(reader.width(s));
+            if (value.length < w) {
+                value = new long[w];
+            }
+            for (int i = 0; i < reader.width(s); i++) {
+                value[i >>> 6] = (value[i >>> 6] & ~(1L << (i & 63))) | (long) snapshot.bit(s, i) << (i & 63);
+            }
+            dump(s, value);
+        }
+        out.write("$end\n");
+        time = Math.max(from, 0);
+
+        try {
+            reader.replay(from, to, (step, delta, signal, v) -> {
+                try {
+                    if (step != time) {
+                        time = step;
+                        out.write("#" + step + "\n");
+                    }
+                    dump(signal, v);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.write("#" + (to + 1) + "\n");
+    }
+
+    private void declare(Scope scope, String name) throws IOException {
+        if (name != null) {
+            out.write("$scope module " + name + " $end\n");
+        }
+        for (String[] var : scope.vars) {
+            out.write("$var wire " + var[0] + " " + var[1] + " " + var[2] + " $end\n");
+        }
+        for (String child : scope.scopes.keySet()) {
+            declare(scope.scopes.get(child), child);
+        }
+        if (name != null) {
+            out.write("$upscope $end\n");
+        }
+    }
+
+    private void dump(int signal, long[] value) throws IOException {
+        int width = reader.width(signal);
+        if (width == 1) {
+            out.write((char) ('0' + (value[0] & 1)));
+        } else {
+            out.write('b');
+            for (int i = width - 1; i >= 0; i--) {
+                out.write((char) ('0' + ((value[i >>> 6] >>> (i & 63)) & 1)));
+            }
+            out.write(' ');
+        }
+        out.write(ids[signal]);
+        out.write('\n');
+    }
+}
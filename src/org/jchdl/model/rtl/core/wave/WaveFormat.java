@@ -0,0 +1,74 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.rtl.core.wave;
+
+// Layout of a wave file, written by WaveWriter and read by WaveReader:
+//   header: MAGIC, number of signals, then per signal: width, number of names, names (UTF)
+//   blocks: raw length, compressed length, first step, last step, deflated bytes
+//   index:  number of blocks, number of steps, then per block: first step, last step, file offset
+//   footer: offset of the index, MAGIC
+// A block starts with the values of all signals (keyframe), followed by one record per delta that changed something:
+//   step - step of the previous record, delta, number of changes,
+//   then per change: signal - previous signal - 1, value XOR previous value, one varint per 64 bits.
+// Signals of a record are in ascending order, the previous signal of the first one is -1.
+final class WaveFormat {
+    static final int MAGIC = 0x4a435731; // JCW1
+    static final int FOOTER_SIZE = 12;
+
+    private WaveFormat() {
+    }
+
+    static int nWords(int width) {
+        return (width + 63) >>> 6;
+    }
+
+    // unsigned LEB128
+    static int putVarint(byte[] data, int pos, long v) {
+        while ((v & ~0x7FL) != 0) {
+            data[pos++] = (byte) ((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        data[pos++] = (byte) v;
+        return pos;
+    }
+
+    // the value at pos[0], advancing pos[0]
+    static long getVarint(byte[] data, int[] pos) {
+        long v = 0;
+        int shift = 0;
+        int p = pos[0];
+        byte b;
+        do {
+            b = data[p++];
+            v |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        pos[0] = p;
+        return v;
+    }
+}
@@ -0,0 +1,280 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.rtl.core.wave;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+// Reads a wave file written by WaveWriter.
+// The values at a step are found by a binary search of the block index and the decoding of
+// a single block: its keyframe, then its records up to the step.
+public class WaveReader implements AutoCloseable {
+    // a change of a signal in a delta of a step; value is reused between calls
+    public interface Listener {
+        void changed(long step, int delta, int signal, long[] value);
+    }
+
+    // the values of all signals at a step
+    public class Snapshot {
+        private long step;
+        private long[] values;
+
+        Snapshot(long step, long[] values) {
+            this.step = step;
+            this.values = values;
+        }
+
+        public long getStep() {
+            return step;
+        }
+
+        // the lowest 64 bits of a signal
+        public long longVal(int signal) {
+            return values[offsets[signal]];
+        }
+
+        public long longVal(String name) {
+            return longVal(signal(name));
+        }
+
+        public int bit(int signal, int bit) {
+            return (int) (values[offsets[signal] + (bit >>> 6)] >>> (bit & 63)) & 1;
+        }
+
+        // msb first, like a Verilog literal
+        public String toString(int signal) {
+            StringBuilder sb = new StringBuilder(widths[signal]);
+            for (int i = widths[signal] - 1; i >= 0; i--) {
+                sb.append(bit(signal, i));
+            }
+            return sb.toString();
+        }
+    }
+
+    private FileChannel channel;
+    private String[][] names;
+    private int[] widths;
+    private int[] offsets;
+    private int nWords;
+    private HashMap<String, Integer> signals = new HashMap<>();
+    private long nSteps;
+    private long[] firstSteps;
+    private long[] lastSteps;
+    private long[] blockOffsets;
+    private Inflater inflater = new Inflater();
+
+    public WaveReader(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            ByteBuffer footer = read(channel.size() - WaveFormat.FOOTER_SIZE, WaveFormat.FOOTER_SIZE);
+            long indexOffset = footer.getLong();
+            if (footer.getInt() != WaveFormat.MAGIC) {
+                throw new IOException(file + " is not a wave file, or it was not closed");
+            }
+
+            channel.position(0);
+            DataInputStream header = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+            if (header.readInt() != WaveFormat.MAGIC) {
+                throw new IOException(file + " is not a wave file");
+            }
+            int n = header.readInt();
+            names = new String[n][];
+            widths = new int[n];
+            offsets = new int[n];
+            for (int s = 0; s < n; s++) {
+                widths[s] = header.readInt();
+                offsets[s] = nWords;
+                nWords += WaveFormat.nWords(widths[s]);
+                names[s] = new String[header.readInt()];
+                for (int i = 0; i < names[s].length; i++) {
+                    names[s][i] = header.readUTF();
+                    signals.put(names[s][i], s);
+                }
+            }
+
+            ByteBuffer index = read(indexOffset, (int) (channel.size() - WaveFormat.FOOTER_SIZE - indexOffset));
+            int nBlocks = index.getInt();
+            nSteps = index.getLong();
+            firstSteps = new long[nBlocks];
+            lastSteps = new long[nBlocks];
+            blockOffsets = new long[nBlocks];
+            for (int b = 0; b < nBlocks; b++) {
+                firstSteps[b] = index.getLong();
+                lastSteps[b] = index.getLong();
+                blockOffsets[b] = index.getLong();
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private ByteBuffer read(long position, int size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("unexpected end of the wave file");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    public int nSignals() {
+        return widths.length;
+    }
+
+    public long nSteps() {
+        return nSteps;
+    }
+
+    public int nBlocks() {
+        return firstSteps.length;
+    }
+
+    // the signal of a name, or -1
+    public int signal(String name) {
+        Integer s = signals.get(name);
+        return s == null ? -1 : s;
+    }
+
+    // all the names of a signal, aliases included
+    public String[] names(int signal) {
+        return names[signal];
+    }
+
+    public int width(int signal) {
+        return widths[signal];
+    }
+
+    // the last block starting at or before a step, the first one before all steps
+    private int block(long step) {
+        int lo = 0;
+        int hi = firstSteps.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (firstSteps[mid] <= step) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return lo;
+    }
+
+    private byte[] decode(int b) throws IOException {
+        ByteBuffer head = read(blockOffsets[b], 24);
+        int rawSize = head.getInt();
+        int size = head.getInt();
+        byte[] raw = new byte[rawSize];
+        inflater.reset();
+        inflater.setInput(read(blockOffsets[b] + 24, size).array());
+        try {
+            int n = 0;
+            while (n < rawSize && !inflater.finished()) {
+                n += inflater.inflate(raw, n, rawSize - n);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("corrupt block " + b, e);
+        }
+        return raw;
+    }
+
+    // decodes a block into values, calling listener with the changes of steps from..to;
+    // stops after step to, returning false then
+    private boolean replay(int b, long[] values, long from, long to, Listener listener) throws IOException {
+        byte[] raw = decode(b);
+        int[] pos = {0};
+        for (int i = 0; i < nWords; i++) {
+            values[i] = WaveFormat.getVarint(raw, pos);
+        }
+        long step = firstSteps[b];
+        long[] value = new long[0];
+        while (pos[0] < raw.length) {
+            int start = pos[0];
+            step += WaveFormat.getVarint(raw, pos);
+            if (step > to) {
+                pos[0] = start;
+                return false;
+            }
+            int delta = (int) WaveFormat.getVarint(raw, pos);
+            int n = (int) WaveFormat.getVarint(raw, pos);
+            int s = -1;
+            for (int i = 0; i < n; i++) {
+                s += (int) WaveFormat.getVarint(raw, pos) + 1;
+                int o = offsets[s];
+                int w = WaveFormat.nWords(widths[s]);
+                for (int j = 0; j < w; j++) {
+                    values[o + j] ^= WaveFormat.getVarint(raw, pos);
+                }
+                if (listener != null && step >= from) {
+                    if (value.length < w) {
+                        value = new long[w];
+                    }
+                    System.arraycopy(values, o, value, 0, w);
+                    listener.changed(step, delta, s, value);
+                }
+            }
+        }
+        return true;
+    }
+
+    // the values after the last delta of a step; before step 0, the values when recording started
+    public Snapshot snapshot(long step) throws IOException {
+        long[] values = new long[nWords];
+        if (firstSteps.length > 0) {
+            replay(block(step), values, Long.MAX_VALUE, step, null);
+        }
+        return new Snapshot(step, values);
+    }
+
+    // calls listener with every change of the steps from..to, in order
+    public void replay(long from, long to, Listener listener) throws IOException {
+        long[] values = new long[nWords];
+        for (int b = block(from - 1); b < firstSteps.length && firstSteps[b] <= to; b++) {
+            if (!replay(b, values, from, to, listener)) {
+                break;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        inflater.end();
+        channel.close();
+    }
+}
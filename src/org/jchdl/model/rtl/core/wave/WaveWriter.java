@@ -0,0 +1,445 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.rtl.core.wave;
+
+import org.jchdl.model.rtl.core.datatype.Bit;
+import org.jchdl.model.rtl.core.meta.Bitable;
+import org.jchdl.model.rtl.core.meta.Module;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.zip.Deflater;
+
+// Records the values of Bit, Bits and Reg signals into a wave file, see WaveFormat.
+// Signals are added alone or with the fields of a module tree, before the first sample.
+// Installed with PropagateManager.setWaveWriter(), the signals are sampled after each delta of a
+// propagation; a step is one PropagateManager.propagate(), e.g. an edge of the clock.
+// Only the signals changed by a delta are stored. Blocks of records are compressed and written
+// by a writer thread; each starts with the values of all signals, so a reader decodes one block
+// to get the values at any step.
+public class WaveWriter implements AutoCloseable {
+    private static final int BLOCKS = 4;
+    private static final Block END = new Block(0);
+
+    private static class Block {
+        private byte[] data;
+        private int size;
+        private long firstStep;
+        private long lastStep;
+
+        Block(int capacity) {
+            data = new byte[capacity];
+        }
+
+        void ensure(int n) {
+            if (size + n > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, size + n));
+            }
+        }
+
+        void putVarint(long v) {
+            ensure(10);
+            size = WaveFormat.putVarint(data, size, v);
+        }
+    }
+
+    // a signal: its bits, the offset of its words in values and its names
+    private static class Signal {
+        private Bit[] bits;
+        private int offset;
+        private ArrayList<String> names = new ArrayList<>(1);
+
+        Signal(Bit[] bits) {
+            this.bits = bits;
+        }
+    }
+
+    // signals are the same when made of the same bits, e.g. a Reg and Bits.from() it
+    private static class Key {
+        private Bit[] bits;
+
+        Key(Bit[] bits) {
+            this.bits = bits;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key) || ((Key) o).bits.length != bits.length) {
+                return false;
+            }
+            for (int i = 0; i < bits.length; i++) {
+                if (((Key) o).bits[i] != bits[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            int h = bits.length;
+            for (Bit bit : bits) {
+                h = h * 31 + System.identityHashCode(bit);
+            }
+            return h;
+        }
+    }
+
+    private Path file;
+    private int blockSize;
+    private ArrayList<Signal> signals = new ArrayList<>(128);
+    private HashMap<Key, Signal> keys = new HashMap<>();
+    private long[] values;
+    private long[] word;
+    private int[] changed;
+    private long[] changes;
+
+    private long step;
+    private int delta;
+    private long lastStep;
+    private Block block;
+
+    private DataOutputStream out;
+    private long offset;
+    private ArrayList<long[]> index = new ArrayList<>(64);
+    private ArrayBlockingQueue<Block> full = new ArrayBlockingQueue<>(BLOCKS);
+    private Thread writer;
+    private volatile IOException failure;
+    private boolean started;
+    private boolean closed;
+
+    public WaveWriter(Path file) {
+        this(file, 256 * 1024);
+    }
+
+    // blockSize: raw bytes of the records of a block before compression
+    public WaveWriter(Path file, int blockSize) {
+        this.file = file;
+        this.blockSize = blockSize;
+    }
+
+    public void add(String name, Bitable bitable) {
+        if (started) {
+            throw new IllegalStateException("signals are added before the first sample");
+        }
+        Bit[] bits = bitable.bits();
+        Key key = new Key(bits);
+        Signal signal = keys.get(key);
+        if (signal == null) {
+            signal = new Signal(bits);
+            keys.put(key, signal);
+            signals.add(signal);
+        }
+        signal.names.add(name);
+    }
+
+    // the Bit, Bits and Reg fields of a module and its children, named like soc.cpu.AB
+    public void add(Module module, String name) {
+        add(module, name, new IdentityHashMap<>());
+    }
+
+    public void add(Module module) {
+        add(module, module.getName() != null ? module.getName() : module.getClass().getSimpleName());
+    }
+
+    private void add(Module module, String name, IdentityHashMap<Module, Boolean> added) {
+        if (added.put(module, Boolean.TRUE) != null) {
+            return;
+        }
+        IdentityHashMap<Module, String> names = new IdentityHashMap<>();
+        for (Class<?> c = module.getClass(); c != Module.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                Object value;
+                try {
+                    field.setAccessible(true);
+                    value = field.get(module);
+                } catch (ReflectiveOperationException | RuntimeException e) {
+                    continue;
+                }
+                if (value instanceof Bitable) {
+                    add(name + "." + field.getName(), (Bitable) value);
+                } else if (value instanceof Module && !names.containsKey(value)) {
+                    names.put((Module) value, field.getName());
+                }
+            }
+        }
+        int k = 0;
+        for (Module child : module.getChildren()) {
+            String childName = names.get(child);
+            if (childName == null) {
+                childName = child.getClass().getSimpleName() + "_" + k;
+            }
+            k++;
+            add(child, name + "." + childName, added);
+        }
+    }
+
+    public int nSignals() {
+        return signals.size();
+    }
+
+    // the number of steps so far
+    public long getStep() {
+        return step;
+    }
+
+    private void start() {
+        started = true;
+        int nWords = 0;
+        for (Signal signal : signals) {
+            signal.offset = nWords;
+            nWords += WaveFormat.nWords(signal.bits.length);
+        }
+        values = new long[nWords];
+        word = new long[nWords];
+        changed = new int[signals.size()];
+        changes = new long[nWords];
+        for (Signal signal : signals) {
+            read(signal, values);
+        }
+        try {
+            out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16));
+            out.writeInt(WaveFormat.MAGIC);
+            out.writeInt(signals.size());
+            for (Signal signal : signals) {
+                out.writeInt(signal.bits.length);
+                out.writeInt(signal.names.size());
+                for (String name : signal.names) {
+                    out.writeUTF(name);
+                }
+            }
+            offset = out.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        writer = new Thread(this::write, "wave-" + file.getFileName());
+        writer.setDaemon(true);
+        writer.start();
+        newBlock();
+    }
+
+    private static void read(Signal signal, long[] words) {
+        Bit[] bits = signal.bits;
+        int o = signal.offset;
+        for (int i = 0; i < bits.length; i += 64) {
+            long w = 0;
+            int n = Math.min(64, bits.length - i);
+            for (int j = 0; j < n; j++) {
+                w |= (long) (bits[i + j].value & 1) << j;
+            }
+            words[o + (i >>> 6)] = w;
+        }
+    }
+
+    private void newBlock() {
+        block = new Block(blockSize + values.length * 10 + 64);
+        block.firstStep = step;
+        block.lastStep = step;
+        lastStep = step;
+        for (long v : values) {
+            block.putVarint(v);
+        }
+    }
+
+    // records the signals changed by the last delta
+    public void delta() {
+        if (closed) {
+            return;
+        }
+        if (!started) {
+            start();
+        }
+        sample();
+        delta++;
+    }
+
+    // ends a step; a step without deltas still records the changes made outside propagation
+    public void step() {
+        if (closed) {
+            return;
+        }
+        if (!started) {
+            start();
+        }
+        if (delta == 0) {
+            sample();
+        }
+        step++;
+        delta = 0;
+    }
+
+    private void sample() {
+        int n = 0;
+        int nWords = 0;
+        for (int s = 0; s < signals.size(); s++) {
+            Signal signal = signals.get(s);
+            read(signal, word);
+            int o = signal.offset;
+            int w = WaveFormat.nWords(signal.bits.length);
+            boolean differs = false;
+            for (int i = 0; i < w; i++) {
+                if (word[o + i] != values[o + i]) {
+                    differs = true;
+                    break;
+                }
+            }
+            if (differs) {
+                changed[n++] = s;
+                for (int i = 0; i < w; i++) {
+                    changes[nWords++] = word[o + i] ^ values[o + i];
+                    values[o + i] = word[o + i];
+                }
+            }
+        }
+        if (n == 0) {
+            return;
+        }
+
+        block.putVarint(step - lastStep);
+        block.putVarint(delta);
+        block.putVarint(n);
+        lastStep = step;
+        block.lastStep = step;
+        int previous = -1;
+        nWords = 0;
+        for (int i = 0; i < n; i++) {
+            int s = changed[i];
+            block.putVarint(s - previous - 1);
+            previous = s;
+            int w = WaveFormat.nWords(signals.get(s).bits.length);
+            for (int j = 0; j < w; j++) {
+                block.putVarint(changes[nWords++]);
+            }
+        }
+        if (block.size >= blockSize) {
+            ship();
+            newBlock();
+        }
+    }
+
+    private void ship() {
+        try {
+            full.put(block);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        if (failure != null) {
+            throw new UncheckedIOException(failure);
+        }
+    }
+
+    private void write() {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        byte[] compressed = new byte[1 << 16];
+        try {
+            Block b;
+            while ((b = full.take()) != END) {
+                if (failure != null) {
+                    continue;
+                }
+                deflater.reset();
+                deflater.setInput(b.data, 0, b.size);
+                deflater.finish();
+                int n = 0;
+                while (!deflater.finished()) {
+                    if (n == compressed.length) {
+                        compressed = Arrays.copyOf(compressed, n * 2);
+                    }
+                    n += deflater.deflate(compressed, n, compressed.length - n);
+                }
+                try {
+                    out.writeInt(b.size);
+                    out.writeInt(n);
+                    out.writeLong(b.firstStep);
+                    out.writeLong(b.lastStep);
+                    out.write(compressed, 0, n);
+                } catch (IOException e) {
+                    failure = e;
+                    continue;
+                }
+                index.add(new long[]{b.firstStep, b.lastStep, offset});
+                offset += 24 + n;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    // writes the last block, the index and the footer, and closes the file
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        if (!started) {
+            start();
+        }
+        closed = true;
+        try {
+            full.put(block);
+            full.put(END);
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            if (failure != null) {
+                throw failure;
+            }
+            long indexOffset = offset;
+            out.writeInt(index.size());
+            out.writeLong(step);
+            for (long[] entry : index) {
+                out.writeLong(entry[0]);
+                out.writeLong(entry[1]);
+                out.writeLong(entry[2]);
+            }
+            out.writeLong(indexOffset);
+            out.writeInt(WaveFormat.MAGIC);
+        } finally {
+            out.close();
+        }
+    }
+}
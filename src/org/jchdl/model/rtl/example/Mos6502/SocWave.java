@@ -0,0 +1,97 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.model.rtl.example.Mos6502;
+
+import org.jchdl.model.rtl.core.datatype.Bit;
+import org.jchdl.model.rtl.core.meta.PropagateManager;
+import org.jchdl.model.rtl.core.wave.VcdExporter;
+import org.jchdl.model.rtl.core.wave.WaveReader;
+import org.jchdl.model.rtl.core.wave.WaveWriter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// the Soc recorded with WaveWriter: the cost of recording, a cycle read back and a few cycles exported as VCD
+public class SocWave {
+    // nanoseconds to run the Soc out of reset for some cycles, recorded unless writer is null
+    private static long run(WaveWriter writer, int cycles) throws IOException {
+        Bit clk = new Bit();
+        Bit reset = new Bit();
+        Bit RDY = new Bit();
+        Soc soc = new Soc(null, clk, reset, new Bit(), new Bit(), RDY);
+        if (writer != null) {
+            writer.add(soc);
+        }
+        PropagateManager.setWaveWriter(writer);
+        long start = System.nanoTime();
+        reset.set();
+        for (int i = 0; i < cycles; i++) {
+            if (i == 1) {
+                reset.clr();
+                RDY.set();
+            }
+            clk.clr();
+            PropagateManager.propagate(soc);
+            clk.set();
+            PropagateManager.propagate(soc);
+        }
+        PropagateManager.setWaveWriter(null);
+        if (writer != null) {
+            writer.close();
+        }
+        return System.nanoTime() - start;
+    }
+
+    // records the Mos6502 Soc running, then reads a cycle back and exports a few cycles as VCD
+    public static void main(String[] args) throws IOException {
+        int cycles = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        Path file = Files.createTempFile("soc", ".wave");
+        Path vcd = Files.createTempFile("soc", ".vcd");
+
+        long plain = run(null, cycles);
+        WaveWriter writer = new WaveWriter(file);
+        long recorded = run(writer, cycles);
+        System.out.printf("%d cycles: %d ms, recording %d signals: %d ms, %d bytes%n",
+                cycles, plain / 1000000, writer.nSignals(), recorded / 1000000, Files.size(file));
+
+        try (WaveReader reader = new WaveReader(file)) {
+            long step = 2 * (cycles - 10);
+            long start = System.nanoTime();
+            WaveReader.Snapshot snapshot = reader.snapshot(step);
+            System.out.printf("step %d of %d read in %d us: Soc.AB=%04x, Soc.DI=%02x, Soc.cpu.PC=%04x%n",
+                    step, reader.nSteps(), (System.nanoTime() - start) / 1000,
+                    snapshot.longVal("Soc.AB"), snapshot.longVal("Soc.DI"), snapshot.longVal("Soc.cpu.PC"));
+            VcdExporter.export(reader, vcd, step, step + 4);
+        }
+        Files.lines(vcd).filter(l -> !l.startsWith("$var") && !l.startsWith("$scope") && !l.startsWith("$upscope"))
+                .limit(24).forEach(System.out::println);
+        Files.delete(file);
+        Files.delete(vcd);
+    }
+}
@@ -147,7 +147,7 @@ public class GslNode {
             Node n = (Node) owner;
             if (n == parent) {
                 // assert: port is input
-                downstreams.addAll(top.getDownstreams());
+                downstreams.addAll(Arrays.asList(top.getDownstreams()));
             } else {
                 if (!nodes.contains(n)) {
                     nodes.add(n);
@@ -162,7 +162,7 @@ public class GslNode {
             }
         } else if (owner instanceof Wire) {
             Wire wire = (Wire) owner;
-            downstreams.addAll(wire.getOutput().getDownstreams());
+            downstreams.addAll(Arrays.asList(wire.getOutput().getDownstreams()));
             addModelWire(wire, wires);
         }
 
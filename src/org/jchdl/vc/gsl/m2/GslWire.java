@@ -132,6 +132,11 @@ public class GslWire {
         return nBits;
     }
 
+    // null for a single wire
+    public WireVec getWireVec() {
+        return wireVec;
+    }
+
     public static void setSeq(int seq) {
         NET_SEQUENCE_NUMBER = seq;
     }
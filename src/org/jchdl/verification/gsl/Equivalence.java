@@ -0,0 +1,413 @@
+// jchdl: Jianchang Constructed Hardware Description Library
+// Copyright (c) 2018 Jianchang Wang <wjcdx@qq.com>
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions
+// are met:
+// 1. Redistributions of source code must retain the above copyright
+//    notice, this list of conditions and the following disclaimer.
+// 2. Redistributions in binary form must reproduce the above copyright
+//    notice, this list of conditions and the following disclaimer in the
+//    documentation and/or other materials provided with the distribution.
+// 3. Neither the name of the copyright holders nor the names of its
+//    contributors may be used to endorse or promote products derived from
+//    this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+// AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+// IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+// ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE
+// LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+// CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+// SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+// INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+// CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+// ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF
+// THE POSSIBILITY OF SUCH DAMAGE.
+package org.jchdl.verification.gsl;
+
+import org.jchdl.model.gsl.core.datatype.helper.WireVec;
+import org.jchdl.model.gsl.core.datatype.net.Wire;
+import org.jchdl.model.gsl.core.meta.Node;
+import org.jchdl.model.gsl.core.meta.SimulationContext;
+import org.jchdl.model.gsl.core.netlist.BitParallelEvaluator;
+import org.jchdl.model.gsl.operator.WordLevel;
+import org.jchdl.model.gsl.operator.arithmetic.Add;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Combinational equivalence of two gsl designs with the same input and output widths.
+// Every vector of the input space is tried, 64 per evaluation on the lanes of a
+// BitParallelEvaluator: the lanes take the 6 low bits of the vector, a block of 64 vectors the others.
+// The blocks are shared out among threads, each on its own copy of both designs built in a
+// SimulationContext of its own, and the counterexample returned is the one of the lowest vector.
+// Past exhaustiveBits input bits, random vectors are tried instead, and the result bounds the
+// fraction of the input space on which the designs can differ.
+// Inputs are 0 or 1, outputs are compared as they are, x and z included.
+public class Equivalence {
+    private static final int LANE_BITS = 6;
+    // lane l has bit i of l in plane i
+    private static final long[] LANE_PLANES = {
+            0xAAAAAAAAAAAAAAAAL, 0xCCCCCCCCCCCCCCCCL, 0xF0F0F0F0F0F0F0F0L,
+            0xFF00FF00FF00FF00L, 0xFFFF0000FFFF0000L, 0xFFFFFFFF00000000L,
+    };
+    // blocks taken by a thread at a time
+    private static final int CHUNK = 64;
+
+    // a design on the given wires, created once per thread and on that thread
+    public interface Design {
+        Node inst(WireVec[] out, WireVec[] in);
+    }
+
+    private int[] in;
+    private int[] out;
+    private Design a;
+    private Design b;
+    private int nThreads = Runtime.getRuntime().availableProcessors();
+    private int exhaustiveBits = 30;
+    private long samples = 1L << 20;
+    private long seed = 1;
+
+    public Equivalence(int[] in, int[] out, Design a, Design b) {
+        this.in = in;
+        this.out = out;
+        this.a = a;
+        this.b = b;
+    }
+
+    public Equivalence setThreads(int nThreads) {
+        this.nThreads = nThreads;
+        return this;
+    }
+
+    // widest input space tried exhaustively, vectors are counted in a long
+    public Equivalence setExhaustiveBits(int exhaustiveBits) {
+        if (exhaustiveBits > 62) {
+            throw new IllegalArgumentException("exhaustiveBits: " + exhaustiveBits + " > 62");
+        }
+        this.exhaustiveBits = exhaustiveBits;
+        return this;
+    }
+
+    // vectors tried on wider input spaces
+    public Equivalence setSamples(long samples) {
+        this.samples = samples;
+        return this;
+    }
+
+    public Equivalence setSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public static class Result {
+        private int nInputBits;
+        private boolean exhaustive;
+        private long vectors;
+        // null if equivalent on the vectors tried
+        private String[] inputs;
+        private String[] outputsA;
+        private String[] outputsB;
+
+        public boolean isEquivalent() {
+            return inputs == null;
+        }
+
+        public boolean isExhaustive() {
+            return exhaustive;
+        }
+
+        public long getVectors() {
+            return vectors;
+        }
+
+        // the values of the input vectors of the counterexample, most significant bit first
+        public String[] getInputs() {
+            return inputs;
+        }
+
+        public String[] getOutputsA() {
+            return outputsA;
+        }
+
+        public String[] getOutputsB() {
+            return outputsB;
+        }
+
+        // the largest fraction of the input space the designs may differ on, at a confidence:
+        // q such that (1 - q)^vectors = 1 - confidence. 0 once proven.
+        public double bound(double confidence) {
+            if (exhaustive) {
+                return 0;
+            }
+            return 1 - Math.pow(1 - confidence, 1.0 / vectors);
+        }
+
+        @Override
+        public String toString() {
+            if (!isEquivalent()) {
+                return "not equivalent: in " + String.join(" ", inputs)
+                        + ", out " + String.join(" ", outputsA) + " != " + String.join(" ", outputsB);
+            }
+            if (exhaustive) {
+                return "equivalent: all " + vectors + " vectors";
+            }
+            return String.format("equivalent on %d random vectors of 2^%d: differ on less than %.3g of the inputs at 95%% confidence",
+                    vectors, nInputBits, bound(0.95));
+        }
+    }
+
+    // both designs on their own wires, evaluated 64 vectors at a time
+    private class Copy {
+        private Wire[] inA;
+        private Wire[] inB;
+        private Wire[] outA;
+        private Wire[] outB;
+        private BitParallelEvaluator evaluatorA;
+        private BitParallelEvaluator evaluatorB;
+
+        private Copy() {
+            WireVec[] vecsA = vecs(in);
+            WireVec[] vecsB = vecs(in);
+            WireVec[] outsA = vecs(out);
+            WireVec[] outsB = vecs(out);
+            evaluatorA = new BitParallelEvaluator(a.inst(outsA, vecsA));
+            evaluatorB = new BitParallelEvaluator(b.inst(outsB, vecsB));
+            inA = wires(vecsA);
+            inB = wires(vecsB);
+            outA = wires(outsA);
+            outB = wires(outsB);
+        }
+
+        private void assign(int i, long plane) {
+            evaluatorA.assign(inA[i], plane, 0);
+            evaluatorB.assign(inB[i], plane, 0);
+        }
+
+        // lanes where the outputs differ
+        private long evaluate() {
+            evaluatorA.evaluate();
+            evaluatorB.evaluate();
+            long diff = 0;
+            for (int i = 0; i < outA.length; i++) {
+                diff |= evaluatorA.planeA(outA[i]) ^ evaluatorB.planeA(outB[i]);
+                diff |= evaluatorA.planeB(outA[i]) ^ evaluatorB.planeB(outB[i]);
+            }
+            return diff;
+        }
+
+        private String[] values(BitParallelEvaluator evaluator, Wire[] wires, int[] widths, int lane) {
+            String[] values = new String[widths.length];
+            int first = 0;
+            for (int v = 0; v < widths.length; v++) {
+                StringBuilder sb = new StringBuilder(widths[v]);
+                for (int i = first + widths[v] - 1; i >= first; i--) {
+                    sb.append(evaluator.value(wires[i], lane));
+                }
+                values[v] = sb.toString();
+                first += widths[v];
+            }
+            return values;
+        }
+
+        private void counterexample(Result result, int lane) {
+            result.inputs = values(evaluatorA, inA, in, lane);
+            result.outputsA = values(evaluatorA, outA, out, lane);
+            result.outputsB = values(evaluatorB, outB, out, lane);
+        }
+    }
+
+    // one vector of each width
+    public static WireVec[] vecs(int[] widths) {
+        WireVec[] vecs = new WireVec[widths.length];
+        for (int i = 0; i < widths.length; i++) {
+            vecs[i] = new WireVec(widths[i]);
+        }
+        return vecs;
+    }
+
+    private static Wire[] wires(WireVec[] vecs) {
+        int n = 0;
+        for (WireVec vec : vecs) {
+            n += vec.nBits();
+        }
+        Wire[] wires = new Wire[n];
+        int i = 0;
+        for (WireVec vec : vecs) {
+            for (Wire wire : vec.wires()) {
+                wires[i++] = wire;
+            }
+        }
+        return wires;
+    }
+
+    // total width of the vectors
+    public static int bits(int[] widths) {
+        int n = 0;
+        for (int width : widths) {
+            n += width;
+        }
+        return n;
+    }
+
+    public Result check() throws InterruptedException {
+        if (bits(out) == 0) {
+            throw new IllegalArgumentException("no outputs to compare");
+        }
+        int nBits = bits(in);
+        Result result = new Result();
+        result.nInputBits = nBits;
+        result.exhaustive = nBits <= exhaustiveBits;
+        long nBlocks = result.exhaustive
+                ? 1L << Math.max(nBits - LANE_BITS, 0)
+                : (samples + BitParallelEvaluator.LANES - 1) / BitParallelEvaluator.LANES;
+        // lanes beyond the input space repeat vectors
+        long lanes = nBits < LANE_BITS ? (1L << (1 << nBits)) - 1 : -1L;
+
+        // every thread builds its own copy in a context of its own, see context()
+        int n = (int) Math.max(1, Math.min(nThreads, (nBlocks + CHUNK - 1) / CHUNK));
+        SimulationContext caller = SimulationContext.current();
+
+        AtomicLong next = new AtomicLong();
+        // the first block with a counterexample and its lane, -1 once a copy failed to build
+        long[] first = {Long.MAX_VALUE, 0};
+        Throwable[] failure = {null};
+        Thread[] threads = new Thread[n];
+        for (int t = 0; t < n; t++) {
+            threads[t] = new Thread(() -> {
+                Copy copy;
+                SimulationContext.setCurrent(context(caller));
+                try {
+                    copy = new Copy();
+                } catch (RuntimeException | Error e) {
+                    synchronized (first) {
+                        if (failure[0] == null) {
+                            failure[0] = e;
+                        }
+                        first[0] = -1;
+                    }
+                    return;
+                } finally {
+                    SimulationContext.setCurrent(null);
+                }
+                long from;
+                while ((from = next.getAndAdd(CHUNK)) < nBlocks) {
+                    synchronized (first) {
+                        if (from > first[0]) {
+                            return;
+                        }
+                    }
+                    Random random = result.exhaustive ? null : new Random(seed ^ from * 0x9E3779B97F4A7C15L);
+                    for (long block = from; block < Math.min(from + CHUNK, nBlocks); block++) {
+                        for (int i = 0; i < nBits; i++) {
+                            if (random != null) {
+                                copy.assign(i, random.nextLong());
+                            } else if (i < LANE_BITS) {
+                                copy.assign(i, LANE_PLANES[i]);
+                            } else {
+                                copy.assign(i, (block >>> (i - LANE_BITS) & 1) == 1 ? -1L : 0);
+                            }
+                        }
+                        long diff = copy.evaluate() & lanes;
+                        if (diff != 0) {
+                            int lane = Long.numberOfTrailingZeros(diff);
+                            synchronized (first) {
+                                if (block < first[0]) {
+                                    first[0] = block;
+                                    first[1] = lane;
+                                    copy.counterexample(result, lane);
+                                }
+                            }
+                            return;
+                        }
+                    }
+                }
+            }, "equivalence-" + t);
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (failure[0] instanceof RuntimeException) {
+            throw (RuntimeException) failure[0];
+        } else if (failure[0] != null) {
+            throw (Error) failure[0];
+        }
+
+        if (result.inputs != null) {
+            result.vectors = first[0] * BitParallelEvaluator.LANES + first[1] + 1;
+            result.exhaustive = false;
+        } else if (result.exhaustive) {
+            result.vectors = 1L << nBits;
+        } else {
+            result.vectors = nBlocks * BitParallelEvaluator.LANES;
+        }
+        return result;
+    }
+
+    // the designs are not built on the calling thread: nodes take the context of the thread constructing
+    // them, and the contexts are not shared between threads. each copy gets the construction choices
+    // of the caller, and a template cache of its own
+    private static SimulationContext context(SimulationContext caller) {
+        SimulationContext context = new SimulationContext();
+        context.setTemplating(caller.isTemplating());
+        context.setWordLevel(caller.isWordLevel());
+        context.setBehavioral(caller.isBehavioral());
+        context.setDecomposed(caller.isDecomposed());
+        context.setXTracking(caller.isXTracking());
+        return context;
+    }
+
+    public static Result check(int[] in, int[] out, Design a, Design b) throws InterruptedException {
+        return new Equivalence(in, out, a, b).check();
+    }
+
+    private static final int[] MUX4_IN = {4, 2};
+    private static final int[] MUX4_OUT = {1};
+    private static final int[] ADDER_IN = {1, 1, 1};
+    private static final int[] ADDER_OUT = {1, 1};
+
+    private static Design add(boolean wordLevel) {
+        return (out, in) -> {
+            boolean saved = WordLevel.isEnabled();
+            WordLevel.setEnabled(wordLevel);
+            try {
+                return Add.inst(out[0], out[1].wire(0), in[0], in[1], in[2].wire(0));
+            } finally {
+                WordLevel.setEnabled(saved);
+            }
+        };
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        // dat, sel: i0..i3, s0 s1
+        Design mux4 = (out, in) -> org.jchdl.model.gsl.example.Mux4.inst(out[0].wire(0),
+                in[0].wire(0), in[0].wire(1), in[0].wire(2), in[0].wire(3), in[1].wire(1), in[1].wire(0));
+        Design again = (out, in) -> org.jchdl.model.gsl.example.again.Mux4.inst(out[0].wire(0),
+                in[0].wire(0), in[0].wire(1), in[0].wire(2), in[0].wire(3), in[1].wire(1), in[1].wire(0));
+        Design raw = (out, in) -> org.jchdl.model.gsl.example.again.raw.Mux4.inst(out[0].wire(0),
+                in[0].wire(0), in[0].wire(1), in[0].wire(2), in[0].wire(3), in[1].wire(1), in[1].wire(0));
+        Design vec = (out, in) -> org.jchdl.model.gsl.example.again.vec.Mux4.inst(out[0].wire(0), in[0], in[1]);
+        // select lines swapped
+        Design swapped = (out, in) -> org.jchdl.model.gsl.example.Mux4.inst(out[0].wire(0),
+                in[0].wire(0), in[0].wire(1), in[0].wire(2), in[0].wire(3), in[1].wire(0), in[1].wire(1));
+        System.out.println("example.again.Mux4:     " + check(MUX4_IN, MUX4_OUT, mux4, again));
+        System.out.println("example.again.raw.Mux4: " + check(MUX4_IN, MUX4_OUT, mux4, raw));
+        System.out.println("example.again.vec.Mux4: " + check(MUX4_IN, MUX4_OUT, mux4, vec));
+        System.out.println("select lines swapped:   " + check(MUX4_IN, MUX4_OUT, mux4, swapped));
+
+        // sum, cout of a, b, cin
+        Design adder = (out, in) -> org.jchdl.model.gsl.example.FullAdder.inst(out[0].wire(0), out[1].wire(0),
+                in[0].wire(0), in[1].wire(0), in[2].wire(0));
+        Design operator = (out, in) -> org.jchdl.model.gsl.operator.arithmetic.FullAdder.inst(out[0].wire(0), out[1].wire(0),
+                in[0].wire(0), in[1].wire(0), in[2].wire(0));
+        System.out.println("operator FullAdder:     " + check(ADDER_IN, ADDER_OUT, adder, operator));
+
+        // the ripple netlist of Add against the word-level node
+        System.out.println("Add_8, word level:      " + check(new int[]{8, 8, 1}, new int[]{8, 1}, add(false), add(true)));
+        System.out.println("Add_16, word level:     " + new Equivalence(new int[]{16, 16, 1}, new int[]{16, 1}, add(false), add(true))
+                .setExhaustiveBits(16).setSamples(1 << 14).check());
+    }
+}